@@ -0,0 +1,34 @@
+package br.acc.bank.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.acc.bank.model.Transacao;
+import br.acc.bank.repository.ColunasEnum;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Converte para VARCHAR a coluna transacoes.tipo criada como enum nativo pelo ddl-auto em bancos MySQL já
+// existentes. Sem isso a primeira operação mensal falharia ao gravar JUROS/TARIFA, valores que a coluna
+// antiga não aceita. Roda na criação do bean, antes das requisições e dos agendamentos; nos bancos já
+// convertidos ou criados com o mapeamento atual não faz nada.
+@Configuration
+public class ColunasEnumInicializacao {
+    private static final Logger log = LoggerFactory.getLogger(ColunasEnumInicializacao.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Dependência apenas de ordem: o schema é criado/atualizado com o EntityManagerFactory
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void converter() {
+        if (ColunasEnum.converterParaVarchar(jdbcTemplate, "transacoes", "tipo", Transacao.TAMANHO_TIPO))
+            log.info("Coluna transacoes.tipo convertida de enum para VARCHAR({})", Transacao.TAMANHO_TIPO);
+    }
+}
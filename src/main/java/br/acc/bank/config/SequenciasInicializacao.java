@@ -0,0 +1,34 @@
+package br.acc.bank.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.acc.bank.model.Sequencias;
+import br.acc.bank.repository.SequenciaIds;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Alinha sequencias_ids ao maior id de cada tabela antes da primeira alocação. Roda na criação do bean,
+// antes de o Tomcat aceitar requisições e de os agendamentos começarem; com ddl-auto=update um banco já
+// populado (ids de IDENTITY) não teria as linhas e os geradores começariam do id 1.
+@Configuration
+public class SequenciasInicializacao {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Dependência apenas de ordem: o schema (inclusive sequencias_ids) é criado/atualizado com o EntityManagerFactory
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void sincronizar() {
+        for (String tabela : Sequencias.TABELAS)
+            SequenciaIds.sincronizar(jdbcTemplate, transactionManager, tabela);
+    }
+}
@@ -0,0 +1,34 @@
+package br.acc.bank.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+// O Spring Boot só aplica spring.threads.virtual.enabled (Tomcat, agendamentos) em runtime Java 21+.
+// Em Java 17 a propriedade é ignorada em silêncio; aqui o modo efetivo fica registrado no log.
+@Configuration
+public class ThreadsVirtuaisConfig {
+    private static final Logger log = LoggerFactory.getLogger(ThreadsVirtuaisConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int tamanhoPool;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registrarModo() {
+        if (!threadsVirtuais)
+            return;
+        int versao = Runtime.version().feature();
+        if (versao < 21)
+            log.warn("spring.threads.virtual.enabled=true ignorado: threads virtuais exigem Java 21+ (runtime atual: {})",
+                    versao);
+        else
+            log.info("Requisições e workers do agendamento em threads virtuais; concorrência no banco limitada pelo pool de {} conexões",
+                    tamanhoPool);
+    }
+}
@@ -1,9 +1,9 @@
 package br.acc.bank.controller;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -14,16 +14,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.acc.bank.dto.admin.AdminRequestDTO;
 import br.acc.bank.dto.admin.AdminResponseDTO;
+import br.acc.bank.dto.pagina.PaginaResponseDTO;
 import br.acc.bank.exception.ErrorResponse;
 import br.acc.bank.model.Admin;
 import br.acc.bank.service.AdminService;
 import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.Paginacao;
 import br.acc.bank.util.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -41,21 +45,24 @@ public class AdminController {
     private AdminService adminService;
 
     @GetMapping
-    @Operation(summary = "Lista todos os administradores", description = "Obtém a lista de todos os administradores cadastrados.")
+    @Operation(summary = "Lista todos os administradores", description = "Obtém a lista de todos os administradores cadastrados. Paginada (page, size até 100, sort por id, nome, cpf, email, login, dataCadastro); por padrão não calcula o total, apenas indica se há próxima página.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de administradores retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AdminResponseDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Lista de administradores retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Campo de ordenação inválido", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Ordenação inválida", value = "{\"status\": 400, \"message\": \"Validação do(s) campo(s) falhou.\", \"errors\": {\"sort\": \"Campo de ordenação inválido, campos válidos: [id, nome, cpf, email, login, dataCadastro]\"}}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Erro ao obter lista de administradores", value = "{\"status\": 500, \"message\": \"Erro ao obter a lista de administradores\", \"cause\": \"Detalhes do erro interno\"}")
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<AdminResponseDTO>> getAllAdmins() {
+    public ResponseEntity<PaginaResponseDTO<AdminResponseDTO>> getAllAdmins(
+            @ParameterObject @PageableDefault(size = Paginacao.TAMANHO_PADRAO, sort = "id") Pageable pageable,
+            @Parameter(description = "Inclui o total de registros e de páginas na resposta (executa um COUNT)") @RequestParam(defaultValue = "false") boolean total) {
         try {
-            var admins = adminService.getAll();
-            var adminsDTO = admins.stream()
-                    .map(admin -> MapperConverter.convertToDto(admin, AdminResponseDTO.class))
-                    .collect(Collectors.toList());
+            var admins = adminService.getAll(pageable, total);
 
-            return ResponseEntity.ok(adminsDTO);
+            return ResponseEntity.ok(PaginaResponseDTO.of(admins,
+                    admin -> MapperConverter.convertToDto(admin, AdminResponseDTO.class)));
         } catch (Exception e) {
             throw e;
         }
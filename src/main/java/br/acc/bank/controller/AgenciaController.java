@@ -1,9 +1,9 @@
 package br.acc.bank.controller;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -14,16 +14,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.acc.bank.dto.agencia.AgenciaRequestDTO;
 import br.acc.bank.dto.agencia.AgenciaResponseDTO;
+import br.acc.bank.dto.pagina.PaginaResponseDTO;
 import br.acc.bank.exception.ErrorResponse;
 import br.acc.bank.model.Agencia;
 import br.acc.bank.service.AgenciaService;
 import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.Paginacao;
+import br.acc.bank.util.ResponseMapper;
 import br.acc.bank.util.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -40,21 +45,23 @@ public class AgenciaController {
     private AgenciaService agenciaService;
 
     @GetMapping
-    @Operation(summary = "Lista todas as agências", description = "Obtém a lista de todas as agências cadastradas.")
+    @Operation(summary = "Lista todas as agências", description = "Obtém a lista de todas as agências cadastradas. Paginada (page, size até 100, sort por id, nome, numero); por padrão não calcula o total, apenas indica se há próxima página.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de agências retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AgenciaResponseDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Lista de agências retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Campo de ordenação inválido", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Ordenação inválida", value = "{\"status\": 400, \"message\": \"Validação do(s) campo(s) falhou.\", \"errors\": {\"sort\": \"Campo de ordenação inválido, campos válidos: [id, nome, numero]\"}}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Erro ao obter lista de agências", value = "{\"status\": 500, \"message\": \"Erro ao obter a lista de agências\", \"cause\": \"Detalhes do erro interno\"}")
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<AgenciaResponseDTO>> getAllAgencias() {
+    public ResponseEntity<PaginaResponseDTO<AgenciaResponseDTO>> getAllAgencias(
+            @ParameterObject @PageableDefault(size = Paginacao.TAMANHO_PADRAO, sort = "id") Pageable pageable,
+            @Parameter(description = "Inclui o total de registros e de páginas na resposta (executa um COUNT)") @RequestParam(defaultValue = "false") boolean total) {
         try {
-            var agencias = agenciaService.getAll();
-            var agenciasDTO = agencias.stream()
-                    .map(agencia -> MapperConverter.convertToDto(agencia, AgenciaResponseDTO.class))
-                    .collect(Collectors.toList());
+            var agencias = agenciaService.getAll(pageable, total);
 
-            return ResponseEntity.ok(agenciasDTO);
+            return ResponseEntity.ok(PaginaResponseDTO.of(agencias, ResponseMapper::toAgenciaResponse));
         } catch (Exception e) {
             throw e;
         }
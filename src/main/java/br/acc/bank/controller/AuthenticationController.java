@@ -21,9 +21,11 @@ import br.acc.bank.exception.AuthException;
 import br.acc.bank.exception.ErrorResponse;
 import br.acc.bank.model.Cliente;
 import br.acc.bank.model.Usuario;
+import br.acc.bank.security.HashSenhaService;
 import br.acc.bank.security.TokenService;
 import br.acc.bank.service.ClienteService;
 import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.ResponseMapper;
 import br.acc.bank.util.Strings;
 import br.acc.bank.util.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,6 +46,8 @@ public class AuthenticationController {
     private ClienteService clienteService;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private HashSenhaService hashSenhaService;
 
     @PostMapping("/login")
     @Operation(summary = "Realiza o login de um usuário", description = "Autentica o usuário e retorna um token JWT.")
@@ -52,6 +56,9 @@ public class AuthenticationController {
             @ApiResponse(responseCode = "401", description = "Credenciais inválidas", content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Credenciais inválidas", value = "{\"status\": 401, \"message\": \"login ou password inválidos.\", \"cause\": null}")
             }, schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Muitas autenticações em andamento", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Sobrecarga", value = "{\"status\": 429, \"message\": \"Muitas autenticações em andamento, tente novamente em instantes.\", \"cause\": null}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Erro ao gerar token", value = "{\"status\": 500, \"message\": \"Erro ao gerar token.\", \"cause\": \"Detalhes do erro interno\"}")
             }, schema = @Schema(implementation = ErrorResponse.class)))
@@ -62,7 +69,8 @@ public class AuthenticationController {
             ValidationUtils.validateBindingResult(validateFields);
 
             var usernamePassword = new UsernamePasswordAuthenticationToken(login.getLogin(), login.getPassword());
-            var auth = this.authenticationManager.authenticate(usernamePassword);
+            // A verificação da senha (BCrypt) roda no pool limitado de senhas, fora da thread do Tomcat
+            var auth = hashSenhaService.executar(() -> this.authenticationManager.authenticate(usernamePassword));
 
             var token = tokenService.generateToken((Usuario) auth.getPrincipal());
 
@@ -94,7 +102,7 @@ public class AuthenticationController {
             var cliente = MapperConverter.convertToEntity(clienteRequestDTO, Cliente.class);
             var savedCliente = clienteService.create(cliente);
 
-            var clienteResponseDTO = MapperConverter.convertToDto(savedCliente, ClienteResponseDTO.class);
+            var clienteResponseDTO = ResponseMapper.toClienteResponse(savedCliente);
 
             return new ResponseEntity<>(clienteResponseDTO, HttpStatus.CREATED);
         } catch (Exception e) {
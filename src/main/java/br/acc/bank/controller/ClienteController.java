@@ -1,11 +1,16 @@
 package br.acc.bank.controller;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,26 +18,33 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.acc.bank.dto.cliente.ClienteRequestDTO;
 import br.acc.bank.dto.cliente.ClienteResponseDTO;
+import br.acc.bank.dto.cliente.ImportacaoClienteResponseDTO;
+import br.acc.bank.dto.pagina.PaginaResponseDTO;
 import br.acc.bank.exception.ErrorResponse;
 import br.acc.bank.model.Cliente;
-import br.acc.bank.security.TokenService;
+import br.acc.bank.model.enums.FormatoImportacao;
+import br.acc.bank.service.ClienteImportacaoService;
 import br.acc.bank.service.ClienteService;
 import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.Paginacao;
+import br.acc.bank.util.ResponseMapper;
 import br.acc.bank.util.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -42,26 +54,28 @@ public class ClienteController {
 
     @Autowired
     private ClienteService clienteService;
-    
+
     @Autowired
-    private TokenService tokenService;
+    private ClienteImportacaoService clienteImportacaoService;
 
     @GetMapping
-    @Operation(summary = "Lista todos os clientes", description = "Obtém a lista de todos os clientes cadastrados.")
+    @Operation(summary = "Lista todos os clientes", description = "Obtém a lista de todos os clientes cadastrados. Paginada (page, size até 100, sort por id, nome, cpf, email, login, dataCadastro); por padrão não calcula o total, apenas indica se há próxima página.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de clientes retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ClienteResponseDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Lista de clientes retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Campo de ordenação inválido", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Ordenação inválida", value = "{\"status\": 400, \"message\": \"Validação do(s) campo(s) falhou.\", \"errors\": {\"sort\": \"Campo de ordenação inválido, campos válidos: [id, nome, cpf, email, login, dataCadastro]\"}}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Erro ao obter lista de clientes", value = "{\"status\": 500, \"message\": \"Erro ao obter a lista de clientes\", \"cause\": \"Detalhes do erro interno\"}")
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<ClienteResponseDTO>> getAllClientes() {
+    public ResponseEntity<PaginaResponseDTO<ClienteResponseDTO>> getAllClientes(
+            @ParameterObject @PageableDefault(size = Paginacao.TAMANHO_PADRAO, sort = "id") Pageable pageable,
+            @Parameter(description = "Inclui o total de registros e de páginas na resposta (executa um COUNT)") @RequestParam(defaultValue = "false") boolean total) {
         try {
-            var clientes = clienteService.getAll();
-            var clientesDTO = clientes.stream()
-                    .map(cliente -> MapperConverter.convertToDto(cliente, ClienteResponseDTO.class))
-                    .collect(Collectors.toList());
+            var clientes = clienteService.getAll(pageable, total);
 
-            return ResponseEntity.ok(clientesDTO);
+            return ResponseEntity.ok(PaginaResponseDTO.of(clientes, ResponseMapper::toClienteResponse));
         } catch (Exception e) {
             throw e;
         }
@@ -83,7 +97,7 @@ public class ClienteController {
             @Parameter(description = "ID do cliente a ser buscado") @PathVariable Long id) {
         try {
             return clienteService.getById(id)
-                    .map(cliente -> ResponseEntity.ok(MapperConverter.convertToDto(cliente, ClienteResponseDTO.class)))
+                    .map(cliente -> ResponseEntity.ok(ResponseMapper.toClienteResponse(cliente)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             throw e;
@@ -108,7 +122,7 @@ public class ClienteController {
             ValidationUtils.validateBindingResult(validateFields);
             var cliente = MapperConverter.convertToEntity(clienteRequestDTO, Cliente.class);
             var savedCliente = clienteService.create(cliente);
-            var clienteResponseDTO = MapperConverter.convertToDto(savedCliente, ClienteResponseDTO.class);
+            var clienteResponseDTO = ResponseMapper.toClienteResponse(savedCliente);
 
             return new ResponseEntity<>(clienteResponseDTO, HttpStatus.CREATED);
         } catch (Exception e) {
@@ -116,6 +130,33 @@ public class ClienteController {
         }
     }
 
+    @PostMapping(value = "/importar", consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+    @Operation(summary = "Importa clientes em massa", description = "Cadastra os clientes de um array JSON ou de um CSV com cabeçalho (nome,cpf,telefone,dataNascimento,email,login,password,cep,rua,numero,bairro,cidade,estado,pais), lidos em streaming e gravados em lotes. Registros inválidos ou com cpf, e-mail ou login já utilizados (no banco ou no próprio arquivo) são rejeitados sem impedir os demais; a resposta traz o resultado de cada registro.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ClienteRequestDTO.class))),
+                    @Content(mediaType = "text/csv")
+            }))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação concluída, com o resultado de cada registro", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportacaoClienteResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo inválido (não é um array JSON ou cabeçalho CSV incompleto)", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Cabeçalho incompleto", value = "{\"status\": 400, \"message\": \"Arquivo de importação inválido.\", \"errors\": {\"arquivo\": \"Colunas ausentes no cabeçalho: [cep]\"}}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Outra importação em andamento", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Importação em andamento", value = "{\"status\": 429, \"message\": \"Já existe uma importação de clientes em andamento, tente novamente mais tarde.\", \"cause\": null}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Erro ao importar clientes", value = "{\"status\": 500, \"message\": \"Erro ao tentar importar os clientes.\", \"cause\": \"Detalhes do erro interno\"}")
+            }, schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<ImportacaoClienteResponseDTO> importarClientes(
+            @Parameter(hidden = true) HttpServletRequest request) throws IOException {
+        // O corpo é lido direto da requisição, sem montar a lista de DTOs em memória
+        var formato = FormatoImportacao.doContentType(request.getContentType());
+        var resultado = clienteImportacaoService.importar(request.getInputStream(), formato);
+
+        return ResponseEntity.ok(resultado);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualiza um cliente existente", description = "Atualiza as informações de um cliente específico com base no ID fornecido.")
     @ApiResponses(value = {
@@ -137,7 +178,7 @@ public class ClienteController {
             ValidationUtils.validateBindingResult(validateFields);
             var cliente = MapperConverter.convertToEntity(clienteRequestDTO, Cliente.class);
             var updatedCliente = clienteService.update(id, cliente);
-            var clienteResponseDTO = MapperConverter.convertToDto(updatedCliente, ClienteResponseDTO.class);
+            var clienteResponseDTO = ResponseMapper.toClienteResponse(updatedCliente);
 
             return ResponseEntity.ok(clienteResponseDTO);
         } catch (Exception e) {
@@ -176,17 +217,13 @@ public class ClienteController {
                                     @ExampleObject(name = "Erro ao buscar dados do perfil", value = "{\"status\": 500, \"message\": \"Erro ao tentar obter detalhes do meu perfil.\", \"cause\": \"Detalhes do erro interno\"}")
                     }, schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<ClienteResponseDTO> meuPerfil(@Parameter(hidden = true) @RequestHeader(value = "Authorization") String authorizationHeader) {
+    public ResponseEntity<ClienteResponseDTO> meuPerfil(@Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario) {
         try {
-            // Extrai o token JWT do cabeçalho Authorization
-            String token = tokenService.extractTokenFromHeader(authorizationHeader);
-
-            // Obtém o login do usuário a partir do token JWT
-            String userInfoToken = tokenService.getUserLoginFromToken(token);
+            // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+            String userInfoToken = usuario.getUsername();
 
             return clienteService.meuPerfil(userInfoToken)
-                    .map(cliente -> ResponseEntity.ok(MapperConverter.convertToDto(cliente,
-                            ClienteResponseDTO.class)))
+                    .map(cliente -> ResponseEntity.ok(ResponseMapper.toClienteResponse(cliente)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             throw e;
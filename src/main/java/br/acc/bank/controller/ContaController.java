@@ -1,30 +1,41 @@
 package br.acc.bank.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.stream.Collectors;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.acc.bank.dto.conta.ContaRequestDTO;
 import br.acc.bank.dto.conta.ContaResponseDTO;
-import br.acc.bank.dto.conta.TransacoesContaResponseDTO;
+import br.acc.bank.dto.conta.ExtratoResponseDTO;
+import br.acc.bank.dto.pagina.PaginaResponseDTO;
 import br.acc.bank.exception.ErrorResponse;
+import br.acc.bank.model.enums.FormatoExportacao;
 import br.acc.bank.model.enums.TipoConta;
-import br.acc.bank.security.TokenService;
 import br.acc.bank.service.ContaService;
-import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.ExtratoCursor;
+import br.acc.bank.util.Paginacao;
+import br.acc.bank.util.ResponseMapper;
 import br.acc.bank.util.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,6 +45,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -43,26 +55,25 @@ public class ContaController {
     @Autowired
     private ContaService contaService;
 
-    @Autowired
-    private TokenService tokenService;
-
     @GetMapping
-    @Operation(summary = "Lista todas as contas", description = "Obtém a lista de todas as contas cadastradas. Pode filtrar pelo tipo de conta (CORRENTE ou POUPANCA).")
+    @Operation(summary = "Lista todas as contas", description = "Obtém a lista de todas as contas cadastradas. Pode filtrar pelo tipo de conta (CORRENTE ou POUPANCA). Paginada (page, size até 100, sort por id, numero, saldo, tipo); por padrão não calcula o total, apenas indica se há próxima página.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de contas retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ContaResponseDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Lista de contas retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Campo de ordenação inválido", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Ordenação inválida", value = "{\"status\": 400, \"message\": \"Validação do(s) campo(s) falhou.\", \"errors\": {\"sort\": \"Campo de ordenação inválido, campos válidos: [id, numero, saldo, tipo]\"}}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Erro ao obter lista de contas", value = "{\"status\": 500, \"message\": \"Erro ao obter a lista de contas\", \"cause\": \"Detalhes do erro interno\"}")
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<ContaResponseDTO>> getAllContas(
-            @RequestParam(required = false) TipoConta tipo) {
+    public ResponseEntity<PaginaResponseDTO<ContaResponseDTO>> getAllContas(
+            @RequestParam(required = false) TipoConta tipo,
+            @ParameterObject @PageableDefault(size = Paginacao.TAMANHO_PADRAO, sort = "id") Pageable pageable,
+            @Parameter(description = "Inclui o total de registros e de páginas na resposta (executa um COUNT)") @RequestParam(defaultValue = "false") boolean total) {
         try {
-            var contas = contaService.getAll(tipo);
-            var contasDTO = contas.stream()
-                    .map(conta -> MapperConverter.convertToDto(conta, ContaResponseDTO.class))
-                    .collect(Collectors.toList());
+            var contas = contaService.getAll(tipo, pageable, total);
 
-            return ResponseEntity.ok(contasDTO);
+            return ResponseEntity.ok(PaginaResponseDTO.of(contas, ResponseMapper::toContaResponse));
         } catch (Exception e) {
             throw e;
         }
@@ -82,8 +93,7 @@ public class ContaController {
     public ResponseEntity<ContaResponseDTO> getContaById(@PathVariable Long id) {
         try {
             return contaService.getById(id)
-                    .map(conta -> ResponseEntity.ok(MapperConverter.convertToDto(conta,
-                            ContaResponseDTO.class)))
+                    .map(conta -> ResponseEntity.ok(ResponseMapper.toContaResponse(conta)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             throw e;
@@ -109,18 +119,15 @@ public class ContaController {
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<ContaResponseDTO> createConta(@Valid @RequestBody ContaRequestDTO contaRequestDTO,
-            BindingResult validateFields, @Parameter(hidden = true) @RequestHeader(value = "Authorization") String authorizationHeader) {
+            BindingResult validateFields, @Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario) {
 
         try {
             ValidationUtils.validateBindingResult(validateFields);
-            // Extrai o token JWT do cabeçalho Authorization
-            String token = tokenService.extractTokenFromHeader(authorizationHeader);
-
-            // Obtém o login do usuário a partir do token JWT
-            String userInfoToken = tokenService.getUserLoginFromToken(token);
+            // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+            String userInfoToken = usuario.getUsername();
 
             var savedConta = contaService.create(contaRequestDTO, userInfoToken);
-            var contaResponseDTO = MapperConverter.convertToDto(savedConta, ContaResponseDTO.class);
+            var contaResponseDTO = ResponseMapper.toContaResponse(savedConta);
 
             return new ResponseEntity<>(contaResponseDTO, HttpStatus.CREATED);
         } catch (Exception e) {
@@ -152,9 +159,12 @@ public class ContaController {
     }
 
     @GetMapping("/extrato")
-    @Operation(summary = "Gera o extrato da conta", description = "Gera o extrato com todas as transações da conta associada ao login do usuário extraído do token JWT.")
+    @Operation(summary = "Gera o extrato da conta", description = "Gera o extrato paginado das transações da conta associada ao login do usuário extraído do token JWT, da mais recente para a mais antiga. Use o proximoCursor retornado para buscar a página seguinte.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Extrato de transações retornado com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransacoesContaResponseDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Extrato de transações retornado com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ExtratoResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Período ou cursor inválido", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Cursor inválido", value = "{\"status\": 400, \"message\": \"Validação do(s) campo(s) falhou.\", \"errors\": {\"cursor\": \"Cursor de paginação inválido.\"}}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Conta ou cliente não encontrado", content = @Content(mediaType = "application/json", examples = {
                     @ExampleObject(name = "Conta não encontrada", value = "{\"status\": 404, \"message\": \"Conta não encontrada.\", \"cause\": null}"),
                     @ExampleObject(name = "Cliente não encontrado", value = "{\"status\": 404, \"message\": \"Cliente não encontrado.\", \"cause\": null}")
@@ -163,28 +173,66 @@ public class ContaController {
                     @ExampleObject(name = "Erro ao gerar extrato", value = "{\"status\": 500, \"message\": \"Erro ao tentar gerar o extrato da conta.\", \"cause\": \"Detalhes do erro interno\"}")
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<TransacoesContaResponseDTO>> getExtrato(
-            @Parameter(hidden = true) @RequestHeader(value = "Authorization") String authorizationHeader) {
+    public ResponseEntity<ExtratoResponseDTO> getExtrato(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario,
+            @Parameter(description = "Data inicial do período (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final do período, inclusiva (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de transações por página (padrão 20, máximo 100)") @RequestParam(required = false) Integer tamanho) {
         try {
-            // Extrai o token JWT do cabeçalho Authorization
-            String token = tokenService.extractTokenFromHeader(authorizationHeader);
+            // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+            String userInfoToken = usuario.getUsername();
 
-            // Obtém o login do usuário a partir do token JWT
-            String userInfoToken = tokenService.getUserLoginFromToken(token);
+            var extratoTransacaoes = contaService.getExtrato(userInfoToken, dataInicio, dataFim, cursor, tamanho);
 
-            var extratoTransacaoes = contaService.getExtrato(userInfoToken);
-
-            var extrato = extratoTransacaoes.stream()
-                    .map(transacao -> MapperConverter.convertToDto(
-                            transacao,
-                            TransacoesContaResponseDTO.class))
+            var transacoes = extratoTransacaoes.getContent();
+            var extrato = transacoes.stream()
+                    .map(ResponseMapper::toTransacoesContaResponse)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(extrato);
+
+            // O cursor da próxima página aponta para a última transação entregue
+            String proximoCursor = extratoTransacaoes.hasNext()
+                    ? ExtratoCursor.of(transacoes.get(transacoes.size() - 1)).encode()
+                    : null;
+            return ResponseEntity.ok(new ExtratoResponseDTO(extrato, proximoCursor));
         } catch (Exception e) {
             throw e;
         }
     }
 
+    @GetMapping("/extrato/exportar")
+    @Operation(summary = "Exporta o extrato completo da conta", description = "Escreve todo o histórico de transações da conta associada ao login do usuário extraído do token JWT, em ordem cronológica, direto na resposta em NDJSON (uma transação por linha) ou CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Extrato exportado com sucesso", content = {
+                    @Content(mediaType = "application/x-ndjson"),
+                    @Content(mediaType = "text/csv")
+            }),
+            @ApiResponse(responseCode = "404", description = "Conta ou cliente não encontrado", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Conta não encontrada", value = "{\"status\": 404, \"message\": \"Conta não encontrada.\", \"cause\": null}"),
+                    @ExampleObject(name = "Cliente não encontrado", value = "{\"status\": 404, \"message\": \"Cliente não encontrado.\", \"cause\": null}")
+            }, schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content(mediaType = "application/json", examples = {
+                    @ExampleObject(name = "Erro ao exportar extrato", value = "{\"status\": 500, \"message\": \"Erro ao tentar exportar o extrato da conta.\", \"cause\": \"Detalhes do erro interno\"}")
+            }, schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public void exportarExtrato(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario,
+            @Parameter(description = "Formato do arquivo: NDJSON ou CSV") @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato,
+            @Parameter(hidden = true) HttpServletResponse response) throws IOException {
+        // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+        String userInfoToken = usuario.getUsername();
+
+        // A conta é resolvida antes dos cabeçalhos do arquivo: um NotFound ainda sai como ErrorResponse em JSON
+        Long contaId = contaService.buscarContaIdExtrato(userInfoToken);
+
+        response.setContentType(formato.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"extrato." + formato.getExtensao() + "\"");
+
+        // As linhas são escritas direto no corpo da resposta, sem passar por DTOs em lista
+        contaService.exportarExtrato(contaId, formato, response.getOutputStream());
+    }
+
     @GetMapping("/minha-conta")
     @Operation(summary = "Visualiza os dados da conta do usuário", description = "Obtém os detalhes da conta associada ao login do usuário extraído do token JWT.")
     @ApiResponses(value = {
@@ -198,17 +246,13 @@ public class ContaController {
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<ContaResponseDTO> minhaConta(
-            @Parameter(hidden = true) @RequestHeader(value = "Authorization") String authorizationHeader) {
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario) {
         try {
-            // Extrai o token JWT do cabeçalho Authorization
-            String token = tokenService.extractTokenFromHeader(authorizationHeader);
-
-            // Obtém o login do usuário a partir do token JWT
-            String userInfoToken = tokenService.getUserLoginFromToken(token);
+            // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+            String userInfoToken = usuario.getUsername();
 
             return contaService.detailsConta(userInfoToken)
-                    .map(conta -> ResponseEntity.ok(MapperConverter.convertToDto(conta,
-                            ContaResponseDTO.class)))
+                    .map(conta -> ResponseEntity.ok(ResponseMapper.toContaResponse(conta)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             throw e;
@@ -3,10 +3,11 @@ package br.acc.bank.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,9 +15,8 @@ import br.acc.bank.dto.transacao.TransacaoRequestDTO;
 import br.acc.bank.dto.transacao.TransacaoResponseDTO;
 import br.acc.bank.dto.transacao.TransferenciaRequestDTO;
 import br.acc.bank.exception.ErrorResponse;
-import br.acc.bank.security.TokenService;
 import br.acc.bank.service.TransacaoService;
-import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.ResponseMapper;
 import br.acc.bank.util.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,9 +35,6 @@ public class TransacaoController {
     @Autowired
     private TransacaoService transacaoService;
 
-    @Autowired
-    private TokenService tokenService;
-
     @PostMapping("/depositar")
     @Operation(summary = "Realizar depósito em uma conta", description = "Retorna os dados da transação.")
     @ApiResponses(value = {
@@ -61,19 +58,16 @@ public class TransacaoController {
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<TransacaoResponseDTO> depositar(@Valid @RequestBody TransacaoRequestDTO transacaoRequestDTO,
-            BindingResult validateFields,  @Parameter(hidden = true) @RequestHeader(value = "Authorization") String authorizationHeader) {
+            BindingResult validateFields,  @Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario) {
 
         try {
             ValidationUtils.validateBindingResult(validateFields);
 
-            // Extrai o token JWT do cabeçalho Authorization
-            String token = tokenService.extractTokenFromHeader(authorizationHeader);
-
-            // Obtém o login do usuário a partir do token JWT
-            String userInfoToken = tokenService.getUserLoginFromToken(token);
+            // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+            String userInfoToken = usuario.getUsername();
 
             var transacao = transacaoService.deposit(transacaoRequestDTO, userInfoToken);
-            var transacaoResponseDTO = MapperConverter.convertToDto(transacao, TransacaoResponseDTO.class);
+            var transacaoResponseDTO = ResponseMapper.toTransacaoResponse(transacao);
 
             return new ResponseEntity<>(transacaoResponseDTO, HttpStatus.CREATED);
         } catch (Exception e) {
@@ -104,19 +98,16 @@ public class TransacaoController {
     })
     @Operation(summary = "Realizar saque em uma conta", description = "Retorna os dados da transação.")
     public ResponseEntity<TransacaoResponseDTO> sacar(@Valid @RequestBody TransacaoRequestDTO transacaoRequestDTO,
-            BindingResult validateFields,  @Parameter(hidden = true) @RequestHeader(value = "Authorization") String authorizationHeader) {
+            BindingResult validateFields,  @Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario) {
 
         try {
             ValidationUtils.validateBindingResult(validateFields);
 
-            // Extrai o token JWT do cabeçalho Authorization
-            String token = tokenService.extractTokenFromHeader(authorizationHeader);
-
-            // Obtém o login do usuário a partir do token JWT
-            String userInfoToken = tokenService.getUserLoginFromToken(token);
+            // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+            String userInfoToken = usuario.getUsername();
             
             var transacao = transacaoService.withdraw(transacaoRequestDTO, userInfoToken);
-            var transacaoResponseDTO = MapperConverter.convertToDto(transacao, TransacaoResponseDTO.class);
+            var transacaoResponseDTO = ResponseMapper.toTransacaoResponse(transacao);
 
             return new ResponseEntity<>(transacaoResponseDTO, HttpStatus.CREATED);
         } catch (Exception e) {
@@ -148,19 +139,16 @@ public class TransacaoController {
             }, schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<TransacaoResponseDTO> transferir(@Valid @RequestBody TransferenciaRequestDTO transferenciaRequestDTO,
-            BindingResult validateFields, @Parameter(hidden = true) @RequestHeader(value = "Authorization") String authorizationHeader) {
+            BindingResult validateFields, @Parameter(hidden = true) @AuthenticationPrincipal UserDetails usuario) {
 
         try {
             ValidationUtils.validateBindingResult(validateFields);
 
-            // Extrai o token JWT do cabeçalho Authorization
-            String token = tokenService.extractTokenFromHeader(authorizationHeader);
-
-            // Obtém o login do usuário a partir do token JWT
-            String userInfoToken = tokenService.getUserLoginFromToken(token);
+            // Login do usuário autenticado pelo SecurityFilter, que já verificou o token
+            String userInfoToken = usuario.getUsername();
 
             var transacao = transacaoService.transfer(transferenciaRequestDTO, userInfoToken);
-            var transacaoResponseDTO = MapperConverter.convertToDto(transacao, TransacaoResponseDTO.class);
+            var transacaoResponseDTO = ResponseMapper.toTransacaoResponse(transacao);
 
             return new ResponseEntity<>(transacaoResponseDTO, HttpStatus.CREATED);
         } catch (Exception e) {
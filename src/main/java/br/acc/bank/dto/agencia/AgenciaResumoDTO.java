@@ -0,0 +1,25 @@
+package br.acc.bank.dto.agencia;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Linha da listagem de agências: apenas as colunas da resposta, com o endereço no mesmo SELECT
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgenciaResumoDTO {
+    private Long id;
+    private String nome;
+    private Long numero;
+    private String telefone;
+    // Nulo quando a agência não tem endereço
+    private Long enderecoId;
+    private String cep;
+    private String rua;
+    private String enderecoNumero;
+    private String bairro;
+    private String cidade;
+    private String estado;
+    private String pais;
+}
@@ -14,6 +14,8 @@ import br.acc.bank.model.enums.UsuarioRole;
 @AllArgsConstructor
 @NoArgsConstructor
 public class ClienteResponseDTO {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     private Long id;
     private String nome;
     private String cpf;
@@ -26,12 +28,10 @@ public class ClienteResponseDTO {
     private EnderecoResponseDTO endereco;
 
     public void setDataNascimento(LocalDate dataNascimento) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        this.dataNascimento = dataNascimento.format(formatter);
+        this.dataNascimento = dataNascimento.format(FORMATTER);
     }
     
     public void setDataCadastro(LocalDate dataCadastro) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        this.dataCadastro = dataCadastro.format(formatter);
+        this.dataCadastro = dataCadastro.format(FORMATTER);
     }
 }
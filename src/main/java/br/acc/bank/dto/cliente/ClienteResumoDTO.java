@@ -0,0 +1,33 @@
+package br.acc.bank.dto.cliente;
+
+import java.time.LocalDate;
+
+import br.acc.bank.model.enums.UsuarioRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Linha da listagem de clientes: apenas as colunas da resposta, com o endereço no mesmo SELECT
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClienteResumoDTO {
+    private Long id;
+    private String nome;
+    private String cpf;
+    private LocalDate dataNascimento;
+    private String telefone;
+    private String email;
+    private LocalDate dataCadastro;
+    private String login;
+    private UsuarioRole role;
+    // Nulo quando o cliente não tem endereço
+    private Long enderecoId;
+    private String cep;
+    private String rua;
+    private String enderecoNumero;
+    private String bairro;
+    private String cidade;
+    private String estado;
+    private String pais;
+}
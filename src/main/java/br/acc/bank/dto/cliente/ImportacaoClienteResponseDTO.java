@@ -0,0 +1,22 @@
+package br.acc.bank.dto.cliente;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportacaoClienteResponseDTO {
+    private long total;
+    private long importados;
+    private long rejeitados;
+    private long duracaoMs;
+    private List<ResultadoImportacaoDTO> resultados;
+
+    public double getLinhasPorSegundo() {
+        return duracaoMs > 0 ? total * 1000.0 / duracaoMs : total;
+    }
+}
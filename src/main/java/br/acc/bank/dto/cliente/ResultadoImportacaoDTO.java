@@ -0,0 +1,21 @@
+package br.acc.bank.dto.cliente;
+
+import java.util.Map;
+
+import br.acc.bank.model.enums.StatusImportacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de um registro da importação; linha é a posição do registro no arquivo (1 = primeiro
+// registro, sem contar o cabeçalho do CSV) e erros traz campo -> mensagem quando rejeitado
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoImportacaoDTO {
+    private long linha;
+    private StatusImportacao status;
+    private Long id;
+    private String login;
+    private Map<String, String> erros;
+}
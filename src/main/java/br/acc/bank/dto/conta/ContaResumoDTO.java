@@ -0,0 +1,23 @@
+package br.acc.bank.dto.conta;
+
+import java.math.BigDecimal;
+
+import br.acc.bank.model.enums.TipoConta;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Linha da listagem de contas: apenas as colunas da resposta, com agência e cliente no mesmo SELECT
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContaResumoDTO {
+    private Long id;
+    private Long numero;
+    private BigDecimal saldo;
+    private TipoConta tipo;
+    private String agenciaNome;
+    private Long agenciaNumero;
+    private String clienteNome;
+    private String clienteCpf;
+}
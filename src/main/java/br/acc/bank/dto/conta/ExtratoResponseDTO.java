@@ -0,0 +1,16 @@
+package br.acc.bank.dto.conta;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExtratoResponseDTO {
+    private List<TransacoesContaResponseDTO> transacoes;
+    // Cursor para buscar a próxima página; nulo quando não há mais transações
+    private String proximoCursor;
+}
@@ -0,0 +1,15 @@
+package br.acc.bank.dto.conta;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SaldoContaDTO {
+    private Long id;
+    private BigDecimal saldo;
+}
@@ -0,0 +1,22 @@
+package br.acc.bank.dto.conta;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.acc.bank.model.enums.TipoTransacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Linha da exportação do extrato, projetada direto da consulta (sem entidades gerenciadas)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransacaoExportacaoDTO {
+    private Long id;
+    private LocalDateTime dataTransacao;
+    private TipoTransacao tipo;
+    private BigDecimal valor;
+    private Long contaOrigem;
+    private Long contaDestino;
+}
@@ -14,13 +14,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class TransacoesContaResponseDTO {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     private BigDecimal valor;
     private TipoTransacao tipo;
     private String dataTransacao;
     private Optional<ContaDestinoResponseDTO> contaDestino;
 
     public void setDataTransacao(LocalDateTime dataTransacao) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        this.dataTransacao = dataTransacao.format(formatter);
+        this.dataTransacao = dataTransacao.format(FORMATTER);
     }
 }
@@ -0,0 +1,32 @@
+package br.acc.bank.dto.pagina;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaResponseDTO<T> {
+    private List<T> conteudo;
+    private int pagina;
+    private int tamanho;
+    private boolean temProxima;
+    // Preenchidos apenas quando o total for solicitado (total=true)
+    private Long totalElementos;
+    private Integer totalPaginas;
+
+    public static <S, T> PaginaResponseDTO<T> of(Slice<S> fatia, Function<? super S, ? extends T> conversor) {
+        List<T> conteudo = fatia.getContent().stream().<T>map(conversor).toList();
+        if (fatia instanceof Page<S> page)
+            return new PaginaResponseDTO<>(conteudo, page.getNumber(), page.getSize(), page.hasNext(),
+                    page.getTotalElements(), page.getTotalPages());
+        return new PaginaResponseDTO<>(conteudo, fatia.getNumber(), fatia.getSize(), fatia.hasNext(), null, null);
+    }
+}
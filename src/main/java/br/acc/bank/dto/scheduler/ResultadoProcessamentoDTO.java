@@ -0,0 +1,18 @@
+package br.acc.bank.dto.scheduler;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoProcessamentoDTO {
+    private String operacao;
+    private long contasProcessadas;
+    private long duracaoMs;
+
+    public double getContasPorSegundo() {
+        return duracaoMs > 0 ? contasProcessadas * 1000.0 / duracaoMs : contasProcessadas;
+    }
+}
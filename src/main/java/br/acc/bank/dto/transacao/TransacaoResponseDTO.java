@@ -14,6 +14,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class TransacaoResponseDTO {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     private Long id;
     private BigDecimal valor;
     private TipoTransacao tipo;
@@ -22,7 +24,6 @@ public class TransacaoResponseDTO {
     private Optional<ContaTransacaoResponseDTO> contaDestino;
 
     public void setDataTransacao(LocalDateTime dataTransacao) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        this.dataTransacao = dataTransacao.format(formatter);
+        this.dataTransacao = dataTransacao.format(FORMATTER);
     }
 }
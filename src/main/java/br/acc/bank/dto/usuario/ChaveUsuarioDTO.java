@@ -0,0 +1,15 @@
+package br.acc.bank.dto.usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Campos únicos de um usuário já cadastrado
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChaveUsuarioDTO {
+    private String email;
+    private String cpf;
+    private String login;
+}
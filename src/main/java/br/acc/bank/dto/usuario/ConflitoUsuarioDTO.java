@@ -0,0 +1,16 @@
+package br.acc.bank.dto.usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Usuário que já utiliza o email, o CPF e/ou o login informados
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConflitoUsuarioDTO {
+    private Long id;
+    private boolean email;
+    private boolean cpf;
+    private boolean login;
+}
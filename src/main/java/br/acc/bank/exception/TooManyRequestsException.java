@@ -0,0 +1,7 @@
+package br.acc.bank.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
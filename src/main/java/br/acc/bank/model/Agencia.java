@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,7 +22,9 @@ import lombok.NoArgsConstructor;
 @Table(name = "agencias")
 public class Agencia {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "agencias_ids")
+    @TableGenerator(name = "agencias_ids", table = Sequencias.TABELA, pkColumnName = Sequencias.COLUNA_NOME,
+            valueColumnName = Sequencias.COLUNA_VALOR, pkColumnValue = "agencias", allocationSize = Sequencias.INCREMENTO)
     private Long id;
 
     @Column(nullable = false, length = 45)
@@ -10,15 +10,21 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.persistence.JoinColumn;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,6 +32,12 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@NamedEntityGraphs({
+        // Detalhe da conta (admin e minha-conta): agência e cliente no mesmo SELECT
+        @NamedEntityGraph(name = "Conta.detalhe", attributeNodes = { @NamedAttributeNode("agencia"), @NamedAttributeNode("cliente") }),
+        // Depósito, saque e transferência: somente o cliente, exibido na resposta da transação
+        @NamedEntityGraph(name = "Conta.transacao", attributeNodes = @NamedAttributeNode("cliente"))
+})
 @Inheritance(strategy = InheritanceType.JOINED)
 @Data
 @AllArgsConstructor
@@ -34,7 +46,9 @@ import lombok.NoArgsConstructor;
 @Table(name = "contas")
 public class Conta {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "contas_ids")
+    @TableGenerator(name = "contas_ids", table = Sequencias.TABELA, pkColumnName = Sequencias.COLUNA_NOME,
+            valueColumnName = Sequencias.COLUNA_VALOR, pkColumnValue = "contas", allocationSize = Sequencias.INCREMENTO)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -47,11 +61,18 @@ public class Conta {
     @Enumerated(EnumType.STRING)
     private TipoConta tipo;
 
-    @ManyToOne
+    // Controle de concorrência otimista: incrementado a cada atualização da conta, inclusive pelos UPDATEs
+    // atômicos de saldo, que substituem a retentativa por conflito de versão em depósito e saque
+    @Version
+    @Column(nullable = false)
+    private long versao;
+
+    // Associações carregadas sob demanda; cada consulta define o que precisa pelo entity graph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "agencia_id", nullable = false)
     private Agencia agencia;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
     private Cliente cliente;
 
@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,9 @@ import lombok.NoArgsConstructor;
 @Table(name = "enderecos")
 public class Endereco {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "enderecos_ids")
+    @TableGenerator(name = "enderecos_ids", table = Sequencias.TABELA, pkColumnName = Sequencias.COLUNA_NOME,
+            valueColumnName = Sequencias.COLUNA_VALOR, pkColumnValue = "enderecos", allocationSize = Sequencias.INCREMENTO)
     private Long id;
 
     @Column(nullable = false, length = 8)
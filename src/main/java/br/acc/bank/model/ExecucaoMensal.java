@@ -0,0 +1,68 @@
+package br.acc.bank.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import br.acc.bank.model.enums.ModoProcessamento;
+import br.acc.bank.model.enums.StatusExecucao;
+import br.acc.bank.model.enums.TipoTransacao;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Execução de uma operação mensal (juros ou tarifa) para uma competência.
+// Existe no máximo uma execução por operação e competência.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "execucoes_mensais", uniqueConstraints = @UniqueConstraint(name = "uk_execucoes_mensais_operacao_competencia", columnNames = { "operacao", "competencia" }))
+public class ExecucaoMensal {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "execucoes_mensais_ids")
+    @TableGenerator(name = "execucoes_mensais_ids", table = Sequencias.TABELA, pkColumnName = Sequencias.COLUNA_NOME,
+            valueColumnName = Sequencias.COLUNA_VALOR, pkColumnValue = "execucoes_mensais", allocationSize = Sequencias.INCREMENTO)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private TipoTransacao operacao;
+
+    // Primeiro dia do mês de referência
+    @Column(nullable = false)
+    private LocalDate competencia;
+
+    @Column(nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private ModoProcessamento modo;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private StatusExecucao status;
+
+    @Column(nullable = false)
+    private LocalDateTime iniciadaEm;
+
+    private LocalDateTime concluidaEm;
+
+    @Column(nullable = false)
+    private long contasProcessadas;
+
+    public ExecucaoMensal(TipoTransacao operacao, LocalDate competencia, ModoProcessamento modo) {
+        this.operacao = operacao;
+        this.competencia = competencia;
+        this.modo = modo;
+        this.status = StatusExecucao.EM_ANDAMENTO;
+        this.iniciadaEm = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,30 @@
+package br.acc.bank.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Concessão (lease) de um lock entre as instâncias da aplicação: vale até expiraEm
+// e pode ser assumida por outro nó depois disso
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "locks_distribuidos")
+public class LockDistribuido {
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(nullable = false, length = 100)
+    private String dono;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+}
@@ -0,0 +1,65 @@
+package br.acc.bank.model;
+
+import java.time.LocalDateTime;
+
+import br.acc.bank.model.enums.StatusExecucao;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Checkpoint de uma faixa de ids [idInicial, idFinal) de uma execução mensal. O lote é
+// marcado como concluído na mesma transação que aplica a operação às suas contas.
+// Um nó assume o lote (EM_ANDAMENTO) por um prazo; se o nó cair, outro pode assumi-lo depois que o prazo vencer.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "execucoes_mensais_lotes", indexes = @Index(name = "idx_execucoes_mensais_lotes_execucao_status", columnList = "execucao_id, status"))
+public class LoteExecucaoMensal {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "execucoes_mensais_lotes_ids")
+    @TableGenerator(name = "execucoes_mensais_lotes_ids", table = Sequencias.TABELA, pkColumnName = Sequencias.COLUNA_NOME,
+            valueColumnName = Sequencias.COLUNA_VALOR, pkColumnValue = "execucoes_mensais_lotes", allocationSize = Sequencias.INCREMENTO)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "execucao_id", nullable = false)
+    private ExecucaoMensal execucao;
+
+    @Column(nullable = false)
+    private Long idInicial;
+
+    @Column(nullable = false)
+    private Long idFinal;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private StatusExecucao status;
+
+    @Column(nullable = false)
+    private long contasProcessadas;
+
+    @Column(length = 100)
+    private String dono;
+
+    private LocalDateTime expiraEm;
+
+    public LoteExecucaoMensal(ExecucaoMensal execucao, Long idInicial, Long idFinal) {
+        this.execucao = execucao;
+        this.idInicial = idInicial;
+        this.idFinal = idFinal;
+        this.status = StatusExecucao.PENDENTE;
+    }
+}
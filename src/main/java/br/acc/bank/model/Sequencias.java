@@ -0,0 +1,21 @@
+package br.acc.bank.model;
+
+import java.util.List;
+
+// Geradores de id das entidades: uma linha por tabela em sequencias_ids com o último id reservado.
+// Com o otimizador pooled-lo (hibernate.id.optimizer.pooled.preferred) cada leitura reserva os
+// INCREMENTO ids seguintes em memória, sem IDENTITY, o que permite ao Hibernate agrupar os INSERTs em
+// lotes JDBC. INSERTs feitos por SQL reservam as suas faixas na mesma tabela (SequenciaIds).
+public final class Sequencias {
+    public static final String TABELA = "sequencias_ids";
+    public static final String COLUNA_NOME = "nome";
+    public static final String COLUNA_VALOR = "proximo_valor";
+    public static final int INCREMENTO = 50;
+
+    // Tabelas com id gerado; o nome da linha em sequencias_ids é o nome da própria tabela
+    public static final List<String> TABELAS = List.of("agencias", "contas", "enderecos", "execucoes_mensais",
+            "execucoes_mensais_lotes", "transacoes", "usuarios");
+
+    private Sequencias() {
+    }
+}
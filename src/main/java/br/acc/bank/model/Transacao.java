@@ -1,20 +1,31 @@
 package br.acc.bank.model;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import br.acc.bank.model.enums.TipoTransacao;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,27 +34,48 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "transacoes")
+// Extrato: somente a conta de destino e o seu cliente, no mesmo SELECT das transações
+@NamedEntityGraph(name = "Transacao.extrato", attributeNodes = @NamedAttributeNode(value = "contaDestino", subgraph = "cliente"),
+        subgraphs = @NamedSubgraph(name = "cliente", attributeNodes = @NamedAttributeNode("cliente")))
+// Índices compostos para o extrato paginado: cada página é uma varredura limitada do índice
+@Table(name = "transacoes", indexes = {
+        @Index(name = "idx_transacoes_origem_data_id", columnList = "conta_origem_id, data_transacao, id"),
+        @Index(name = "idx_transacoes_destino_data_id", columnList = "conta_destino_id, data_transacao, id")
+}, uniqueConstraints = {
+        // Chave de idempotência das operações mensais: no máximo um juros/tarifa por conta e competência
+        @UniqueConstraint(name = "uk_transacoes_conta_tipo_competencia", columnNames = { "conta_origem_id", "tipo", "competencia" })
+})
 public class Transacao {
+    // Comporta o maior nome de TipoTransacao com folga para tipos novos
+    public static final int TAMANHO_TIPO = 20;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transacoes_ids")
+    @TableGenerator(name = "transacoes_ids", table = Sequencias.TABELA, pkColumnName = Sequencias.COLUNA_NOME,
+            valueColumnName = Sequencias.COLUNA_VALOR, pkColumnValue = "transacoes", allocationSize = Sequencias.INCREMENTO)
     private Long id;
 
     @Column(nullable = false)
     private BigDecimal valor;
 
-    @Column(nullable = false)
+    // VARCHAR e não enum nativo do MySQL: novos tipos não exigem alterar a coluna
+    @Column(nullable = false, length = TAMANHO_TIPO)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private TipoTransacao tipo;
 
     @Column(nullable = false)
     private LocalDateTime dataTransacao;
 
-    @ManyToOne
+    // Mês de referência (primeiro dia) das operações mensais; nulo nas demais transações
+    private LocalDate competencia;
+
+    // Associações carregadas sob demanda; cada consulta define o que precisa pelo entity graph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conta_origem_id", nullable = false)
     private Conta contaOrigem;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conta_destino_id", nullable = true)
     private Conta contaDestino;
 
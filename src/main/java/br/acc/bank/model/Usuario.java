@@ -24,7 +24,9 @@ import java.util.List;
 @Table(name = "usuarios")
 public class Usuario implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "usuarios_ids")
+    @TableGenerator(name = "usuarios_ids", table = Sequencias.TABELA, pkColumnName = Sequencias.COLUNA_NOME,
+            valueColumnName = Sequencias.COLUNA_VALOR, pkColumnValue = "usuarios", allocationSize = Sequencias.INCREMENTO)
     private Long id;
 
     @Column(nullable = false, length = 60)
@@ -0,0 +1,25 @@
+package br.acc.bank.model.enums;
+
+import org.springframework.http.MediaType;
+
+public enum FormatoImportacao {
+    JSON("application/json"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    FormatoImportacao(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    // Formato pelo Content-Type da requisição; qualquer tipo diferente de text/csv é lido como JSON
+    public static FormatoImportacao doContentType(String contentType) {
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV.contentType)))
+            return CSV;
+        return JSON;
+    }
+}
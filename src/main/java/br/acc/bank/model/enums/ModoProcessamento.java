@@ -0,0 +1,8 @@
+package br.acc.bank.model.enums;
+
+// Forma de aplicar as operações mensais: lotes de contas processados pela aplicação
+// ou comandos únicos executados inteiramente pelo banco
+public enum ModoProcessamento {
+    LOTES,
+    SQL
+}
@@ -0,0 +1,7 @@
+package br.acc.bank.model.enums;
+
+public enum StatusExecucao {
+    PENDENTE,
+    EM_ANDAMENTO,
+    CONCLUIDA
+}
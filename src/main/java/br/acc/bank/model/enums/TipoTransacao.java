@@ -3,5 +3,7 @@ package br.acc.bank.model.enums;
 public enum TipoTransacao {
     SAQUE,
     DEPOSITO,
-    TRANSFERENCIA
+    TRANSFERENCIA,
+    JUROS,
+    TARIFA
 }
@@ -2,6 +2,8 @@ package br.acc.bank.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +16,7 @@ public interface AdminRepository extends JpaRepository<Admin, Long> {
     Optional<Admin> findByCpf(String cpf);
 
     Optional<Admin> findByLogin(String login);
+
+    // Listagem paginada sem COUNT(*): busca um registro a mais para saber se há próxima página
+    Slice<Admin> findAllBy(Pageable pageable);
 }
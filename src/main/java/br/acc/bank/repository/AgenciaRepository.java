@@ -2,12 +2,22 @@ package br.acc.bank.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import br.acc.bank.dto.agencia.AgenciaResumoDTO;
 import br.acc.bank.model.Agencia;
 
 @Repository
 public interface AgenciaRepository extends JpaRepository <Agencia, Long>{
     Optional<Agencia> findByNumero(Long numero);
+
+    // Listagem paginada sem carregar as entidades: agência e endereço em um único SELECT
+    @Query("SELECT new br.acc.bank.dto.agencia.AgenciaResumoDTO(a.id, a.nome, a.numero, a.telefone,"
+            + " e.id, e.cep, e.rua, e.numero, e.bairro, e.cidade, e.estado, e.pais)"
+            + " FROM Agencia a LEFT JOIN a.endereco e")
+    Slice<AgenciaResumoDTO> findResumos(Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package br.acc.bank.repository;
+
+import java.util.List;
+
+import br.acc.bank.model.Cliente;
+
+public interface ClienteBatchRepository {
+    // Insere os clientes (endereço, usuário e cliente) com um lote JDBC por tabela, sem passar pelo
+    // contexto de persistência; os ids reservados e a data de cadastro são preenchidos nas entidades
+    void inserirEmLote(List<Cliente> clientes);
+}
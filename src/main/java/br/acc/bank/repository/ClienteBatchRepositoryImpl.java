@@ -0,0 +1,73 @@
+package br.acc.bank.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Endereco;
+
+public class ClienteBatchRepositoryImpl implements ClienteBatchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void inserirEmLote(List<Cliente> clientes) {
+        if (clientes.isEmpty())
+            return;
+
+        // Ids reservados antes dos INSERTs: os três lotes saem prontos, sem depender das chaves geradas
+        long enderecoId = SequenciaIds.reservar(jdbcTemplate, transactionManager, "enderecos", clientes.size());
+        long usuarioId = SequenciaIds.reservar(jdbcTemplate, transactionManager, "usuarios", clientes.size());
+        LocalDate hoje = LocalDate.now();
+        for (Cliente cliente : clientes) {
+            cliente.getEndereco().setId(enderecoId++);
+            cliente.setId(usuarioId++);
+            cliente.setDataCadastro(hoje);
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO enderecos (id, cep, rua, numero, bairro, cidade, estado, pais) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                clientes, clientes.size(), (ps, cliente) -> {
+                    Endereco endereco = cliente.getEndereco();
+                    ps.setLong(1, endereco.getId());
+                    ps.setString(2, endereco.getCep());
+                    ps.setString(3, endereco.getRua());
+                    ps.setString(4, endereco.getNumero());
+                    ps.setString(5, endereco.getBairro());
+                    ps.setString(6, endereco.getCidade());
+                    ps.setString(7, endereco.getEstado());
+                    ps.setString(8, endereco.getPais());
+                });
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO usuarios (id, nome, cpf, data_nascimento, telefone, email, data_cadastro, login, password, role) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                clientes, clientes.size(), (ps, cliente) -> {
+                    ps.setLong(1, cliente.getId());
+                    ps.setString(2, cliente.getNome());
+                    ps.setString(3, cliente.getCpf());
+                    ps.setDate(4, Date.valueOf(cliente.getDataNascimento()));
+                    ps.setString(5, cliente.getTelefone());
+                    ps.setString(6, cliente.getEmail());
+                    ps.setDate(7, Date.valueOf(hoje));
+                    ps.setString(8, cliente.getLogin());
+                    ps.setString(9, cliente.getPassword());
+                    ps.setString(10, cliente.getRole().name());
+                });
+
+        jdbcTemplate.batchUpdate("INSERT INTO clientes (id, endereco_id) VALUES (?, ?)", clientes, clientes.size(),
+                (ps, cliente) -> {
+                    ps.setLong(1, cliente.getId());
+                    ps.setLong(2, cliente.getEndereco().getId());
+                });
+    }
+}
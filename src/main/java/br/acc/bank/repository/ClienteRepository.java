@@ -2,16 +2,30 @@ package br.acc.bank.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.acc.bank.dto.cliente.ClienteResumoDTO;
 import br.acc.bank.model.Cliente;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteBatchRepository {
     Optional<Cliente> findByEmail(String email);
 
     Optional<Cliente> findByCpf(String cpf);
 
     Optional<Cliente> findByLogin(String login);
+
+    @Query("SELECT c.id FROM Cliente c WHERE c.login = :login")
+    Optional<Long> findIdByLogin(@Param("login") String login);
+
+    // Listagem paginada sem carregar as entidades: cliente e endereço em um único SELECT
+    @Query("SELECT new br.acc.bank.dto.cliente.ClienteResumoDTO(c.id, c.nome, c.cpf, c.dataNascimento, c.telefone,"
+            + " c.email, c.dataCadastro, c.login, c.role, e.id, e.cep, e.rua, e.numero, e.bairro, e.cidade, e.estado, e.pais)"
+            + " FROM Cliente c LEFT JOIN c.endereco e")
+    Slice<ClienteResumoDTO> findResumos(Pageable pageable);
 }
@@ -0,0 +1,31 @@
+package br.acc.bank.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// No MySQL o Hibernate 6 cria as colunas @Enumerated(STRING) como enum('A','B',...) nativo, e o
+// ddl-auto=update nunca altera colunas existentes: um valor novo no enum Java é recusado pelo banco.
+// Aqui a coluna enum de um banco já criado passa para VARCHAR, que aceita qualquer valor do enum.
+public final class ColunasEnum {
+    private static final String CONSULTAR = "SELECT DATA_TYPE, IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS"
+            + " WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = UPPER(?) AND UPPER(COLUMN_NAME) = UPPER(?)";
+
+    private ColunasEnum() {
+    }
+
+    // Idempotente: só altera a coluna enquanto ela for do tipo enum. Devolve se a coluna foi alterada.
+    // O ALTER usa a sintaxe do MySQL, único banco do projeto com coluna enum nativa
+    public static boolean converterParaVarchar(JdbcTemplate jdbcTemplate, String tabela, String coluna, int tamanho) {
+        List<Map<String, Object>> colunas = jdbcTemplate.queryForList(CONSULTAR, tabela, coluna);
+        if (colunas.isEmpty() || !"enum".equalsIgnoreCase(String.valueOf(colunas.get(0).get("DATA_TYPE"))))
+            return false;
+
+        // O MODIFY redefine a coluna inteira; a obrigatoriedade atual é mantida
+        boolean anulavel = "YES".equalsIgnoreCase(String.valueOf(colunas.get(0).get("IS_NULLABLE")));
+        jdbcTemplate.execute("ALTER TABLE " + tabela + " MODIFY " + coluna + " VARCHAR(" + tamanho + ")"
+                + (anulavel ? "" : " NOT NULL"));
+        return true;
+    }
+}
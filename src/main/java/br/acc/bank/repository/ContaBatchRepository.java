@@ -0,0 +1,13 @@
+package br.acc.bank.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import br.acc.bank.model.enums.TipoTransacao;
+
+public interface ContaBatchRepository {
+    // Soma o valor informado ao saldo de cada conta (id -> valor) e registra a transação
+    // correspondente na competência, em um lote JDBC para as atualizações e outro para as inserções
+    int ajustarSaldosEmLote(Map<Long, BigDecimal> ajustes, TipoTransacao tipo, LocalDate competencia);
+}
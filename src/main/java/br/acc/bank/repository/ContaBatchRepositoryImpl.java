@@ -0,0 +1,55 @@
+package br.acc.bank.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.acc.bank.model.enums.TipoTransacao;
+
+public class ContaBatchRepositoryImpl implements ContaBatchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public int ajustarSaldosEmLote(Map<Long, BigDecimal> ajustes, TipoTransacao tipo, LocalDate competencia) {
+        if (ajustes.isEmpty())
+            return 0;
+
+        Timestamp dataTransacao = Timestamp.valueOf(LocalDateTime.now());
+        Date dataCompetencia = Date.valueOf(competencia);
+        long proximoId = SequenciaIds.reservar(jdbcTemplate, transactionManager, "transacoes", ajustes.size());
+        List<Object[]> parametros = new ArrayList<>(ajustes.size());
+        List<Object[]> transacoes = new ArrayList<>(ajustes.size());
+        for (Map.Entry<Long, BigDecimal> ajuste : ajustes.entrySet()) {
+            parametros.add(new Object[] { ajuste.getValue(), ajuste.getKey() });
+            transacoes.add(new Object[] { proximoId++, ajuste.getValue().abs(), tipo.name(), dataTransacao,
+                    dataCompetencia, ajuste.getKey() });
+        }
+
+        int[] atualizadas = jdbcTemplate.batchUpdate(
+                "UPDATE contas SET saldo = saldo + ?, versao = versao + 1 WHERE id = ?", parametros);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transacoes (id, valor, tipo, data_transacao, competencia, conta_origem_id) VALUES (?, ?, ?, ?, ?, ?)", transacoes);
+
+        int total = 0;
+        for (int linhas : atualizadas) {
+            // Alguns drivers não informam a contagem por comando em lote
+            total += linhas == Statement.SUCCESS_NO_INFO ? 1 : linhas;
+        }
+        return total;
+    }
+}
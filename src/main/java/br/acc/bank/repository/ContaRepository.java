@@ -1,25 +1,123 @@
 package br.acc.bank.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.acc.bank.dto.conta.ContaResumoDTO;
+import br.acc.bank.dto.conta.SaldoContaDTO;
 import br.acc.bank.model.Conta;
 import br.acc.bank.model.enums.TipoConta;
+import br.acc.bank.model.enums.TipoTransacao;
+import jakarta.persistence.LockModeType;
 
 @Repository
-public interface ContaRepository extends JpaRepository<Conta, Long> {
+public interface ContaRepository extends JpaRepository<Conta, Long>, ContaBatchRepository {
     Optional<Conta> findByNumero(Long numero);
 
     boolean existsByNumero(Long numero);
 
+    // Números já usados entre os informados (contas criadas antes do gerador de números por bloco)
+    @Query("SELECT c.numero FROM Conta c WHERE c.numero IN :numeros")
+    List<Long> findNumerosEmUso(@Param("numeros") Collection<Long> numeros);
+
     List<Conta> findAllByTipo(TipoConta tipo);
 
+    long countByTipo(TipoConta tipo);
+
+    // Listagem paginada sem carregar as entidades: conta, agência e cliente em um único SELECT.
+    // O Slice busca um registro a mais para saber se há próxima página, sem COUNT(*)
+    @Query("SELECT new br.acc.bank.dto.conta.ContaResumoDTO(c.id, c.numero, c.saldo, c.tipo, a.nome, a.numero, cl.nome, cl.cpf)"
+            + " FROM Conta c JOIN c.agencia a JOIN c.cliente cl")
+    Slice<ContaResumoDTO> findResumos(Pageable pageable);
+
+    @Query("SELECT new br.acc.bank.dto.conta.ContaResumoDTO(c.id, c.numero, c.saldo, c.tipo, a.nome, a.numero, cl.nome, cl.cpf)"
+            + " FROM Conta c JOIN c.agencia a JOIN c.cliente cl WHERE c.tipo = :tipo")
+    Slice<ContaResumoDTO> findResumosByTipo(@Param("tipo") TipoConta tipo, Pageable pageable);
+
+    // Detalhe da conta pelo admin: agência e cliente carregados junto com a conta
+    @Override
+    @EntityGraph("Conta.detalhe")
+    Optional<Conta> findById(Long id);
+
     boolean existsByClienteId(Long clienteId);
 
+    @EntityGraph("Conta.detalhe")
     Optional<Conta> findByClienteId(Long clienteId);
 
+    // Conta de um depósito/saque, já com o cliente exibido na resposta da transação
+    @EntityGraph("Conta.transacao")
+    @Query("SELECT c FROM Conta c WHERE c.id = :id")
+    Optional<Conta> findComClienteById(@Param("id") Long id);
+
     boolean existsByAgenciaId(Long agenciaId);
-}
\ No newline at end of file
+
+    @Query("SELECT c.id FROM Conta c WHERE c.cliente.id = :clienteId")
+    Optional<Long> findIdByClienteId(@Param("clienteId") Long clienteId);
+
+    @Query("SELECT c.id FROM Conta c WHERE c.numero = :numero")
+    Optional<Long> findIdByNumero(@Param("numero") Long numero);
+
+    // Buscar conta pelo id bloqueando a linha para escrita (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph("Conta.transacao")
+    @Query("SELECT c FROM Conta c WHERE c.id = :id")
+    Optional<Conta> findByIdForUpdate(@Param("id") Long id);
+
+    // Crédito atômico no saldo, em um único comando e sem carregar a entidade
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE contas SET saldo = saldo + :valor, versao = versao + 1 WHERE id = :id", nativeQuery = true)
+    int creditarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    // Débito atômico condicionado ao saldo: retorna 0 se o saldo for insuficiente
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE contas SET saldo = saldo - :valor, versao = versao + 1 WHERE id = :id AND saldo >= :valor", nativeQuery = true)
+    int debitarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    // Faixa de ids das contas do tipo, usada para dividir o processamento em lotes
+    @Query("SELECT MIN(c.id) FROM Conta c WHERE c.tipo = :tipo")
+    Optional<Long> findMinIdByTipo(@Param("tipo") TipoConta tipo);
+
+    @Query("SELECT MAX(c.id) FROM Conta c WHERE c.tipo = :tipo")
+    Optional<Long> findMaxIdByTipo(@Param("tipo") TipoConta tipo);
+
+    // Saldos das contas do tipo com id em [inicio, fim) que ainda não receberam a operação
+    // na competência, sem carregar as entidades
+    @Query("SELECT new br.acc.bank.dto.conta.SaldoContaDTO(c.id, c.saldo) FROM Conta c"
+            + " WHERE c.tipo = :tipo AND c.id >= :inicio AND c.id < :fim"
+            + " AND NOT EXISTS (SELECT 1 FROM Transacao t WHERE t.contaOrigem.id = c.id"
+            + " AND t.tipo = :operacao AND t.competencia = :competencia)"
+            + " ORDER BY c.id")
+    List<SaldoContaDTO> findSaldosPendentesByTipoAndIdRange(@Param("tipo") TipoConta tipo, @Param("inicio") Long inicio,
+            @Param("fim") Long fim, @Param("operacao") TipoTransacao operacao, @Param("competencia") LocalDate competencia);
+
+    // Juros em um único comando sobre as poupanças que receberam a transação de juros da competência
+    // (registrarJurosPoupancas), creditando o valor registrado nela: uma conta que passou a ter saldo
+    // depois do registro fica de fora e o saldo nunca diverge do extrato
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE contas SET saldo = saldo + (SELECT t.valor FROM transacoes t WHERE t.conta_origem_id = contas.id"
+            + " AND t.tipo = 'JUROS' AND t.competencia = :competencia), versao = versao + 1"
+            + " WHERE id IN (SELECT conta_origem_id FROM transacoes WHERE tipo = 'JUROS' AND competencia = :competencia)",
+            nativeQuery = true)
+    int aplicarJurosPoupancas(@Param("competencia") LocalDate competencia);
+
+    // Tarifa em um único comando sobre as correntes que receberam a transação de tarifa da competência
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE contas SET saldo = saldo - (SELECT t.valor FROM transacoes t WHERE t.conta_origem_id = contas.id"
+            + " AND t.tipo = 'TARIFA' AND t.competencia = :competencia), versao = versao + 1"
+            + " WHERE id IN (SELECT conta_origem_id FROM transacoes WHERE tipo = 'TARIFA' AND competencia = :competencia)",
+            nativeQuery = true)
+    int aplicarTarifaCorrentes(@Param("competencia") LocalDate competencia);
+}
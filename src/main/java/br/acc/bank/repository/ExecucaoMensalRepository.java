@@ -0,0 +1,31 @@
+package br.acc.bank.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.acc.bank.model.ExecucaoMensal;
+import br.acc.bank.model.enums.StatusExecucao;
+import br.acc.bank.model.enums.TipoTransacao;
+
+@Repository
+public interface ExecucaoMensalRepository extends JpaRepository<ExecucaoMensal, Long> {
+    Optional<ExecucaoMensal> findByOperacaoAndCompetencia(TipoTransacao operacao, LocalDate competencia);
+
+    List<ExecucaoMensal> findAllByStatusOrderByIdAsc(StatusExecucao status);
+
+    // Encerra a execução uma única vez, mesmo que vários nós terminem seus lotes ao mesmo tempo
+    @Modifying
+    @Query("UPDATE ExecucaoMensal e SET e.status = br.acc.bank.model.enums.StatusExecucao.CONCLUIDA,"
+            + " e.concluidaEm = :concluidaEm, e.contasProcessadas = :contasProcessadas"
+            + " WHERE e.id = :id AND e.status = br.acc.bank.model.enums.StatusExecucao.EM_ANDAMENTO")
+    int concluirExecucao(@Param("id") Long id, @Param("contasProcessadas") long contasProcessadas,
+            @Param("concluidaEm") LocalDateTime concluidaEm);
+}
@@ -0,0 +1,25 @@
+package br.acc.bank.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.acc.bank.model.LockDistribuido;
+
+@Repository
+public interface LockDistribuidoRepository extends JpaRepository<LockDistribuido, String> {
+    // Renova a concessão do próprio dono ou assume uma concessão vencida; retorna 0 se outro nó a detém
+    @Modifying
+    @Query("UPDATE LockDistribuido l SET l.dono = :dono, l.expiraEm = :expiraEm"
+            + " WHERE l.nome = :nome AND (l.dono = :dono OR l.expiraEm < :agora)")
+    int renovar(@Param("nome") String nome, @Param("dono") String dono, @Param("agora") LocalDateTime agora,
+            @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Modifying
+    @Query("UPDATE LockDistribuido l SET l.expiraEm = :agora WHERE l.nome = :nome AND l.dono = :dono")
+    int liberar(@Param("nome") String nome, @Param("dono") String dono, @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,48 @@
+package br.acc.bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.acc.bank.model.LoteExecucaoMensal;
+import br.acc.bank.model.enums.StatusExecucao;
+
+@Repository
+public interface LoteExecucaoMensalRepository extends JpaRepository<LoteExecucaoMensal, Long> {
+    // Lotes que podem ser assumidos: pendentes ou com o prazo do nó anterior vencido
+    @Query("SELECT l.id FROM LoteExecucaoMensal l WHERE l.execucao.id = :execucaoId"
+            + " AND (l.status = br.acc.bank.model.enums.StatusExecucao.PENDENTE"
+            + " OR (l.status = br.acc.bank.model.enums.StatusExecucao.EM_ANDAMENTO AND l.expiraEm < :agora))"
+            + " ORDER BY l.idInicial")
+    List<Long> findIdsDisponiveisByExecucaoId(@Param("execucaoId") Long execucaoId,
+            @Param("agora") LocalDateTime agora, Limit limit);
+
+    // Assume o lote para o nó até expiraEm; retorna 0 se outro nó o assumiu antes
+    @Modifying
+    @Query("UPDATE LoteExecucaoMensal l SET l.status = br.acc.bank.model.enums.StatusExecucao.EM_ANDAMENTO,"
+            + " l.dono = :dono, l.expiraEm = :expiraEm"
+            + " WHERE l.id = :id AND (l.status = br.acc.bank.model.enums.StatusExecucao.PENDENTE"
+            + " OR (l.status = br.acc.bank.model.enums.StatusExecucao.EM_ANDAMENTO AND l.expiraEm < :agora))")
+    int reivindicarLote(@Param("id") Long id, @Param("dono") String dono, @Param("agora") LocalDateTime agora,
+            @Param("expiraEm") LocalDateTime expiraEm);
+
+    // Checkpoint do lote: só marca lotes ainda assumidos pelo nó, retornando 0 se o nó perdeu o lote
+    @Modifying
+    @Query("UPDATE LoteExecucaoMensal l SET l.status = br.acc.bank.model.enums.StatusExecucao.CONCLUIDA,"
+            + " l.contasProcessadas = :contasProcessadas"
+            + " WHERE l.id = :id AND l.dono = :dono"
+            + " AND l.status = br.acc.bank.model.enums.StatusExecucao.EM_ANDAMENTO")
+    int concluirLote(@Param("id") Long id, @Param("dono") String dono,
+            @Param("contasProcessadas") long contasProcessadas);
+
+    long countByExecucaoIdAndStatusNot(Long execucaoId, StatusExecucao status);
+
+    @Query("SELECT COALESCE(SUM(l.contasProcessadas), 0) FROM LoteExecucaoMensal l WHERE l.execucao.id = :execucaoId")
+    long sumContasProcessadasByExecucaoId(@Param("execucaoId") Long execucaoId);
+}
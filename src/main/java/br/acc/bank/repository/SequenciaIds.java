@@ -0,0 +1,80 @@
+package br.acc.bank.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.acc.bank.model.Sequencias;
+
+// Reserva de ids para os INSERTs feitos por SQL (lotes JDBC e INSERT ... SELECT), na mesma tabela dos
+// geradores do Hibernate. A linha guarda o último id já reservado: cada leitura do Hibernate (pooled-lo)
+// avança o valor em INCREMENTO e usa (valor, valor + INCREMENTO]; aqui o valor avança pela quantidade
+// pedida e a faixa (valor, valor + quantidade] fica com o chamador, sem sobrepor os blocos do Hibernate.
+public final class SequenciaIds {
+    private static final String ATUALIZAR = "UPDATE " + Sequencias.TABELA + " SET " + Sequencias.COLUNA_VALOR + " = "
+            + Sequencias.COLUNA_VALOR + " + ? WHERE " + Sequencias.COLUNA_NOME + " = ?";
+    private static final String CONSULTAR = "SELECT " + Sequencias.COLUNA_VALOR + " FROM " + Sequencias.TABELA
+            + " WHERE " + Sequencias.COLUNA_NOME + " = ?";
+    private static final String AVANCAR = "UPDATE " + Sequencias.TABELA + " SET " + Sequencias.COLUNA_VALOR + " = ? WHERE "
+            + Sequencias.COLUNA_NOME + " = ? AND " + Sequencias.COLUNA_VALOR + " < ?";
+    private static final String INSERIR = "INSERT INTO " + Sequencias.TABELA + " (" + Sequencias.COLUNA_NOME + ", "
+            + Sequencias.COLUNA_VALOR + ") VALUES (?, ?)";
+
+    // Primeiro id dos geradores do Hibernate (initialValue 0 do @TableGenerator + 1)
+    private static final long PRIMEIRO_ID = 1;
+
+    private SequenciaIds() {
+    }
+
+    // Devolve o primeiro id da faixa reservada. A reserva roda em transação própria para não segurar o
+    // bloqueio da linha até o fim da transação do chamador, o que pararia os INSERTs do Hibernate na tabela.
+    public static long reservar(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, String sequencia,
+            int quantidade) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            return transactionTemplate.execute(status -> reservarNaTransacao(jdbcTemplate, sequencia, quantidade));
+        } catch (DuplicateKeyException e) {
+            // Outra transação criou a linha da sequência ao mesmo tempo; agora ela existe
+            return transactionTemplate.execute(status -> reservarNaTransacao(jdbcTemplate, sequencia, quantidade));
+        }
+    }
+
+    // Garante que a sequência da tabela não entregue ids já usados: avança a linha até o maior id existente,
+    // criando-a se preciso. Necessário na troca de IDENTITY pelos geradores em tabela, em que as tabelas
+    // já populadas não têm linha em sequencias_ids e todo gerador começaria do id 1.
+    public static void sincronizar(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, String tabela) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> sincronizarNaTransacao(jdbcTemplate, tabela));
+        } catch (DuplicateKeyException e) {
+            // Outro nó criou a linha ao mesmo tempo; agora basta avançá-la
+            transactionTemplate.executeWithoutResult(status -> sincronizarNaTransacao(jdbcTemplate, tabela));
+        }
+    }
+
+    private static void sincronizarNaTransacao(JdbcTemplate jdbcTemplate, String tabela) {
+        long maiorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Long.class);
+        if (jdbcTemplate.update(AVANCAR, maiorId, tabela, maiorId) > 0)
+            return;
+        // Nada a avançar: ou a linha já está à frente do maior id ou ainda não existe
+        if (jdbcTemplate.queryForList(CONSULTAR, Long.class, tabela).isEmpty())
+            jdbcTemplate.update(INSERIR, tabela, maiorId);
+    }
+
+    private static long reservarNaTransacao(JdbcTemplate jdbcTemplate, String sequencia, int quantidade) {
+        if (jdbcTemplate.update(ATUALIZAR, quantidade, sequencia) == 0) {
+            // Linha ainda não criada (as das tabelas com id gerado são criadas na inicialização, veja
+            // SequenciasInicializacao): a faixa começa no primeiro id
+            jdbcTemplate.update(INSERIR, sequencia, PRIMEIRO_ID - 1 + quantidade);
+            return PRIMEIRO_ID;
+        }
+        // A linha segue bloqueada pelo UPDATE até o fim desta transação
+        return jdbcTemplate.queryForObject(CONSULTAR, Long.class, sequencia) - quantidade + 1;
+    }
+}
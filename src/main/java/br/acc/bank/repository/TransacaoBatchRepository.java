@@ -0,0 +1,12 @@
+package br.acc.bank.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface TransacaoBatchRepository {
+    // Registra os juros do mês de todas as poupanças com saldo positivo; deve rodar antes da atualização dos saldos
+    int registrarJurosPoupancas(BigDecimal taxa, LocalDate competencia);
+
+    // Registra a tarifa do mês de todas as contas correntes
+    int registrarTarifaCorrentes(BigDecimal tarifa, LocalDate competencia);
+}
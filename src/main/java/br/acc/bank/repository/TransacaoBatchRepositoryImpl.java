@@ -0,0 +1,49 @@
+package br.acc.bank.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.acc.bank.model.enums.TipoTransacao;
+
+public class TransacaoBatchRepositoryImpl implements TransacaoBatchRepository {
+    private static final String POUPANCAS_COM_SALDO = "SELECT c.id, c.saldo * ? AS valor"
+            + " FROM contas c JOIN contas_poupancas p ON p.id = c.id WHERE c.saldo > 0";
+    private static final String CORRENTES = "SELECT c.id, CAST(? AS DECIMAL(38, 2)) AS valor"
+            + " FROM contas c JOIN contas_correntes cc ON cc.id = c.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public int registrarJurosPoupancas(BigDecimal taxa, LocalDate competencia) {
+        return registrarEmConjunto(POUPANCAS_COM_SALDO, taxa, TipoTransacao.JUROS, competencia);
+    }
+
+    @Override
+    public int registrarTarifaCorrentes(BigDecimal tarifa, LocalDate competencia) {
+        return registrarEmConjunto(CORRENTES, tarifa, TipoTransacao.TARIFA, competencia);
+    }
+
+    // Um único INSERT ... SELECT para todas as contas: conta as linhas, reserva a faixa de ids e numera
+    // as contas por id dentro dela. Contas que passarem a atender o filtro entre a contagem e o INSERT
+    // ficam de fora, para nunca ultrapassar a faixa reservada.
+    private int registrarEmConjunto(String contas, BigDecimal valor, TipoTransacao tipo, LocalDate competencia) {
+        Integer quantidade = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + contas + ") x", Integer.class, valor);
+        if (quantidade == null || quantidade == 0)
+            return 0;
+
+        long primeiroId = SequenciaIds.reservar(jdbcTemplate, transactionManager, "transacoes", quantidade);
+        return jdbcTemplate.update("INSERT INTO transacoes (id, valor, tipo, data_transacao, competencia, conta_origem_id)"
+                + " SELECT ? + x.ordem - 1, x.valor, ?, LOCALTIMESTAMP, ?, x.id"
+                + " FROM (SELECT y.id, y.valor, ROW_NUMBER() OVER (ORDER BY y.id) AS ordem FROM (" + contas + ") y) x"
+                + " WHERE x.ordem <= ?", primeiroId, tipo.name(), Date.valueOf(competencia), valor, quantidade);
+    }
+}
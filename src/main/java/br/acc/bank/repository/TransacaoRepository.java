@@ -1,16 +1,57 @@
 package br.acc.bank.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.acc.bank.dto.conta.TransacaoExportacaoDTO;
 import br.acc.bank.model.Transacao;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
+public interface TransacaoRepository extends JpaRepository<Transacao, Long>, TransacaoBatchRepository {
     @Query("SELECT t FROM Transacao t WHERE t.contaOrigem.id = :contaId OR t.contaDestino.id = :contaId")
     List<Transacao> findByContaId(@Param("contaId") Long contaId);
+
+    // Página do extrato em que a conta é origem, a partir da posição (cursorData, cursorId) em ordem decrescente
+    @EntityGraph("Transacao.extrato")
+    @Query("SELECT t FROM Transacao t WHERE t.contaOrigem.id = :contaId"
+            + " AND t.dataTransacao >= :inicio AND t.dataTransacao < :fim"
+            + " AND (t.dataTransacao < :cursorData OR (t.dataTransacao = :cursorData AND t.id < :cursorId))"
+            + " ORDER BY t.dataTransacao DESC, t.id DESC")
+    List<Transacao> findPaginaComoOrigem(@Param("contaId") Long contaId, @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim, @Param("cursorData") LocalDateTime cursorData,
+            @Param("cursorId") Long cursorId, Limit limit);
+
+    // Página do extrato em que a conta é destino, a partir da posição (cursorData, cursorId) em ordem decrescente
+    @EntityGraph("Transacao.extrato")
+    @Query("SELECT t FROM Transacao t WHERE t.contaDestino.id = :contaId"
+            + " AND t.dataTransacao >= :inicio AND t.dataTransacao < :fim"
+            + " AND (t.dataTransacao < :cursorData OR (t.dataTransacao = :cursorData AND t.id < :cursorId))"
+            + " ORDER BY t.dataTransacao DESC, t.id DESC")
+    List<Transacao> findPaginaComoDestino(@Param("contaId") Long contaId, @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim, @Param("cursorData") LocalDateTime cursorData,
+            @Param("cursorId") Long cursorId, Limit limit);
+
+    // Histórico completo da conta em ordem cronológica, lido em blocos pelo cursor do banco.
+    // Deve ser consumido dentro de uma transação e fechado ao final.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new br.acc.bank.dto.conta.TransacaoExportacaoDTO(t.id, t.dataTransacao, t.tipo, t.valor, o.numero, d.numero)"
+            + " FROM Transacao t JOIN t.contaOrigem o LEFT JOIN t.contaDestino d"
+            + " WHERE o.id = :contaId OR d.id = :contaId"
+            + " ORDER BY t.dataTransacao, t.id")
+    Stream<TransacaoExportacaoDTO> streamExportacaoByContaId(@Param("contaId") Long contaId);
 }
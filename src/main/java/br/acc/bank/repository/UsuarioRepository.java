@@ -1,5 +1,7 @@
 package br.acc.bank.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import br.acc.bank.dto.usuario.ChaveUsuarioDTO;
+import br.acc.bank.dto.usuario.ConflitoUsuarioDTO;
 import br.acc.bank.model.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
@@ -18,4 +22,29 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     @Query("SELECT u.id FROM Usuario u WHERE u.login = :login")
     Optional<Long> findIdByLogin(@Param("login") String login);
+
+    @Query("SELECT u.login FROM Usuario u WHERE u.id = :id")
+    Optional<String> findLoginById(@Param("id") Long id);
+
+    // Usuários que já utilizam o email, o CPF ou o login, com o campo em conflito, em uma única consulta
+    @Query("SELECT new br.acc.bank.dto.usuario.ConflitoUsuarioDTO(u.id, "
+            + "CASE WHEN u.email = :email THEN true ELSE false END, "
+            + "CASE WHEN u.cpf = :cpf THEN true ELSE false END, "
+            + "CASE WHEN u.login = :login THEN true ELSE false END) "
+            + "FROM Usuario u WHERE u.email = :email OR u.cpf = :cpf OR u.login = :login")
+    List<ConflitoUsuarioDTO> findConflitos(@Param("email") String email, @Param("cpf") String cpf,
+            @Param("login") String login);
+
+    // Verifica se outro usuário, que não o de idIgnorado (null na criação), já utiliza o email, o CPF ou o login
+    default boolean existeConflito(String email, String cpf, String login, Long idIgnorado) {
+        return findConflitos(email, cpf, login).stream()
+                .anyMatch(conflito -> !conflito.getId().equals(idIgnorado));
+    }
+
+    // Campos únicos dos usuários que já utilizam algum dos emails, CPFs ou logins, em uma única consulta
+    // por lote (importação de clientes)
+    @Query("SELECT new br.acc.bank.dto.usuario.ChaveUsuarioDTO(u.email, u.cpf, u.login) FROM Usuario u "
+            + "WHERE u.email IN :emails OR u.cpf IN :cpfs OR u.login IN :logins")
+    List<ChaveUsuarioDTO> findChaves(@Param("emails") Collection<String> emails,
+            @Param("cpfs") Collection<String> cpfs, @Param("logins") Collection<String> logins);
 }
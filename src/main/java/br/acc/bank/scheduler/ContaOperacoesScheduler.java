@@ -1,6 +1,10 @@
 package br.acc.bank.scheduler;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -8,16 +12,35 @@ import br.acc.bank.service.ContaSchedulerService;
 
 @Component
 public class ContaOperacoesScheduler {
+    private static final Logger log = LoggerFactory.getLogger(ContaOperacoesScheduler.class);
 
     @Autowired
     private ContaSchedulerService schedulerService;
 
-    // Aplica as operações no primeiro dia de cada mês à meia-noite
+    // Aplica as operações no primeiro dia de cada mês à meia-noite. Dispara em todas as instâncias:
+    // os nós dividem entre si os lotes da execução (no modo SQL, só o detentor do lock a executa).
+    // Cada etapa é isolada: a falha de uma fica registrada como execução em andamento e não impede as demais
     @Scheduled(cron = "0 0 0 1 * ?")
     public void verificarDataAplicarOperacoes() {
+        // Conclui execuções de meses anteriores que tenham sido interrompidas
+        executar("retomada das execuções pendentes", schedulerService::retomarExecucoesPendentes);
         // Aplica juros em todas as contas POUPANCA
-        schedulerService.aplicarJurosMensal();
+        executar("juros mensal", schedulerService::aplicarJurosMensal);
         // Aplica taxas em todas as contas CORRENTE
-        schedulerService.aplicarTarifaMensal();
+        executar("tarifa mensal", schedulerService::aplicarTarifaMensal);
+    }
+
+    // Ao subir a aplicação, retoma as execuções interrompidas a partir do último lote confirmado
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarOperacoesInterrompidas() {
+        executar("retomada das execuções pendentes", schedulerService::retomarExecucoesPendentes);
+    }
+
+    private void executar(String etapa, Runnable operacao) {
+        try {
+            operacao.run();
+        } catch (Exception e) {
+            log.error("Falha na etapa '{}' das operações mensais; será retomada na próxima execução", etapa, e);
+        }
     }
 }
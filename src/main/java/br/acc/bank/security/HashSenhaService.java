@@ -0,0 +1,109 @@
+package br.acc.bank.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import br.acc.bank.exception.TooManyRequestsException;
+import br.acc.bank.util.Strings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Hash e verificação de senhas (BCrypt) em um pool próprio e limitado. O custo do BCrypt é CPU pura:
+// executado nas threads do Tomcat, uma rajada de logins ocupa todas elas e atrasa as demais
+// requisições. Aqui no máximo "threads" senhas são processadas ao mesmo tempo e "queue-size" aguardam;
+// além disso a requisição é recusada na hora com 429, sem ocupar uma thread do pool.
+@Service
+public class HashSenhaService {
+    private static final String METRICA = "bank.senha";
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.security.password.threads:2}")
+    private int quantidadeThreads;
+
+    @Value("${api.security.password.queue-size:50}")
+    private int tamanhoFila;
+
+    @Value("${api.security.password.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private Counter recusadas;
+
+    @PostConstruct
+    void init() {
+        // Fila zero: sem espera, somente as threads livres aceitam trabalho
+        BlockingQueue<Runnable> fila = tamanhoFila > 0 ? new ArrayBlockingQueue<>(tamanhoFila) : new SynchronousQueue<>();
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(quantidadeThreads, quantidadeThreads, 0, TimeUnit.MILLISECONDS, fila,
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        recusadas = meterRegistry.counter(METRICA + ".recusadas");
+        Gauge.builder(METRICA + ".fila", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRICA + ".ativas", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void destroy() {
+        executor.shutdownNow();
+    }
+
+    public String criptografar(String senha) {
+        return executar(() -> passwordEncoder.encode(senha));
+    }
+
+    // Executa uma tarefa que faz hash ou verificação de senha (ex.: AuthenticationManager.authenticate)
+    // no pool. Exceções da tarefa são relançadas como estão; fila cheia ou espera além do timeout
+    // resultam em TooManyRequestsException.
+    public <T> T executar(Callable<T> tarefa) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            throw new TooManyRequestsException(Strings.AUTH.ERROR_OVERLOAD);
+        }
+
+        try {
+            return resultado.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            recusadas.increment();
+            throw new TooManyRequestsException(Strings.AUTH.ERROR_OVERLOAD);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa)
+                throw causa;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
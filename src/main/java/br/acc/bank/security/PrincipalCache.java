@@ -0,0 +1,55 @@
+package br.acc.bank.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.acc.bank.repository.UsuarioRepository;
+import br.acc.bank.util.CacheExpiravel;
+import jakarta.annotation.PostConstruct;
+
+// Usuários autenticados por login, para que o SecurityFilter não consulte o banco a cada requisição.
+// A invalidação é local à instância; em outros nós a entrada expira pelo TTL.
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${api.security.principal-cache.max-size:10000}")
+    private int tamanhoMaximo;
+
+    @Value("${api.security.principal-cache.ttl-seconds:60}")
+    private long ttlSegundos;
+
+    private CacheExpiravel<String, UserDetails> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new CacheExpiravel<>(tamanhoMaximo, Duration.ofSeconds(ttlSegundos));
+    }
+
+    // Usuário do login, carregado do banco apenas quando não estiver em cache (null se não existir)
+    public UserDetails buscar(String login) {
+        return cache.get(login, usuarioRepository::findByLogin);
+    }
+
+    // Remove o login do cache. Dentro de uma transação, remove de novo após o commit, para que
+    // uma requisição concorrente não guarde os dados anteriores à alteração.
+    public void invalidar(String login) {
+        cache.invalidate(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(login);
+                }
+            });
+        }
+    }
+}
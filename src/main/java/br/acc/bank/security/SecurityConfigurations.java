@@ -1,6 +1,7 @@
 package br.acc.bank.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -20,6 +21,10 @@ public class SecurityConfigurations {
     @Autowired
     SecurityFilter securityFilter;
 
+    // Custo do BCrypt (log2 das rodadas): cada unidade a mais dobra o tempo de hash e verificação
+    @Value("${api.security.bcrypt.strength:10}")
+    private int custoBcrypt;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
@@ -38,17 +43,20 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.GET, "/cliente/meu-perfil").hasRole("USUARIO")
                         .requestMatchers(HttpMethod.GET, "/cliente/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/cliente").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/cliente/importar").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/cliente/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/cliente/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/agencia").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/agencia/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/agencia/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/conta/extrato").hasRole("USUARIO")
+                        .requestMatchers(HttpMethod.GET, "/conta/extrato/exportar").hasRole("USUARIO")
                         .requestMatchers(HttpMethod.GET, "/conta/minha-conta").hasRole("USUARIO")
                         .requestMatchers(HttpMethod.GET, "/conta/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/conta").hasRole("USUARIO")
                         .requestMatchers(HttpMethod.DELETE, "/conta/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/transacao/**").hasRole("USUARIO")
+                        .requestMatchers(HttpMethod.GET, "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
@@ -62,6 +70,6 @@ public class SecurityConfigurations {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(custoBcrypt);
     }
 }
@@ -8,25 +8,79 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
 
 import br.acc.bank.model.Usuario;
+import br.acc.bank.util.CacheExpiravel;
 import br.acc.bank.util.Strings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
 
 @Service
 public class TokenService {
+    private static final String ISSUER = "auth-api";
+    private static final String METRICA_CACHE = "bank.token.cache";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token-cache.max-size:10000}")
+    private int tamanhoCache;
+
+    @Value("${api.security.token-cache.ttl-seconds:600}")
+    private long ttlCacheSegundos;
+
+    private Clock relogio = Clock.systemUTC();
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    // Tokens já verificados, indexados pelo hash SHA-256 (o token em si não fica em memória)
+    private CacheExpiravel<String, TokenVerificado> tokensVerificados;
+
+    private Counter acertosCache;
+
+    private Counter falhasCache;
+
+    // Algoritmo e verificador são imutáveis e seguros entre threads: criados uma única vez
+    @PostConstruct
+    void init() {
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+
+        tokensVerificados = new CacheExpiravel<>(tamanhoCache, Duration.ofSeconds(ttlCacheSegundos));
+        acertosCache = meterRegistry.counter(METRICA_CACHE, "resultado", "hit");
+        falhasCache = meterRegistry.counter(METRICA_CACHE, "resultado", "miss");
+        Gauge.builder(METRICA_CACHE + ".tamanho", tokensVerificados, CacheExpiravel::size)
+                .register(meterRegistry);
+        Gauge.builder(METRICA_CACHE + ".hit.ratio", this, TokenService::taxaAcertosCache)
+                .register(meterRegistry);
+    }
+
     public String generateToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT.create()
-                    .withIssuer("auth-api")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getLogin())
                     .withClaim("userId", usuario.getId())
                     .withClaim("role", usuario.getRole().toString())
@@ -38,42 +92,57 @@ public class TokenService {
         }
     }
 
+    // Verifica o token uma única vez por requisição (no SecurityFilter); os controllers
+    // obtêm o login do usuário autenticado pelo contexto de segurança
     public String validateToken(String token) {
+        return verificar(token).map(TokenVerificado::login).orElse("");
+    }
+
+    // Verifica assinatura, emissor e expiração do token. Tokens repetidos são atendidos pelo
+    // cache até a sua expiração, sem refazer o HMAC nem o parse das claims.
+    // Tokens inválidos não são guardados.
+    public Optional<TokenVerificado> verificar(String token) {
+        String chave = hash(token);
+        TokenVerificado verificado = tokensVerificados.get(chave);
+        if (verificado != null) {
+            // Nunca devolve um token vencido, mesmo que a entrada ainda esteja no cache
+            if (verificado.expiraEm().isAfter(Instant.now(relogio))) {
+                acertosCache.increment();
+                return Optional.of(verificado);
+            }
+            tokensVerificados.invalidate(chave);
+        }
+        falhasCache.increment();
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT jwt = verifier.verify(token);
+            verificado = new TokenVerificado(jwt.getSubject(), jwt.getClaim("userId").asLong(),
+                    jwt.getClaim("role").asString(), jwt.getExpiresAtAsInstant());
+            // Sem expiração não há até quando confiar na entrada: o token é verificado sempre
+            if (verificado.expiraEm() != null)
+                tokensVerificados.put(chave, verificado);
+            return Optional.of(verificado);
         } catch (JWTVerificationException exception) {
-            return "";
+            return Optional.empty();
         }
     }
 
-    // Método para extrair o token do cabeçalho
-    public String extractTokenFromHeader(String header) {
-        if (header != null && header.startsWith("Bearer ")) {
-            return header.substring(7); // Remove "Bearer " do início do cabeçalho
-        }
-        throw new IllegalArgumentException(Strings.ERROR.INVALID_TOKEN_FORMAT);
+    private double taxaAcertosCache() {
+        double total = acertosCache.count() + falhasCache.count();
+        return total == 0 ? 0 : acertosCache.count() / total;
     }
 
-    // Método para obter o login do usuário a partir do token JWT
-    public String getUserLoginFromToken(String token) {
+    private static String hash(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build();
-            DecodedJWT decodedJWT = verifier.verify(token);
-            return decodedJWT.getSubject(); // Recuoera o campo "sub" do token
-        } catch (JWTVerificationException exception) {
-            throw new IllegalArgumentException(Strings.ERROR.INVALID_TOKEN);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(e);
         }
     }
 
     private Instant genExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package br.acc.bank.security;
+
+import java.time.Instant;
+
+// Dados de um JWT já verificado: login (subject), claims emitidas pelo TokenService e expiração
+public record TokenVerificado(String login, Long userId, String role, Instant expiraEm) {
+}
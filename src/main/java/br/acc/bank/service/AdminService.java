@@ -4,34 +4,59 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.exception.TooManyRequestsException;
+import br.acc.bank.exception.ValidationException;
 import br.acc.bank.model.Admin;
-import br.acc.bank.model.Usuario;
 import br.acc.bank.model.enums.UsuarioRole;
 import br.acc.bank.repository.AdminRepository;
 import br.acc.bank.repository.UsuarioRepository;
+import br.acc.bank.security.HashSenhaService;
+import br.acc.bank.security.PrincipalCache;
+import br.acc.bank.util.ConstraintUtils;
+import br.acc.bank.util.Paginacao;
 import br.acc.bank.util.Strings;
 
 @Service
 public class AdminService {
+    private static final List<String> CAMPOS_ORDENACAO = List.of("id", "nome", "cpf", "email", "login", "dataCadastro");
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private HashSenhaService hashSenhaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // false: modo rápido, sem a consulta de unicidade antes do INSERT/UPDATE
+    @Value("${api.usuario.unicidade.pre-verificar:true}")
+    private boolean preVerificarUnicidade;
+
     @Autowired
     private AdminRepository adminRepository;
 
-    // Listando todos os admins
-    public List<Admin> getAll() {
+    // Listando os admins paginados
+    public Slice<Admin> getAll(Pageable pageable, boolean contarTotal) {
         try {
-            return adminRepository.findAll();
+            Pageable pagina = Paginacao.normalizar(pageable, CAMPOS_ORDENACAO);
+            return Paginacao.comTotal(adminRepository.findAllBy(pagina), contarTotal, adminRepository::count);
+        } catch (ValidationException e) {
+            throw e;
         } catch (Exception e) {
             throw new RepositoryException(Strings.ADMIN.ERROR_FIND_ALL_LIST, e);
         }
@@ -54,83 +79,97 @@ public class AdminService {
     }
 
     // Criar um usuário do tipo Admin
-    @Transactional
+    // A senha é criptografada antes da transação: a espera no pool de hash não segura uma conexão do banco.
+    // Só o INSERT roda em transação
     public Admin create(Admin admin) {
         try {
-            Optional<Usuario> verificarEmailUsuario = usuarioRepository.findByEmail(admin.getEmail());
-            Optional<Usuario> verificarCpfUsuario = usuarioRepository.findByCpf(admin.getCpf());
-            UserDetails verificarLoginUsuario = usuarioRepository.findByLogin(admin.getLogin());
-
-            // Verificar se já existe um usuário com o mesmo email, CPF ou login
-            if (verificarEmailUsuario.isPresent() || verificarCpfUsuario.isPresent()
-                    || verificarLoginUsuario != null)
+            // Verificar se já existe um usuário com o mesmo email, CPF ou login. Sem a pré-verificação,
+            // o conflito é detectado pelas chaves únicas do banco no INSERT
+            if (preVerificarUnicidade && usuarioRepository.existeConflito(admin.getEmail(), admin.getCpf(),
+                    admin.getLogin(), null))
                 throw new ConflictException(Strings.USER.CONFLICT);
 
             // Criptografar a senha do usuário
-            String encryptedPassword = new BCryptPasswordEncoder().encode(admin.getPassword());
+            String encryptedPassword = hashSenhaService.criptografar(admin.getPassword());
             admin.setPassword(encryptedPassword);
             // Setar usuário como tipo admin
             admin.setRole(UsuarioRole.ADMIN);
 
-            return adminRepository.save(admin);
+            return new TransactionTemplate(transactionManager).execute(status -> adminRepository.saveAndFlush(admin));
         } catch (ConflictException e) {
             throw e;
+        } catch (TooManyRequestsException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            // Chave única violada: cadastro concorrente (ou sem pré-verificação) com o mesmo email, CPF ou login
+            if (ConstraintUtils.isUniqueViolation(e))
+                throw new ConflictException(Strings.USER.CONFLICT);
+            throw new RepositoryException(Strings.ADMIN.ERROR_CREATE, e);
         } catch (Exception e) {
             throw new RepositoryException(Strings.ADMIN.ERROR_CREATE, e);
         }
     }
 
     // Atualizar os dados de um Admin
-    @Transactional
+    // Como no cadastro, a nova senha é criptografada antes de abrir a transação
     public Admin update(Long id, Admin admin) {
         try {
-            Optional<Admin> adminModel = adminRepository.findById(id);
-
-            // Verificar se existe um admin pelo id
-            if (!adminModel.isPresent())
-                throw new NotFoundException(Strings.ADMIN.NOT_FOUND);
-
-            Optional<Usuario> verificarEmailUsuario = usuarioRepository.findByEmail(admin.getEmail());
-            Optional<Usuario> verificarCpfUsuario = usuarioRepository.findByCpf(admin.getCpf());
-            UserDetails verificarLoginUsuario = usuarioRepository.findByLogin(admin.getLogin());
-            Optional<Long> idUsuario = usuarioRepository.findIdByLogin(admin.getLogin());
-
-            // Verificar se já existe um usuário com o mesmo email, CPF ou login
-            // E se é o mesmo admin que deseja mudar esses campos
-            if ((verificarEmailUsuario.isPresent() && !verificarEmailUsuario.get().getId().equals(adminModel.get().getId())) ||
-                    (verificarCpfUsuario.isPresent() && !verificarCpfUsuario.get().getId().equals(adminModel.get().getId())) ||
-                    (verificarLoginUsuario != null && !idUsuario.get().equals(adminModel.get().getId())))
-                throw new ConflictException(Strings.USER.CONFLICT);
-
-            // Atualizando os campos do admin
-            Admin adminAtualizado = adminModel.get();
-            adminAtualizado.setNome(admin.getNome());
-            adminAtualizado.setCpf(admin.getCpf());
-            adminAtualizado.setTelefone(admin.getTelefone());
-            adminAtualizado.setDataNascimento(admin.getDataNascimento());
-            adminAtualizado.setEmail(admin.getEmail());
-            adminAtualizado.setLogin(admin.getLogin());
-            // Criptografar a nova senha do admin
-            String encryptedPassword = new BCryptPasswordEncoder().encode(admin.getPassword());
-            adminAtualizado.setPassword(encryptedPassword);
-
-            return adminRepository.save(adminAtualizado);
+            String encryptedPassword = hashSenhaService.criptografar(admin.getPassword());
+            return new TransactionTemplate(transactionManager)
+                    .execute(status -> atualizar(id, admin, encryptedPassword));
         } catch (NotFoundException e) {
             throw e;
         } catch (ConflictException e) {
             throw e;
+        } catch (TooManyRequestsException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintUtils.isUniqueViolation(e))
+                throw new ConflictException(Strings.USER.CONFLICT);
+            throw new RepositoryException(Strings.ADMIN.ERROR_UPDATE, e);
         } catch (Exception e) {
             throw new RepositoryException(Strings.ADMIN.ERROR_UPDATE, e);
         }
     }
 
+    private Admin atualizar(Long id, Admin admin, String encryptedPassword) {
+        Optional<Admin> adminModel = adminRepository.findById(id);
+
+        // Verificar se existe um admin pelo id
+        if (!adminModel.isPresent())
+            throw new NotFoundException(Strings.ADMIN.NOT_FOUND);
+
+        // Verificar se já existe outro usuário com o mesmo email, CPF ou login
+        if (preVerificarUnicidade && usuarioRepository.existeConflito(admin.getEmail(), admin.getCpf(),
+                admin.getLogin(), adminModel.get().getId()))
+            throw new ConflictException(Strings.USER.CONFLICT);
+
+        // Atualizando os campos do admin
+        Admin adminAtualizado = adminModel.get();
+        adminAtualizado.setNome(admin.getNome());
+        adminAtualizado.setCpf(admin.getCpf());
+        adminAtualizado.setTelefone(admin.getTelefone());
+        adminAtualizado.setDataNascimento(admin.getDataNascimento());
+        adminAtualizado.setEmail(admin.getEmail());
+        // O login antigo e o novo deixam de valer no cache de usuários autenticados
+        principalCache.invalidar(adminAtualizado.getLogin());
+        principalCache.invalidar(admin.getLogin());
+        adminAtualizado.setLogin(admin.getLogin());
+        adminAtualizado.setPassword(encryptedPassword);
+
+        return adminRepository.saveAndFlush(adminAtualizado);
+    }
+
     // Remover um Admin
     public void delete(Long id) {
         try {
             // Verificar se existe um admin pelo id
             if (adminRepository.existsById(id)) {
                 // Removendo admin pelo seu id
+                Optional<String> login = usuarioRepository.findLoginById(id);
                 adminRepository.deleteById(id);
+                // O usuário removido deixa de ser aceito nas próximas requisições
+                login.ifPresent(principalCache::invalidar);
             } else {
                 throw new NotFoundException(Strings.ADMIN.NOT_FOUND);
             }
@@ -4,19 +4,25 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.acc.bank.dto.agencia.AgenciaResumoDTO;
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.exception.ValidationException;
 import br.acc.bank.model.Agencia;
 import br.acc.bank.repository.AgenciaRepository;
 import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.util.Paginacao;
 import br.acc.bank.util.Strings;
 
 @Service
 public class AgenciaService {
+    private static final List<String> CAMPOS_ORDENACAO = List.of("id", "nome", "numero");
 
     @Autowired
     private AgenciaRepository agenciaRepository;
@@ -24,10 +30,13 @@ public class AgenciaService {
     @Autowired
     private ContaRepository contaRepository;
 
-    // Listar todas as agencias
-    public List<Agencia> getAll() {
+    // Listar as agencias paginadas
+    public Slice<AgenciaResumoDTO> getAll(Pageable pageable, boolean contarTotal) {
         try {
-            return agenciaRepository.findAll();
+            Pageable pagina = Paginacao.normalizar(pageable, CAMPOS_ORDENACAO);
+            return Paginacao.comTotal(agenciaRepository.findResumos(pagina), contarTotal, agenciaRepository::count);
+        } catch (ValidationException e) {
+            throw e;
         } catch (Exception e) {
             throw new RepositoryException(Strings.AGENCIA.ERROR_FIND_ALL_LIST, e);
         }
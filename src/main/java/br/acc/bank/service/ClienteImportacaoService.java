@@ -0,0 +1,425 @@
+package br.acc.bank.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import br.acc.bank.dto.cliente.ClienteRequestDTO;
+import br.acc.bank.dto.cliente.ImportacaoClienteResponseDTO;
+import br.acc.bank.dto.cliente.ResultadoImportacaoDTO;
+import br.acc.bank.dto.endereco.EnderecoRequestDTO;
+import br.acc.bank.dto.usuario.ChaveUsuarioDTO;
+import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.exception.TooManyRequestsException;
+import br.acc.bank.exception.ValidationException;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.FormatoImportacao;
+import br.acc.bank.model.enums.StatusImportacao;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.UsuarioRepository;
+import br.acc.bank.util.ConstraintUtils;
+import br.acc.bank.util.CsvUtils;
+import br.acc.bank.util.Strings;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+
+// Importação de clientes em massa (JSON array ou CSV). O arquivo é lido em streaming e processado em
+// lotes: validação, unicidade contra o próprio arquivo (conjuntos em memória) e contra o banco (uma
+// consulta por lote), hash das senhas em paralelo e INSERT em lote JDBC nas três tabelas. Cada lote é
+// confirmado em sua própria transação; um registro rejeitado não impede a importação dos demais.
+@Service
+public class ClienteImportacaoService {
+    private static final Logger log = LoggerFactory.getLogger(ClienteImportacaoService.class);
+
+    private static final List<String> COLUNAS_CLIENTE = List.of("nome", "cpf", "telefone", "dataNascimento",
+            "email", "login", "password");
+    private static final List<String> COLUNAS_ENDERECO = List.of("cep", "rua", "numero", "bairro", "cidade",
+            "estado", "pais");
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${api.cliente.importacao.lote:1000}")
+    private int tamanhoLote;
+
+    // 0: uma thread por processador
+    @Value("${api.cliente.importacao.hash-threads:0}")
+    private int threadsHash;
+
+    @Value("${api.cliente.importacao.simultaneas:1}")
+    private int importacoesSimultaneas;
+
+    private Semaphore importacoes;
+
+    private ExecutorService executorHash;
+
+    @PostConstruct
+    void init() {
+        importacoes = new Semaphore(importacoesSimultaneas);
+        int threads = threadsHash > 0 ? threadsHash : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        executorHash = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "importacao-hash-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void destroy() {
+        executorHash.shutdownNow();
+    }
+
+    public ImportacaoClienteResponseDTO importar(InputStream corpo, FormatoImportacao formato) {
+        // Limita as importações simultâneas: cada uma ocupa todas as threads de hash
+        if (!importacoes.tryAcquire())
+            throw new TooManyRequestsException(Strings.CLIENTE.ERROR_IMPORT_OVERLOAD);
+
+        try {
+            long inicio = System.nanoTime();
+            Importacao importacao = new Importacao();
+            if (formato == FormatoImportacao.CSV)
+                lerCsv(corpo, importacao);
+            else
+                lerJson(corpo, importacao);
+            importacao.processarLote();
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            long total = importacao.resultados.size();
+            ImportacaoClienteResponseDTO resposta = new ImportacaoClienteResponseDTO(total, importacao.importados,
+                    total - importacao.importados, duracaoMs, importacao.resultados);
+            log.info("Importação de clientes concluída: {} registros, {} importados, em {} ms ({} registros/s)",
+                    total, importacao.importados, duracaoMs, String.format(Locale.ROOT, "%.1f", resposta.getLinhasPorSegundo()));
+            return resposta;
+        } catch (ValidationException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException(Strings.CLIENTE.ERROR_IMPORT, e);
+        } catch (Exception e) {
+            throw new RepositoryException(Strings.CLIENTE.ERROR_IMPORT, e);
+        } finally {
+            importacoes.release();
+        }
+    }
+
+    // JSON: um array de ClienteRequestDTO, lido elemento a elemento. Um erro de sintaxe no meio do
+    // arquivo encerra a leitura; os registros anteriores seguem para a importação normalmente.
+    private void lerJson(InputStream corpo, Importacao importacao)
+            throws IOException, InterruptedException, ExecutionException {
+        try (JsonParser parser = objectMapper.createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new ValidationException(Strings.CLIENTE.ERROR_IMPORT_FILE,
+                        Map.of("arquivo", "O corpo deve ser um array JSON de clientes"));
+
+            long linha = 0;
+            try {
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                    if (token == null)
+                        throw new IOException("Fim inesperado do arquivo, array não encerrado");
+                    JsonNode registro = parser.readValueAsTree();
+                    importacao.adicionar(converter(++linha, registro));
+                }
+            } catch (IOException e) {
+                String mensagem = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+                importacao.adicionar(new Registro(linha + 1, null, Map.of("arquivo", "JSON malformado: " + mensagem)));
+            }
+        }
+    }
+
+    // CSV (UTF-8) com cabeçalho; as colunas podem vir em qualquer ordem:
+    // nome,cpf,telefone,dataNascimento,email,login,password,cep,rua,numero,bairro,cidade,estado,pais
+    private void lerCsv(InputStream corpo, Importacao importacao)
+            throws IOException, InterruptedException, ExecutionException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        String cabecalho = leitor.readLine();
+        if (cabecalho == null)
+            throw new ValidationException(Strings.CLIENTE.ERROR_IMPORT_FILE,
+                    Map.of("arquivo", "O CSV deve começar pelo cabeçalho"));
+        // Remove o BOM gravado por algumas planilhas
+        if (cabecalho.startsWith("\uFEFF"))
+            cabecalho = cabecalho.substring(1);
+
+        List<String> colunas = CsvUtils.splitLine(cabecalho).stream().map(String::trim).toList();
+        List<String> ausentes = new ArrayList<>(COLUNAS_CLIENTE);
+        ausentes.addAll(COLUNAS_ENDERECO);
+        ausentes.removeAll(colunas);
+        if (!ausentes.isEmpty())
+            throw new ValidationException(Strings.CLIENTE.ERROR_IMPORT_FILE,
+                    Map.of("arquivo", "Colunas ausentes no cabeçalho: " + ausentes));
+
+        long linha = 0;
+        for (String texto = leitor.readLine(); texto != null; texto = leitor.readLine()) {
+            if (texto.isBlank())
+                continue;
+            linha++;
+            List<String> campos = CsvUtils.splitLine(texto);
+            if (campos.size() != colunas.size()) {
+                importacao.adicionar(new Registro(linha, null,
+                        Map.of("registro", "Quantidade de colunas diferente do cabeçalho")));
+                continue;
+            }
+
+            // Monta o mesmo formato do JSON, com o endereço aninhado; campos vazios ficam nulos
+            ObjectNode registro = objectMapper.createObjectNode();
+            ObjectNode endereco = registro.putObject("endereco");
+            for (int i = 0; i < colunas.size(); i++) {
+                String valor = campos.get(i).isEmpty() ? null : campos.get(i);
+                if (COLUNAS_CLIENTE.contains(colunas.get(i)))
+                    registro.put(colunas.get(i), valor);
+                else if (COLUNAS_ENDERECO.contains(colunas.get(i)))
+                    endereco.put(colunas.get(i), valor);
+            }
+            importacao.adicionar(converter(linha, registro));
+        }
+    }
+
+    private Registro converter(long linha, JsonNode registro) {
+        try {
+            return new Registro(linha, objectMapper.treeToValue(registro, ClienteRequestDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Registro(linha, null, Map.of(campo(e), "Valor em formato inválido"));
+        }
+    }
+
+    // Caminho do campo que não pôde ser convertido, ex.: "dataNascimento" ou "endereco.cep"
+    private String campo(JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapeamento && !mapeamento.getPath().isEmpty())
+            return mapeamento.getPath().stream()
+                    .map(JsonMappingException.Reference::getFieldName)
+                    .filter(nome -> nome != null)
+                    .collect(Collectors.joining("."));
+        return "registro";
+    }
+
+    private Map<String, String> validar(ClienteRequestDTO cliente) {
+        Map<String, String> erros = new LinkedHashMap<>();
+        validator.validate(cliente).forEach(violacao -> erros.put(violacao.getPropertyPath().toString(), violacao.getMessage()));
+        return erros;
+    }
+
+    // Email e login comparados sem diferenciar maiúsculas, como na collation do banco
+    private static String chave(String valor) {
+        return valor.toLowerCase(Locale.ROOT);
+    }
+
+    private static Cliente criarCliente(ClienteRequestDTO dto, String senhaCriptografada) {
+        EnderecoRequestDTO endereco = dto.getEndereco();
+        return new Cliente(dto.getNome(), dto.getCpf(), dto.getDataNascimento(), dto.getTelefone(), dto.getEmail(),
+                dto.getLogin(), senhaCriptografada, new Endereco(null, endereco.getCep(), endereco.getRua(),
+                        endereco.getNumero(), endereco.getBairro(), endereco.getCidade(), endereco.getEstado(),
+                        endereco.getPais()));
+    }
+
+    // Registro lido do arquivo: o cliente convertido ou os erros de leitura
+    private record Registro(long linha, ClienteRequestDTO cliente, Map<String, String> erros) {
+    }
+
+    // Estado de uma importação: lote em andamento, chaves já aceitas no arquivo e resultados
+    private class Importacao {
+        private final List<Registro> lote = new ArrayList<>();
+        private final List<ResultadoImportacaoDTO> resultados = new ArrayList<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> cpfs = new HashSet<>();
+        private final Set<String> logins = new HashSet<>();
+        private long importados;
+
+        void adicionar(Registro registro) throws InterruptedException, ExecutionException {
+            lote.add(registro);
+            if (lote.size() >= tamanhoLote)
+                processarLote();
+        }
+
+        void processarLote() throws InterruptedException, ExecutionException {
+            if (lote.isEmpty())
+                return;
+
+            ResultadoImportacaoDTO[] doLote = new ResultadoImportacaoDTO[lote.size()];
+            List<Integer> candidatos = new ArrayList<>();
+            for (int i = 0; i < lote.size(); i++) {
+                Registro registro = lote.get(i);
+                Map<String, String> erros = registro.erros() != null ? registro.erros() : validar(registro.cliente());
+                if (!erros.isEmpty()) {
+                    doLote[i] = rejeitado(registro, StatusImportacao.INVALIDO, erros);
+                    continue;
+                }
+                Map<String, String> repetidos = repetidosNoArquivo(registro.cliente());
+                if (!repetidos.isEmpty()) {
+                    doLote[i] = rejeitado(registro, StatusImportacao.CONFLITO, repetidos);
+                    continue;
+                }
+                candidatos.add(i);
+            }
+
+            candidatos = semConflitoNoBanco(candidatos, doLote);
+            inserir(candidatos, criptografar(candidatos), doLote);
+
+            resultados.addAll(Arrays.asList(doLote));
+            lote.clear();
+        }
+
+        // A primeira ocorrência de cada email, CPF e login no arquivo é a que segue para a importação
+        private Map<String, String> repetidosNoArquivo(ClienteRequestDTO cliente) {
+            Map<String, String> erros = new LinkedHashMap<>();
+            if (emails.contains(chave(cliente.getEmail())))
+                erros.put("email", "E-mail repetido no arquivo");
+            if (cpfs.contains(cliente.getCpf()))
+                erros.put("cpf", "CPF repetido no arquivo");
+            if (logins.contains(chave(cliente.getLogin())))
+                erros.put("login", "Login repetido no arquivo");
+
+            if (erros.isEmpty()) {
+                emails.add(chave(cliente.getEmail()));
+                cpfs.add(cliente.getCpf());
+                logins.add(chave(cliente.getLogin()));
+            }
+            return erros;
+        }
+
+        // Uma consulta para o lote inteiro; devolve os candidatos sem conflito com usuários já cadastrados
+        private List<Integer> semConflitoNoBanco(List<Integer> candidatos, ResultadoImportacaoDTO[] doLote) {
+            if (candidatos.isEmpty())
+                return candidatos;
+
+            List<ClienteRequestDTO> clientes = candidatos.stream().map(i -> lote.get(i).cliente()).toList();
+            List<ChaveUsuarioDTO> existentes = usuarioRepository.findChaves(
+                    clientes.stream().map(ClienteRequestDTO::getEmail).toList(),
+                    clientes.stream().map(ClienteRequestDTO::getCpf).toList(),
+                    clientes.stream().map(ClienteRequestDTO::getLogin).toList());
+            if (existentes.isEmpty())
+                return candidatos;
+
+            Set<String> emailsExistentes = existentes.stream().map(u -> chave(u.getEmail())).collect(Collectors.toSet());
+            Set<String> cpfsExistentes = existentes.stream().map(ChaveUsuarioDTO::getCpf).collect(Collectors.toSet());
+            Set<String> loginsExistentes = existentes.stream().map(u -> chave(u.getLogin())).collect(Collectors.toSet());
+
+            List<Integer> semConflito = new ArrayList<>();
+            for (Integer i : candidatos) {
+                ClienteRequestDTO cliente = lote.get(i).cliente();
+                Map<String, String> erros = new LinkedHashMap<>();
+                if (emailsExistentes.contains(chave(cliente.getEmail())))
+                    erros.put("email", "E-mail já utilizado");
+                if (cpfsExistentes.contains(cliente.getCpf()))
+                    erros.put("cpf", "CPF já utilizado");
+                if (loginsExistentes.contains(chave(cliente.getLogin())))
+                    erros.put("login", "Login já utilizado");
+
+                if (erros.isEmpty())
+                    semConflito.add(i);
+                else
+                    doLote[i] = rejeitado(lote.get(i), StatusImportacao.CONFLITO, erros);
+            }
+            return semConflito;
+        }
+
+        // Hash das senhas do lote em paralelo, no pool da importação
+        private List<Cliente> criptografar(List<Integer> candidatos) throws InterruptedException, ExecutionException {
+            List<Callable<String>> tarefas = candidatos.stream()
+                    .map(i -> (Callable<String>) () -> passwordEncoder.encode(lote.get(i).cliente().getPassword()))
+                    .toList();
+            List<Future<String>> senhas = executorHash.invokeAll(tarefas);
+
+            List<Cliente> clientes = new ArrayList<>(candidatos.size());
+            for (int k = 0; k < candidatos.size(); k++)
+                clientes.add(criarCliente(lote.get(candidatos.get(k)).cliente(), senhas.get(k).get()));
+            return clientes;
+        }
+
+        private void inserir(List<Integer> candidatos, List<Cliente> clientes, ResultadoImportacaoDTO[] doLote) {
+            if (candidatos.isEmpty())
+                return;
+
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            try {
+                transactionTemplate.executeWithoutResult(status -> clienteRepository.inserirEmLote(clientes));
+                for (int k = 0; k < candidatos.size(); k++)
+                    doLote[candidatos.get(k)] = importado(lote.get(candidatos.get(k)), clientes.get(k));
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintUtils.isUniqueViolation(e))
+                    throw e;
+
+                // Outro cadastro usou a mesma chave entre a consulta e o INSERT: o lote foi desfeito
+                // e os clientes são inseridos um a um para identificar o registro em conflito
+                for (int k = 0; k < candidatos.size(); k++) {
+                    Cliente cliente = clientes.get(k);
+                    cliente.setId(null);
+                    cliente.getEndereco().setId(null);
+                    Registro registro = lote.get(candidatos.get(k));
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> clienteRepository.inserirEmLote(List.of(cliente)));
+                        doLote[candidatos.get(k)] = importado(registro, cliente);
+                    } catch (DataIntegrityViolationException conflito) {
+                        if (!ConstraintUtils.isUniqueViolation(conflito))
+                            throw conflito;
+                        doLote[candidatos.get(k)] = rejeitado(registro, StatusImportacao.CONFLITO,
+                                Map.of("usuario", Strings.CLIENTE.CONFLICT));
+                    }
+                }
+            }
+        }
+
+        private ResultadoImportacaoDTO importado(Registro registro, Cliente cliente) {
+            importados++;
+            return new ResultadoImportacaoDTO(registro.linha(), StatusImportacao.IMPORTADO, cliente.getId(),
+                    cliente.getLogin(), null);
+        }
+
+        private ResultadoImportacaoDTO rejeitado(Registro registro, StatusImportacao status, Map<String, String> erros) {
+            String login = registro.cliente() != null ? registro.cliente().getLogin() : null;
+            return new ResultadoImportacaoDTO(registro.linha(), status, null, login, erros);
+        }
+    }
+}
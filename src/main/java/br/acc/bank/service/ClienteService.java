@@ -4,38 +4,64 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.acc.bank.dto.cliente.ClienteResumoDTO;
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.exception.TooManyRequestsException;
+import br.acc.bank.exception.ValidationException;
 import br.acc.bank.model.Cliente;
-import br.acc.bank.model.Usuario;
 import br.acc.bank.model.enums.UsuarioRole;
 import br.acc.bank.repository.ClienteRepository;
 import br.acc.bank.repository.ContaRepository;
 import br.acc.bank.repository.UsuarioRepository;
+import br.acc.bank.security.HashSenhaService;
+import br.acc.bank.security.PrincipalCache;
+import br.acc.bank.util.ConstraintUtils;
+import br.acc.bank.util.Paginacao;
 import br.acc.bank.util.Strings;
 
 @Service
 public class ClienteService {
+    private static final List<String> CAMPOS_ORDENACAO = List.of("id", "nome", "cpf", "email", "login", "dataCadastro");
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private HashSenhaService hashSenhaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // false: modo rápido, sem a consulta de unicidade antes do INSERT/UPDATE
+    @Value("${api.usuario.unicidade.pre-verificar:true}")
+    private boolean preVerificarUnicidade;
+
     @Autowired
     private ClienteRepository clienteRepository;
 
     @Autowired
     private ContaRepository contaRepository;
 
-    // Listando todos os clientes
-    public List<Cliente> getAll() {
+    // Listando os clientes paginados
+    public Slice<ClienteResumoDTO> getAll(Pageable pageable, boolean contarTotal) {
         try {
-            return clienteRepository.findAll();
+            Pageable pagina = Paginacao.normalizar(pageable, CAMPOS_ORDENACAO);
+            return Paginacao.comTotal(clienteRepository.findResumos(pagina), contarTotal, clienteRepository::count);
+        } catch (ValidationException e) {
+            throw e;
         } catch (Exception e) {
             throw new RepositoryException(Strings.CLIENTE.ERROR_FIND_ALL_LIST, e);
         }
@@ -58,77 +84,88 @@ public class ClienteService {
     }
 
     // Criar um usuário do tipo CLiente
-    @Transactional
+    // A senha é criptografada antes da transação: a espera no pool de hash não segura uma conexão do banco.
+    // Só o INSERT roda em transação
     public Cliente create(Cliente cliente) {
         try {
-            Optional<Usuario> verificarEmailUsuario = usuarioRepository.findByEmail(cliente.getEmail());
-            Optional<Usuario> verificarCpfUsuario = usuarioRepository.findByCpf(cliente.getCpf());
-            UserDetails verificarLoginUsuario = usuarioRepository.findByLogin(cliente.getLogin());
-
-            // Verificar se já existe um usuário com o mesmo email, CPF ou login
-            if (verificarEmailUsuario.isPresent() || verificarCpfUsuario.isPresent()
-                    || verificarLoginUsuario != null)
+            // Verificar se já existe um usuário com o mesmo email, CPF ou login. Sem a pré-verificação,
+            // o conflito é detectado pelas chaves únicas do banco no INSERT
+            if (preVerificarUnicidade && usuarioRepository.existeConflito(cliente.getEmail(), cliente.getCpf(),
+                    cliente.getLogin(), null))
                 throw new ConflictException(Strings.USER.CONFLICT);
 
             // Criptografar a senha do usuário
-            String encryptedPassword = new BCryptPasswordEncoder().encode(cliente.getPassword());
+            String encryptedPassword = hashSenhaService.criptografar(cliente.getPassword());
             cliente.setPassword(encryptedPassword);
             // Setar usuário como tipo usuario
             cliente.setRole(UsuarioRole.USUARIO);
 
-            return clienteRepository.save(cliente);
+            return new TransactionTemplate(transactionManager).execute(status -> clienteRepository.saveAndFlush(cliente));
         } catch (ConflictException e) {
             throw e;
+        } catch (TooManyRequestsException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            // Chave única violada: cadastro concorrente (ou sem pré-verificação) com o mesmo email, CPF ou login
+            if (ConstraintUtils.isUniqueViolation(e))
+                throw new ConflictException(Strings.USER.CONFLICT);
+            throw new RepositoryException(Strings.CLIENTE.ERROR_CREATE, e);
         } catch (Exception e) {
             throw new RepositoryException(Strings.CLIENTE.ERROR_CREATE, e);
         }
     }
 
     // Atualizar os dados de um Cliente
-    @Transactional
+    // Como no cadastro, a nova senha é criptografada antes de abrir a transação
     public Cliente update(Long id, Cliente cliente) {
         try {
-            Optional<Cliente> clienteModel = clienteRepository.findById(id);
-
-            // Verificar se existe um cliente pelo id
-            if (!clienteModel.isPresent())
-                throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
-
-            Optional<Usuario> verificarEmailUsuario = usuarioRepository.findByEmail(cliente.getEmail());
-            Optional<Usuario> verificarCpfUsuario = usuarioRepository.findByCpf(cliente.getCpf());
-            UserDetails verificarLoginUsuario = usuarioRepository.findByLogin(cliente.getLogin());
-            Optional<Long> idUsuario = usuarioRepository.findIdByLogin(cliente.getLogin());
-
-            // Verificar se já existe um usuário com o mesmo email, CPF ou login
-            // E se é o mesmo cliente que deseja mudar esses campos
-            if ((verificarEmailUsuario.isPresent() && !verificarEmailUsuario.get().getId().equals(clienteModel.get().getId())) ||
-                    (verificarCpfUsuario.isPresent() && !verificarCpfUsuario.get().getId().equals(clienteModel.get().getId())) ||
-                    (verificarLoginUsuario != null && !idUsuario.get().equals(clienteModel.get().getId())))
-                throw new ConflictException(Strings.USER.CONFLICT);
-
-            // Atualizando os campos do cliente   
-            Cliente clienteAtualizado = clienteModel.get();
-            clienteAtualizado.setNome(cliente.getNome());
-            clienteAtualizado.setCpf(cliente.getCpf());
-            clienteAtualizado.setTelefone(cliente.getTelefone());
-            clienteAtualizado.setDataNascimento(cliente.getDataNascimento());
-            clienteAtualizado.setEmail(cliente.getEmail());
-            clienteAtualizado.setEndereco(cliente.getEndereco());
-            clienteAtualizado.setLogin(cliente.getLogin());
-            // Criptografar a nova senha do admin
-            String encryptedPassword = new BCryptPasswordEncoder().encode(cliente.getPassword());
-            clienteAtualizado.setPassword(encryptedPassword);
-
-            return clienteRepository.save(clienteAtualizado);
+            String encryptedPassword = hashSenhaService.criptografar(cliente.getPassword());
+            return new TransactionTemplate(transactionManager)
+                    .execute(status -> atualizar(id, cliente, encryptedPassword));
         } catch (NotFoundException e) {
             throw e;
         } catch (ConflictException e) {
             throw e;
+        } catch (TooManyRequestsException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintUtils.isUniqueViolation(e))
+                throw new ConflictException(Strings.USER.CONFLICT);
+            throw new RepositoryException(Strings.CLIENTE.ERROR_UPDATE, e);
         } catch (Exception e) {
             throw new RepositoryException(Strings.CLIENTE.ERROR_UPDATE, e);
         }
     }
 
+    private Cliente atualizar(Long id, Cliente cliente, String encryptedPassword) {
+        Optional<Cliente> clienteModel = clienteRepository.findById(id);
+
+        // Verificar se existe um cliente pelo id
+        if (!clienteModel.isPresent())
+            throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
+
+        // Verificar se já existe outro usuário com o mesmo email, CPF ou login
+        if (preVerificarUnicidade && usuarioRepository.existeConflito(cliente.getEmail(), cliente.getCpf(),
+                cliente.getLogin(), clienteModel.get().getId()))
+            throw new ConflictException(Strings.USER.CONFLICT);
+
+        // Atualizando os campos do cliente   
+        Cliente clienteAtualizado = clienteModel.get();
+        clienteAtualizado.setNome(cliente.getNome());
+        clienteAtualizado.setCpf(cliente.getCpf());
+        clienteAtualizado.setTelefone(cliente.getTelefone());
+        clienteAtualizado.setDataNascimento(cliente.getDataNascimento());
+        clienteAtualizado.setEmail(cliente.getEmail());
+        clienteAtualizado.setEndereco(cliente.getEndereco());
+        // O login antigo e o novo deixam de valer no cache de usuários autenticados
+        principalCache.invalidar(clienteAtualizado.getLogin());
+        principalCache.invalidar(cliente.getLogin());
+        clienteAtualizado.setLogin(cliente.getLogin());
+        clienteAtualizado.setPassword(encryptedPassword);
+
+        return clienteRepository.saveAndFlush(clienteAtualizado);
+    }
+
     // Remover um Cliente
     public void delete(Long id) {
         try {
@@ -139,7 +176,10 @@ public class ClienteService {
                     throw new ConflictException(Strings.CLIENTE.DELETE_CONFLICT);
                 }
                 // Removendo cliente pelo seu id
+                Optional<String> login = usuarioRepository.findLoginById(id);
                 clienteRepository.deleteById(id);
+                // O usuário removido deixa de ser aceito nas próximas requisições
+                login.ifPresent(principalCache::invalidar);
             } else {
                 throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
             }
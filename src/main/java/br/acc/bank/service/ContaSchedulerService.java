@@ -1,17 +1,51 @@
 package br.acc.bank.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import br.acc.bank.model.Conta;
+import br.acc.bank.dto.conta.SaldoContaDTO;
+import br.acc.bank.dto.scheduler.ResultadoProcessamentoDTO;
+import br.acc.bank.exception.ConflictException;
+import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.model.ExecucaoMensal;
+import br.acc.bank.model.LoteExecucaoMensal;
+import br.acc.bank.model.enums.ModoProcessamento;
+import br.acc.bank.model.enums.StatusExecucao;
 import br.acc.bank.model.enums.TipoConta;
+import br.acc.bank.model.enums.TipoTransacao;
 import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.ExecucaoMensalRepository;
+import br.acc.bank.repository.LoteExecucaoMensalRepository;
+import br.acc.bank.repository.TransacaoRepository;
+import br.acc.bank.util.ConstraintUtils;
+import br.acc.bank.util.Strings;
 
 @Service
 public class ContaSchedulerService {
+    private static final Logger log = LoggerFactory.getLogger(ContaSchedulerService.class);
+
     // Constante para representar 0.5% de juros
     private static final BigDecimal JUROS_MENSAL = BigDecimal.valueOf(0.005);
     // Constante para representar tarifa de R$ 20,00
@@ -20,29 +54,319 @@ public class ContaSchedulerService {
     @Autowired
     private ContaRepository contaRepository;
 
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ExecucaoMensalRepository execucaoMensalRepository;
+
+    @Autowired
+    private LoteExecucaoMensalRepository loteExecucaoMensalRepository;
+
+    @Autowired
+    private LockDistribuidoService lockDistribuidoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${api.scheduler.modo:LOTES}")
+    private ModoProcessamento modo;
+
+    @Value("${api.scheduler.batch.chunk-size:1000}")
+    private int tamanhoLote;
+
+    @Value("${api.scheduler.batch.workers:4}")
+    private int quantidadeWorkers;
+
+    @Value("${api.scheduler.lease-seconds:300}")
+    private long prazoConcessaoSegundos;
+
+    // Mesmo modo das requisições web: workers em threads virtuais quando o runtime é Java 21+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
     // Aplicar juros as contas poupança com saldo positivo
-    public void aplicarJurosMensal() {
-        List<Conta> contas = contaRepository.findAllByTipo(TipoConta.POUPANCA);
-
-        contas.stream()
-                .filter(conta -> conta.getSaldo().compareTo(BigDecimal.ZERO) > 0)
-                .forEach(conta -> {
-                    BigDecimal saldoAtual = conta.getSaldo();
-                    BigDecimal juros = saldoAtual.multiply(JUROS_MENSAL);
-                    conta.setSaldo(saldoAtual.add(juros));
-                    contaRepository.save(conta);
-                });
+    public ResultadoProcessamentoDTO aplicarJurosMensal() {
+        return aplicarJurosMensal(competenciaAtual());
+    }
+
+    public ResultadoProcessamentoDTO aplicarJurosMensal(LocalDate competencia) {
+        return executar(TipoTransacao.JUROS, competencia);
     }
 
     // Aplicar tarifas a todas contas correntes
-    public void aplicarTarifaMensal() {
-        List<Conta> contas = contaRepository.findAllByTipo(TipoConta.CORRENTE);
-
-        contas.stream()
-                .forEach(conta -> {
-                    BigDecimal saldoAtual = conta.getSaldo();
-                    conta.setSaldo(saldoAtual.subtract(TARIFA_MENSAL));
-                    contaRepository.save(conta);
+    public ResultadoProcessamentoDTO aplicarTarifaMensal() {
+        return aplicarTarifaMensal(competenciaAtual());
+    }
+
+    public ResultadoProcessamentoDTO aplicarTarifaMensal(LocalDate competencia) {
+        return executar(TipoTransacao.TARIFA, competencia);
+    }
+
+    // Retoma as execuções interrompidas (ex.: queda do nó no meio do processamento)
+    // a partir do último lote confirmado
+    public List<ResultadoProcessamentoDTO> retomarExecucoesPendentes() {
+        return execucaoMensalRepository.findAllByStatusOrderByIdAsc(StatusExecucao.EM_ANDAMENTO).stream()
+                .map(execucao -> executar(execucao.getOperacao(), execucao.getCompetencia()))
+                .toList();
+    }
+
+    private ResultadoProcessamentoDTO executar(TipoTransacao operacao, LocalDate competencia) {
+        long inicio = System.nanoTime();
+        Optional<ExecucaoMensal> existente = execucaoMensalRepository.findByOperacaoAndCompetencia(operacao,
+                competencia);
+
+        // Operação já aplicada nesta competência: nada a refazer
+        if (existente.isPresent() && existente.get().getStatus() == StatusExecucao.CONCLUIDA) {
+            log.info("Operação mensal '{}' da competência {} já concluída", operacao, competencia);
+            return new ResultadoProcessamentoDTO(operacao.name(), 0, 0);
+        }
+
+        // Uma execução interrompida é retomada no modo em que foi registrada: em lotes a partir dos
+        // checkpoints, ou no modo SQL refazendo a transação única, que foi desfeita por inteiro
+        ModoProcessamento modoExecucao = existente.map(ExecucaoMensal::getModo).orElse(modo);
+        if (modoExecucao == ModoProcessamento.SQL)
+            return processarEmConjuntoComLock(operacao, competencia, inicio);
+
+        ExecucaoMensal execucao = existente.orElseGet(() -> planejarExecucao(operacao, competencia));
+        return processarEmLotes(execucao, inicio);
+    }
+
+    // No modo SQL a operação não é divisível entre os nós: apenas o nó que obtiver o lock a executa
+    private ResultadoProcessamentoDTO processarEmConjuntoComLock(TipoTransacao operacao, LocalDate competencia,
+            long inicio) {
+        String nomeLock = "operacao-mensal-" + operacao.name();
+        if (!lockDistribuidoService.adquirir(nomeLock, prazoConcessao())) {
+            log.info("Operação mensal '{}' da competência {} em execução em outro nó", operacao, competencia);
+            return new ResultadoProcessamentoDTO(operacao.name(), 0, 0);
+        }
+
+        try {
+            // Outro nó pode ter concluído a operação antes de liberar o lock
+            Optional<ExecucaoMensal> existente = execucaoMensalRepository.findByOperacaoAndCompetencia(operacao,
+                    competencia);
+            if (existente.isPresent() && existente.get().getStatus() == StatusExecucao.CONCLUIDA)
+                return new ResultadoProcessamentoDTO(operacao.name(), 0, 0);
+
+            // Registrada antes das atualizações: se o nó cair ou a transação falhar, a execução fica
+            // EM_ANDAMENTO e é retomada por retomarExecucoesPendentes
+            ExecucaoMensal execucao = existente.orElseGet(() -> registrarExecucaoEmConjunto(operacao, competencia));
+            return processarEmConjunto(execucao, inicio);
+        } finally {
+            lockDistribuidoService.liberar(nomeLock);
+        }
+    }
+
+    private ExecucaoMensal registrarExecucaoEmConjunto(TipoTransacao operacao, LocalDate competencia) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        try {
+            return transactionTemplate.execute(status -> execucaoMensalRepository
+                    .saveAndFlush(new ExecucaoMensal(operacao, competencia, ModoProcessamento.SQL)));
+        } catch (Exception e) {
+            throw new RepositoryException(Strings.CONTA.ERROR_SCHEDULER, e);
+        }
+    }
+
+    // Executa a operação inteira no banco, em uma única transação: registro das transações
+    // com INSERT ... SELECT seguido de um UPDATE sobre as contas que receberam a transação
+    private ResultadoProcessamentoDTO processarEmConjunto(ExecucaoMensal execucao, long inicio) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TipoTransacao operacao = execucao.getOperacao();
+        LocalDate competencia = execucao.getCompetencia();
+
+        Integer processadas;
+        try {
+            processadas = transactionTemplate.execute(status -> {
+                int atualizadas;
+                if (operacao == TipoTransacao.JUROS) {
+                    transacaoRepository.registrarJurosPoupancas(JUROS_MENSAL, competencia);
+                    atualizadas = contaRepository.aplicarJurosPoupancas(competencia);
+                } else {
+                    transacaoRepository.registrarTarifaCorrentes(TARIFA_MENSAL, competencia);
+                    atualizadas = contaRepository.aplicarTarifaCorrentes(competencia);
+                }
+
+                // A execução é concluída na mesma transação das atualizações
+                execucaoMensalRepository.concluirExecucao(execucao.getId(), atualizadas, LocalDateTime.now());
+                return atualizadas;
+            });
+        } catch (Exception e) {
+            throw new RepositoryException(Strings.CONTA.ERROR_SCHEDULER, e);
+        }
+
+        return registrarResultado(operacao, processadas != null ? processadas : 0, inicio);
+    }
+
+    // Registra a execução e divide as contas do tipo em faixas de ids, cada uma com o seu checkpoint.
+    // Se outro nó planejou a mesma execução ao mesmo tempo, a chave única (operação, competência)
+    // rejeita esta e o nó passa a processar os lotes planejados pelo outro.
+    private ExecucaoMensal planejarExecucao(TipoTransacao operacao, LocalDate competencia) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TipoConta tipo = tipoContaDe(operacao);
+
+        try {
+            return transactionTemplate.execute(status -> {
+                ExecucaoMensal execucao = execucaoMensalRepository
+                        .saveAndFlush(new ExecucaoMensal(operacao, competencia, ModoProcessamento.LOTES));
+
+                Optional<Long> menorId = contaRepository.findMinIdByTipo(tipo);
+                Optional<Long> maiorId = contaRepository.findMaxIdByTipo(tipo);
+                if (menorId.isPresent() && maiorId.isPresent()) {
+                    List<LoteExecucaoMensal> lotes = new ArrayList<>();
+                    for (long faixa = menorId.get(); faixa <= maiorId.get(); faixa += tamanhoLote) {
+                        lotes.add(new LoteExecucaoMensal(execucao, faixa, faixa + tamanhoLote));
+                    }
+                    loteExecucaoMensalRepository.saveAll(lotes);
+                }
+                return execucao;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return execucaoMensalRepository.findByOperacaoAndCompetencia(operacao, competencia)
+                    .orElseThrow(() -> new RepositoryException(Strings.CONTA.ERROR_SCHEDULER, e));
+        } catch (Exception e) {
+            throw new RepositoryException(Strings.CONTA.ERROR_SCHEDULER, e);
+        }
+    }
+
+    // Cada worker assume e processa lotes disponíveis até não restar nenhum. Todos os nós disparam o
+    // agendamento, então os lotes de uma execução são divididos entre os workers de todos os nós.
+    // Cada worker é um dono próprio dos lotes (nó + índice): o checkpoint de um worker cujo prazo venceu
+    // é recusado mesmo quando o lote foi reassumido por outro worker do mesmo nó.
+    private ResultadoProcessamentoDTO processarEmLotes(ExecucaoMensal execucao, long inicio) {
+        String noId = lockDistribuidoService.getNoId();
+        long processadas = 0;
+
+        ExecutorService executor = criarExecutorWorkers();
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int i = 0; i < quantidadeWorkers; i++) {
+                String dono = noId + "-" + i;
+                workers.add(executor.submit(() -> processarLotesDisponiveis(execucao, dono)));
+            }
+            for (Future<Long> worker : workers) {
+                processadas += worker.get();
+            }
+        } catch (ExecutionException e) {
+            // Os lotes já confirmados ficam registrados; a próxima execução continua dos pendentes
+            throw new RepositoryException(Strings.CONTA.ERROR_SCHEDULER, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException(Strings.CONTA.ERROR_SCHEDULER, e);
+        } finally {
+            // Em caso de falha, os lotes ainda não iniciados são descartados
+            executor.shutdownNow();
+        }
+
+        // Lotes ainda em andamento em outros nós: o último nó a terminar encerra a execução
+        if (loteExecucaoMensalRepository.countByExecucaoIdAndStatusNot(execucao.getId(), StatusExecucao.CONCLUIDA) == 0) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> execucaoMensalRepository
+                    .concluirExecucao(execucao.getId(),
+                            loteExecucaoMensalRepository.sumContasProcessadasByExecucaoId(execucao.getId()),
+                            LocalDateTime.now()));
+        }
+
+        return registrarResultado(execucao.getOperacao(), processadas, inicio);
+    }
+
+    // A quantidade de workers continua limitada em ambos os modos: cada worker segura uma conexão do
+    // pool durante o lote. Com threads virtuais o worker bloqueado no JDBC libera a thread do sistema.
+    private ExecutorService criarExecutorWorkers() {
+        if (threadsVirtuais && Runtime.version().feature() >= 21)
+            return Executors.newFixedThreadPool(quantidadeWorkers,
+                    new VirtualThreadTaskExecutor("conta-scheduler-").getVirtualThreadFactory());
+        return Executors.newFixedThreadPool(quantidadeWorkers);
+    }
+
+    private long processarLotesDisponiveis(ExecucaoMensal execucao, String dono) {
+        long processadas = 0;
+        Optional<LoteExecucaoMensal> lote;
+        while ((lote = reivindicarLote(execucao, dono)).isPresent()) {
+            try {
+                processadas += processarLote(execucao, lote.get(), dono);
+            } catch (ConflictException e) {
+                // O prazo venceu e outro worker assumiu o lote: as alterações deste worker foram desfeitas
+                log.warn("Lote {} da execução {} assumido por outro worker", lote.get().getId(), execucao.getId());
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintUtils.isUniqueViolation(e))
+                    throw e;
+                // Outro worker que assumiu o lote já registrou a operação de alguma conta da faixa; a transação
+                // foi desfeita e as contas restantes ficam para o dono atual do lote ou para a próxima retomada
+                log.warn("Lote {} da execução {} já processado em parte por outro worker", lote.get().getId(),
+                        execucao.getId());
+            }
+        }
+        return processadas;
+    }
+
+    // Assume o próximo lote disponível da execução. Cada tentativa usa uma transação curta
+    // própria, para que a disputa entre nós não segure locks durante o processamento.
+    private Optional<LoteExecucaoMensal> reivindicarLote(ExecucaoMensal execucao, String dono) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<Long> disponiveis;
+        while (!(disponiveis = loteExecucaoMensalRepository.findIdsDisponiveisByExecucaoId(execucao.getId(),
+                LocalDateTime.now(), Limit.of(quantidadeWorkers))).isEmpty()) {
+            for (Long id : disponiveis) {
+                Integer reivindicado = transactionTemplate.execute(status -> {
+                    LocalDateTime agora = LocalDateTime.now();
+                    return loteExecucaoMensalRepository.reivindicarLote(id, dono, agora, agora.plus(prazoConcessao()));
                 });
+                if (reivindicado != null && reivindicado > 0)
+                    return loteExecucaoMensalRepository.findById(id);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Processa uma faixa de ids em uma transação própria: atualizações, registros e checkpoint
+    // do lote são confirmados juntos. Contas que já receberam a operação na competência são ignoradas.
+    private int processarLote(ExecucaoMensal execucao, LoteExecucaoMensal lote, String dono) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TipoTransacao operacao = execucao.getOperacao();
+
+        return transactionTemplate.execute(status -> {
+            Map<Long, BigDecimal> ajustes = new LinkedHashMap<>();
+            for (SaldoContaDTO conta : contaRepository.findSaldosPendentesByTipoAndIdRange(tipoContaDe(operacao),
+                    lote.getIdInicial(), lote.getIdFinal(), operacao, execucao.getCompetencia())) {
+                BigDecimal valor = calcularAjuste(operacao, conta.getSaldo());
+                if (valor != null)
+                    ajustes.put(conta.getId(), valor);
+            }
+            int processadas = contaRepository.ajustarSaldosEmLote(ajustes, operacao, execucao.getCompetencia());
+            // Checkpoint recusado: o lote não pertence mais a este nó e a transação é desfeita
+            if (loteExecucaoMensalRepository.concluirLote(lote.getId(), dono, processadas) == 0)
+                throw new ConflictException(Strings.CONTA.ERROR_SCHEDULER_LOTE);
+            return processadas;
+        });
+    }
+
+    // Valor a somar ao saldo da conta, ou null quando a operação não se aplica
+    private BigDecimal calcularAjuste(TipoTransacao operacao, BigDecimal saldo) {
+        if (operacao == TipoTransacao.JUROS)
+            return saldo.compareTo(BigDecimal.ZERO) > 0 ? saldo.multiply(JUROS_MENSAL) : null;
+        return TARIFA_MENSAL.negate();
+    }
+
+    private TipoConta tipoContaDe(TipoTransacao operacao) {
+        return operacao == TipoTransacao.JUROS ? TipoConta.POUPANCA : TipoConta.CORRENTE;
+    }
+
+    private Duration prazoConcessao() {
+        return Duration.ofSeconds(prazoConcessaoSegundos);
+    }
+
+    private LocalDate competenciaAtual() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+
+    // Registra no log a vazão da execução (contas por segundo)
+    private ResultadoProcessamentoDTO registrarResultado(TipoTransacao operacao, long processadas, long inicio) {
+        ResultadoProcessamentoDTO resultado = new ResultadoProcessamentoDTO(operacao.name(), processadas,
+                (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Operação mensal '{}' concluída: {} contas em {} ms ({} contas/s)", operacao,
+                resultado.getContasProcessadas(), resultado.getDuracaoMs(),
+                String.format("%.1f", resultado.getContasPorSegundo()));
+        return resultado;
     }
 }
@@ -1,34 +1,67 @@
 package br.acc.bank.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import br.acc.bank.dto.conta.ContaRequestDTO;
+import br.acc.bank.dto.conta.ContaResumoDTO;
+import br.acc.bank.dto.conta.TransacaoExportacaoDTO;
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.InvalidTypeException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.exception.ValidationException;
 import br.acc.bank.model.Agencia;
 import br.acc.bank.model.Cliente;
 import br.acc.bank.model.Conta;
 import br.acc.bank.model.ContaCorrente;
 import br.acc.bank.model.ContaPoupanca;
 import br.acc.bank.model.Transacao;
+import br.acc.bank.model.enums.FormatoExportacao;
 import br.acc.bank.model.enums.TipoConta;
 import br.acc.bank.repository.AgenciaRepository;
 import br.acc.bank.repository.ClienteRepository;
 import br.acc.bank.repository.ContaRepository;
 import br.acc.bank.repository.TransacaoRepository;
+import br.acc.bank.util.ExtratoCursor;
+import br.acc.bank.util.Paginacao;
 import br.acc.bank.util.Strings;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import jakarta.transaction.Transactional;
 
 @Service
 public class ContaService {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int EXTRATO_TAMANHO_PADRAO = 20;
+    private static final int EXTRATO_TAMANHO_MAXIMO = 100;
+    private static final LocalDateTime EXTRATO_DATA_MINIMA = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime EXTRATO_DATA_MAXIMA = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final List<String> CAMPOS_ORDENACAO = List.of("id", "numero", "saldo", "tipo");
 
     @Autowired
     private ContaRepository contaRepository;
@@ -42,18 +75,29 @@ public class ContaService {
     @Autowired
     private TransacaoRepository transacaoRepository;
 
-    // Listar todas as contas
-    public List<Conta> getAll(TipoConta tipo) {
+    @Autowired
+    private NumeroContaGerador numeroContaGerador;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Listar as contas paginadas
+    public Slice<ContaResumoDTO> getAll(TipoConta tipo, Pageable pageable, boolean contarTotal) {
         try {
+            Pageable pagina = Paginacao.normalizar(pageable, CAMPOS_ORDENACAO);
+
             // Se não passar o tipo como parametro
             // Trazer todas as contas cadastradas
             if (tipo == null) {
-                return contaRepository.findAll();
+                return Paginacao.comTotal(contaRepository.findResumos(pagina), contarTotal, contaRepository::count);
             } // Se passar o tipo como parametro, 
             // filtrar contas pelo seu tipo (CORRENTE OU POUPANCA) 
             else {
-                return contaRepository.findAllByTipo(tipo);
+                return Paginacao.comTotal(contaRepository.findResumosByTipo(tipo, pagina), contarTotal,
+                        () -> contaRepository.countByTipo(tipo));
             }
+        } catch (ValidationException e) {
+            throw e;
         } catch (Exception e) {
             throw new RepositoryException(Strings.CONTA.ERROR_FIND_ALL_LIST, e);
         }
@@ -75,9 +119,20 @@ public class ContaService {
         }
     }
 
-    // Criar uma conta
-    @Transactional
+    // Criar uma conta. O número é obtido antes de abrir a transação: quando o bloco de números acaba, a
+    // reserva do próximo usa outra conexão, que não pode ficar esperando enquanto esta segura uma do pool
     public Conta create(ContaRequestDTO conta, String userLoginByToken) {
+        Long numeroContaGerado;
+        try {
+            numeroContaGerado = numeroContaGerador.proximo();
+        } catch (Exception e) {
+            throw new RepositoryException(Strings.CONTA.ERROR_CREATE, e);
+        }
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> criarConta(conta, userLoginByToken, numeroContaGerado));
+    }
+
+    private Conta criarConta(ContaRequestDTO conta, String userLoginByToken, Long numeroContaGerado) {
         try {
             Optional<Agencia> agencia = agenciaRepository.findByNumero(conta.getNumeroDaAgencia());
             // Verificar se existe agencia
@@ -94,9 +149,6 @@ public class ContaService {
             if (existeConta) 
                 throw new ConflictException(Strings.CONTA.CONFLICT_ACCOUNT);
 
-            // Gerar código para a conta
-            Long numeroContaGerado = gerarNumeroConta();
-
             Conta savedConta;
             // Verificar o tipo informado para criar conta baseado eu seu tipo
             switch (conta.getTipo()) {
@@ -146,45 +198,143 @@ public class ContaService {
 
     // Gerar extrato com transações da conta
     @Transactional
-    public List<Transacao> getExtrato(String userLoginByToken) {
+    public Slice<Transacao> getExtrato(String userLoginByToken, LocalDate dataInicio, LocalDate dataFim,
+            String cursor, Integer tamanho) {
         try {
-            // Buscando cliente pelo login passado no token
-            Optional<Cliente> cliente = clienteRepository.findByLogin(userLoginByToken);
-            // Verifica se o cliente existe
-            if (!cliente.isPresent())
-                throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
-            
+            // Valida o período informado
+            if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim))
+                throw new ValidationException("Validação do(s) campo(s) falhou.",
+                        Map.of("dataInicio", Strings.CONTA.ERROR_INVALID_PERIOD));
+
+            // Buscando id do cliente pelo login passado no token
+            Long clienteId = clienteRepository.findIdByLogin(userLoginByToken)
+                    .orElseThrow(() -> new NotFoundException(Strings.CLIENTE.NOT_FOUND));
+
             // Verifica se a conta existe
-            Optional<Conta> conta = contaRepository.findByClienteId(cliente.get().getId());
-            if (!conta.isPresent()) {
-                throw new NotFoundException(Strings.CONTA.NOT_FOUND);
-            }
+            Long contaId = contaRepository.findIdByClienteId(clienteId)
+                    .orElseThrow(() -> new NotFoundException(Strings.CONTA.NOT_FOUND));
 
-            // Recupera todas as transações relacionadas a essa conta
-            List<Transacao> transacoes = transacaoRepository.findByContaId(conta.get().getId());
+            // Período em [inicio, fim), com limites abertos quando as datas não forem informadas
+            LocalDateTime inicio = dataInicio != null ? dataInicio.atStartOfDay() : EXTRATO_DATA_MINIMA;
+            LocalDateTime fim = dataFim != null ? dataFim.plusDays(1).atStartOfDay() : EXTRATO_DATA_MAXIMA;
 
-            // Ordena as transações por data
-            transacoes.sort(Comparator.comparing(Transacao::getDataTransacao).reversed());
+            // Sem cursor a busca começa do fim do período; com cursor, logo após a última transação entregue
+            ExtratoCursor posicao = cursor != null && !cursor.isBlank()
+                    ? ExtratoCursor.decode(cursor)
+                    : new ExtratoCursor(fim, 0L);
 
-            return transacoes;
-        } catch (NotFoundException e) {
+            int tamanhoPagina = tamanho == null || tamanho <= 0
+                    ? EXTRATO_TAMANHO_PADRAO
+                    : Math.min(tamanho, EXTRATO_TAMANHO_MAXIMO);
+            // Um item a mais indica se existe próxima página
+            Limit limite = Limit.of(tamanhoPagina + 1);
+
+            // Cada ramo percorre o seu índice (origem/destino) já ordenado e limitado pelo banco
+            List<Transacao> transacoes = new ArrayList<>(transacaoRepository.findPaginaComoOrigem(contaId, inicio, fim,
+                    posicao.dataTransacao(), posicao.id(), limite));
+            transacoes.addAll(transacaoRepository.findPaginaComoDestino(contaId, inicio, fim,
+                    posicao.dataTransacao(), posicao.id(), limite));
+
+            // Junta os dois ramos mantendo a ordem (dataTransacao, id) decrescente
+            transacoes.sort(Comparator.comparing(Transacao::getDataTransacao)
+                    .thenComparing(Transacao::getId).reversed());
+
+            boolean hasNext = transacoes.size() > tamanhoPagina;
+            List<Transacao> pagina = hasNext ? transacoes.subList(0, tamanhoPagina) : transacoes;
+
+            return new SliceImpl<>(pagina, PageRequest.of(0, tamanhoPagina), hasNext);
+        } catch (NotFoundException | ValidationException e) {
             throw e;
         } catch (Exception e) {
             throw new RepositoryException(Strings.CONTA.ERROR_EXTRACT, e);
         }
     }
 
+    // Id da conta a exportar. Resolvido antes da exportação para que um NotFound seja respondido
+    // antes de a resposta assumir o formato do arquivo
+    public Long buscarContaIdExtrato(String userLoginByToken) {
+        try {
+            // Buscando id do cliente pelo login passado no token
+            Long clienteId = clienteRepository.findIdByLogin(userLoginByToken)
+                    .orElseThrow(() -> new NotFoundException(Strings.CLIENTE.NOT_FOUND));
+
+            // Verifica se a conta existe
+            return contaRepository.findIdByClienteId(clienteId)
+                    .orElseThrow(() -> new NotFoundException(Strings.CONTA.NOT_FOUND));
+        } catch (NotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RepositoryException(Strings.CONTA.ERROR_EXPORT, e);
+        }
+    }
+
+    // Exporta o histórico completo da conta escrevendo linha a linha no outputStream,
+    // sem montar a lista em memória
+    @Transactional
+    public long exportarExtrato(Long contaId, FormatoExportacao formato, OutputStream outputStream) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            long linhas;
+            try (Stream<TransacaoExportacaoDTO> transacoes = transacaoRepository.streamExportacaoByContaId(contaId)) {
+                linhas = formato == FormatoExportacao.CSV
+                        ? escreverCsv(transacoes, writer)
+                        : escreverNdjson(transacoes, writer);
+            }
+            writer.flush();
+
+            return linhas;
+        } catch (Exception e) {
+            throw new RepositoryException(Strings.CONTA.ERROR_EXPORT, e);
+        }
+    }
+
+    private long escreverCsv(Stream<TransacaoExportacaoDTO> transacoes, Writer writer) throws IOException {
+        writer.write("id,dataTransacao,tipo,valor,contaOrigem,contaDestino\n");
+        long linhas = 0;
+        for (Iterator<TransacaoExportacaoDTO> it = transacoes.iterator(); it.hasNext(); linhas++) {
+            TransacaoExportacaoDTO transacao = it.next();
+            writer.write(transacao.getId() + "," + transacao.getDataTransacao() + "," + transacao.getTipo() + ","
+                    + transacao.getValor().toPlainString() + "," + transacao.getContaOrigem() + ","
+                    + (transacao.getContaDestino() != null ? transacao.getContaDestino() : "") + "\n");
+        }
+        return linhas;
+    }
+
+    private long escreverNdjson(Stream<TransacaoExportacaoDTO> transacoes, Writer writer) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(writer);
+        // Cada objeto termina com quebra de linha, inclusive o último
+        generator.setRootValueSeparator(null);
+        long linhas = 0;
+        for (Iterator<TransacaoExportacaoDTO> it = transacoes.iterator(); it.hasNext(); linhas++) {
+            TransacaoExportacaoDTO transacao = it.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", transacao.getId());
+            generator.writeStringField("dataTransacao", transacao.getDataTransacao().toString());
+            generator.writeStringField("tipo", transacao.getTipo().name());
+            generator.writeNumberField("valor", transacao.getValor());
+            generator.writeNumberField("contaOrigem", transacao.getContaOrigem());
+            if (transacao.getContaDestino() != null)
+                generator.writeNumberField("contaDestino", transacao.getContaDestino());
+            else
+                generator.writeNullField("contaDestino");
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return linhas;
+    }
+
     // Cliente visualizar os dados da sua conta
     public Optional<Conta> detailsConta(String userLoginByToken) {
         try {
-            // Buscando cliente pelo login passado no token
-            Optional<Cliente> cliente = clienteRepository.findByLogin(userLoginByToken);
+            // Buscando id do cliente pelo login passado no token
+            Optional<Long> clienteId = clienteRepository.findIdByLogin(userLoginByToken);
             // Verifica se o cliente existe
-            if (!cliente.isPresent())
+            if (!clienteId.isPresent())
                 throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
 
             // Verifica se a conta existe
-            Optional<Conta> conta = contaRepository.findByClienteId(cliente.get().getId());
+            Optional<Conta> conta = contaRepository.findByClienteId(clienteId.get());
             if (!conta.isPresent()) {
                 throw new NotFoundException(Strings.CONTA.NOT_FOUND);
             }
@@ -196,19 +346,4 @@ public class ContaService {
             throw new RepositoryException(Strings.CONTA.ERROR_DETAILS, e);
         }
     }
-
-    // Função auxiliar para gerar o número da conta
-    private Long gerarNumeroConta() {
-        Long numero;
-        do {
-            numero = digitosAleatorio();
-        } while (contaRepository.existsByNumero(numero));
-        return numero;
-    }
-
-    // Função auxiliar para gerar o digitos aleatórios
-    private Long digitosAleatorio() {
-        // Gerar um número aleatório de 6 dígitos entre 100.000 e 999.999
-        return 100_000L + (long) (Math.random() * 900_000);
-    }
 }
@@ -0,0 +1,75 @@
+package br.acc.bank.service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.acc.bank.model.LockDistribuido;
+import br.acc.bank.repository.LockDistribuidoRepository;
+
+// Locks com prazo (lease) guardados em tabela, para coordenar as instâncias da aplicação.
+// Funciona em qualquer banco (H2, MySQL) e não depende de conexão presa ao lock.
+@Service
+public class LockDistribuidoService {
+
+    @Autowired
+    private LockDistribuidoRepository lockDistribuidoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${api.scheduler.node-id:}")
+    private String noId;
+
+    // Identificador desta instância: configurado ou gerado a partir do hostname
+    public String getNoId() {
+        if (noId == null || noId.isBlank())
+            noId = gerarNoId();
+        return noId;
+    }
+
+    // Tenta obter (ou renovar) o lock pelo prazo informado; retorna false se outro nó o detém
+    public boolean adquirir(String nome, Duration duracao) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String dono = getNoId();
+
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                LocalDateTime agora = LocalDateTime.now();
+                if (lockDistribuidoRepository.renovar(nome, dono, agora, agora.plus(duracao)) > 0)
+                    return true;
+                if (lockDistribuidoRepository.existsById(nome))
+                    return false;
+
+                lockDistribuidoRepository.saveAndFlush(new LockDistribuido(nome, dono, agora.plus(duracao)));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Outro nó criou o lock ao mesmo tempo
+            return false;
+        }
+    }
+
+    public void liberar(String nome) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> lockDistribuidoRepository.liberar(nome, getNoId(), LocalDateTime.now()));
+    }
+
+    private static String gerarNoId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "no";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
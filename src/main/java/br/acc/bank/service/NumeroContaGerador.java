@@ -0,0 +1,138 @@
+package br.acc.bank.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.SequenciaIds;
+import br.acc.bank.util.PermutacaoFeistel;
+
+// Números de conta únicos sem consulta ao banco por conta criada. Um contador global (na tabela de
+// sequências) é reservado em blocos por nó; cada posição do contador passa por uma permutação de Feistel
+// do espaço de números, o que dá números sem ordem aparente e sem repetição entre nós.
+// O espaço começa nos números de 6 dígitos (100.000 a 999.999); esgotado, o contador segue para os de
+// 7 dígitos e assim por diante, sem reaproveitar nenhum número anterior.
+@Component
+public class NumeroContaGerador {
+    private static final Logger log = LoggerFactory.getLogger(NumeroContaGerador.class);
+
+    static final String SEQUENCIA = "numeros_conta";
+    static final int DIGITOS_INICIAIS = 6;
+    private static final int DIGITOS_MAXIMOS = 18;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Posições do contador reservadas por vez; as não usadas até o nó parar viram números nunca emitidos
+    @Value("${api.conta.numero.bloco:100}")
+    private int bloco;
+
+    // Chave da permutação. Trocar a chave com contas já criadas pode repetir números
+    @Value("${api.conta.numero.chave:0}")
+    private long chave;
+
+    // Números já reservados, entregues sob o monitor da própria fila, sem acesso ao banco
+    private final ArrayDeque<Long> disponiveis = new ArrayDeque<>();
+
+    // Uma reserva de bloco por vez; as demais threads aguardam aqui e não no monitor da fila
+    private final ReentrantLock reserva = new ReentrantLock();
+
+    // Uma permutação por quantidade de dígitos, criadas conforme o espaço é usado
+    private final PermutacaoFeistel[] permutacoes = new PermutacaoFeistel[DIGITOS_MAXIMOS + 1];
+
+    private int digitosEmUso = DIGITOS_INICIAIS;
+
+    // Deve ser chamado fora de transação: ao acabar o bloco, a reserva do próximo usa uma conexão própria
+    public Long proximo() {
+        while (true) {
+            synchronized (disponiveis) {
+                Long numero = disponiveis.poll();
+                if (numero != null)
+                    return numero;
+            }
+            reabastecer();
+        }
+    }
+
+    // Número da posição do contador (a partir de 0)
+    long numero(long posicao) {
+        long restante = posicao;
+        for (int digitos = DIGITOS_INICIAIS; digitos <= DIGITOS_MAXIMOS; digitos++) {
+            long menor = potenciaDeDez(digitos - 1);
+            long quantidade = 9 * menor;
+            if (restante < quantidade)
+                return menor + permutacao(digitos, quantidade).aplicar(restante);
+            restante -= quantidade;
+        }
+        throw new IllegalStateException("Números de conta esgotados");
+    }
+
+    private void reabastecer() {
+        reserva.lock();
+        try {
+            // Outra thread pode ter reservado um bloco enquanto esta aguardava
+            synchronized (disponiveis) {
+                if (!disponiveis.isEmpty())
+                    return;
+            }
+            List<Long> numeros = reservarBloco();
+            synchronized (disponiveis) {
+                disponiveis.addAll(numeros);
+            }
+        } finally {
+            reserva.unlock();
+        }
+    }
+
+    private List<Long> reservarBloco() {
+        long primeiro = SequenciaIds.reservar(jdbcTemplate, transactionManager, SEQUENCIA, bloco);
+
+        List<Long> numeros = new ArrayList<>(bloco);
+        for (long posicao = primeiro - 1; posicao < primeiro - 1 + bloco; posicao++)
+            numeros.add(numero(posicao));
+
+        int digitos = String.valueOf(numeros.get(numeros.size() - 1)).length();
+        if (digitos > digitosEmUso) {
+            digitosEmUso = digitos;
+            log.warn("Números de conta passaram a ter {} dígitos", digitos);
+        }
+
+        // Uma consulta por bloco descarta os números sorteados pelo gerador aleatório anterior
+        Set<Long> emUso = new HashSet<>(contaRepository.findNumerosEmUso(numeros));
+        numeros.removeIf(emUso::contains);
+        return numeros;
+    }
+
+    private PermutacaoFeistel permutacao(int digitos, long quantidade) {
+        synchronized (permutacoes) {
+            if (permutacoes[digitos] == null)
+                permutacoes[digitos] = new PermutacaoFeistel(quantidade, chave + digitos);
+            return permutacoes[digitos];
+        }
+    }
+
+    private static long potenciaDeDez(int expoente) {
+        long valor = 1;
+        for (int i = 0; i < expoente; i++)
+            valor *= 10;
+        return valor;
+    }
+}
@@ -13,7 +13,6 @@ import br.acc.bank.exception.InsufficientBalanceException;
 import br.acc.bank.exception.InvalidNumericValueException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
-import br.acc.bank.model.Cliente;
 import br.acc.bank.model.Conta;
 import br.acc.bank.model.Transacao;
 import br.acc.bank.model.enums.TipoTransacao;
@@ -35,7 +34,8 @@ public class TransacaoService {
     @Autowired
     private ClienteRepository clienteRepository;
 
-    // Realizar depósito em uma conta
+    // Realizar depósito em uma conta. O saldo muda em um único UPDATE atômico, sem conflito de versão
+    // possível, então não há retentativa
     @Transactional
     public Transacao deposit(TransacaoRequestDTO transacao, String userLoginByToken) {
         try {
@@ -43,28 +43,24 @@ public class TransacaoService {
             if (transacao.getValor() == null || transacao.getValor().compareTo(BigDecimal.ZERO) <= 0) {
                 throw new InvalidNumericValueException(Strings.TRANSACAO.INVALID_TRANSACTION_VALUE);
             }
-            // Buscando cliente pelo login passado no token
-            Optional<Cliente> cliente = clienteRepository.findByLogin(userLoginByToken);
+            // Buscando id do cliente pelo login passado no token
+            Optional<Long> clienteId = clienteRepository.findIdByLogin(userLoginByToken);
             // Verifica se o cliente existe
-            if (!cliente.isPresent())
+            if (!clienteId.isPresent())
                 throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
 
-            // Buscando conta pelo id do cliente
-            Optional<Conta> contaOrigem = contaRepository.findByClienteId(cliente.get().getId());
+            // Buscando id da conta pelo id do cliente
+            Optional<Long> contaId = contaRepository.findIdByClienteId(clienteId.get());
             // Verificar se conta existe
-            if (!contaOrigem.isPresent())
+            if (!contaId.isPresent())
                 throw new NotFoundException(Strings.TRANSACAO.NOT_FOUND_ORIGIN);
 
-            // Pegando os dados da conta
-            Conta conta = contaOrigem.get();
-            // Realizando deposito junto ao saldo da conta
-            BigDecimal novoSaldo = conta.getSaldo().add(transacao.getValor());
-            conta.setSaldo(novoSaldo);
+            // Realizando deposito diretamente no banco (saldo = saldo + valor)
+            contaRepository.creditarSaldo(contaId.get(), transacao.getValor());
 
-            contaRepository.save(conta);
             // Criando transação como do tipo DEPOSITO
             Transacao savedTransacao = new Transacao(transacao.getValor(),
-                    TipoTransacao.DEPOSITO, conta);
+                    TipoTransacao.DEPOSITO, buscarContaComCliente(contaId.get()));
 
             return transacaoRepository.save(savedTransacao);
         } catch (InvalidNumericValueException e) {
@@ -76,7 +72,7 @@ public class TransacaoService {
         }
     }
 
-    // Realizar saque em uma conta
+    // Realizar saque em uma conta, também por UPDATE atômico condicionado ao saldo
     @Transactional
     public Transacao withdraw(TransacaoRequestDTO transacao, String userLoginByToken) {
         try {
@@ -84,32 +80,27 @@ public class TransacaoService {
             if (transacao.getValor() == null || transacao.getValor().compareTo(BigDecimal.ZERO) <= 0) {
                 throw new InvalidNumericValueException(Strings.TRANSACAO.INVALID_TRANSACTION_VALUE);
             }
-            // Buscando cliente pelo login passado no token
-            Optional<Cliente> cliente = clienteRepository.findByLogin(userLoginByToken);
+            // Buscando id do cliente pelo login passado no token
+            Optional<Long> clienteId = clienteRepository.findIdByLogin(userLoginByToken);
             // Verifica se o cliente existe
-            if (!cliente.isPresent())
+            if (!clienteId.isPresent())
                 throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
 
-            // Buscando conta pelo id do cliente
-            Optional<Conta> contaOrigem = contaRepository.findByClienteId(cliente.get().getId());
+            // Buscando id da conta pelo id do cliente
+            Optional<Long> contaId = contaRepository.findIdByClienteId(clienteId.get());
             // Verificar se conta existe
-            if (!contaOrigem.isPresent())
+            if (!contaId.isPresent())
                 throw new NotFoundException(Strings.TRANSACAO.NOT_FOUND_ORIGIN);
-            
-            // Pegando os dados da conta
-            Conta conta = contaOrigem.get();
-            // Verificando se a conta possui saldo suficiente para o saque
-            if (conta.getSaldo().compareTo(transacao.getValor()) < 0) {
+
+            // Realizando saque diretamente no banco (saldo = saldo - valor),
+            // somente se a conta possuir saldo suficiente
+            if (contaRepository.debitarSaldo(contaId.get(), transacao.getValor()) == 0) {
                 throw new InsufficientBalanceException(Strings.TRANSACAO.INSUFFICIENT_BALANCE);
             }
-            // Realizando saque junto ao saldo da conta
-            BigDecimal novoSaldo = conta.getSaldo().subtract(transacao.getValor());
-            conta.setSaldo(novoSaldo);
 
-            contaRepository.save(conta);
             // Criando transação como do tipo SAQUE
             Transacao savedTransacao = new Transacao(transacao.getValor(),
-                    TipoTransacao.SAQUE, conta);
+                    TipoTransacao.SAQUE, buscarContaComCliente(contaId.get()));
 
             return transacaoRepository.save(savedTransacao);
         } catch (InvalidNumericValueException e) {
@@ -131,36 +122,45 @@ public class TransacaoService {
             if (transacao.getValor() == null || transacao.getValor().compareTo(BigDecimal.ZERO) <= 0) {
                 throw new InvalidNumericValueException(Strings.TRANSACAO.INVALID_TRANSACTION_VALUE);
             }
-            // Buscando cliente pelo login passado no token
-            Optional<Cliente> cliente = clienteRepository.findByLogin(userLoginByToken);
+            // Buscando id do cliente pelo login passado no token
+            Optional<Long> clienteId = clienteRepository.findIdByLogin(userLoginByToken);
             // Verifica se o cliente existe
-            if (!cliente.isPresent())
+            if (!clienteId.isPresent())
                 throw new NotFoundException(Strings.CLIENTE.NOT_FOUND);
             
-            // Buscando conta origem pelo id do cliente
-            Optional<Conta> contaOrigem = contaRepository.findByClienteId(cliente.get().getId());
+            // Buscando id da conta origem pelo id do cliente
+            Optional<Long> contaOrigemId = contaRepository.findIdByClienteId(clienteId.get());
             // Verificar se conta origem existe
-            if (!contaOrigem.isPresent())
+            if (!contaOrigemId.isPresent())
                 throw new NotFoundException(Strings.TRANSACAO.NOT_FOUND_ORIGIN);
 
-            // Buscando conta destino pelo número da conta
-            Optional<Conta> contaDestino = contaRepository.findByNumero(transacao.getNumeroContaDestino());
+            // Buscando id da conta destino pelo número da conta
+            Optional<Long> contaDestinoId = contaRepository.findIdByNumero(transacao.getNumeroContaDestino());
             // Verificar se conta destino existe
-            if (!contaDestino.isPresent())
+            if (!contaDestinoId.isPresent())
                 throw new NotFoundException(Strings.TRANSACAO.NOT_FOUND_DESTINATION);
 
             // Verificar se conta origem e conta destino são as mesmas
-            boolean contaOrigemIgualContaDestino = contaOrigem.get().getNumero() == contaDestino.get().getNumero();
-            if (contaOrigemIgualContaDestino)
+            if (contaOrigemId.get().equals(contaDestinoId.get()))
                 throw new ConflictException(Strings.TRANSACAO.CONFLICT);
 
-            Conta contaOrigemTransacao = contaOrigem.get();
-            // Verificando se a conta de origem possui saldo para a transferencia
+            // Bloqueando as duas contas sempre na ordem crescente de id,
+            // evitando deadlock entre transferências simultâneas em sentidos opostos
+            Conta contaOrigemTransacao;
+            Conta contaDestinoTransacao;
+            if (contaOrigemId.get() < contaDestinoId.get()) {
+                contaOrigemTransacao = bloquearConta(contaOrigemId.get(), Strings.TRANSACAO.NOT_FOUND_ORIGIN);
+                contaDestinoTransacao = bloquearConta(contaDestinoId.get(), Strings.TRANSACAO.NOT_FOUND_DESTINATION);
+            } else {
+                contaDestinoTransacao = bloquearConta(contaDestinoId.get(), Strings.TRANSACAO.NOT_FOUND_DESTINATION);
+                contaOrigemTransacao = bloquearConta(contaOrigemId.get(), Strings.TRANSACAO.NOT_FOUND_ORIGIN);
+            }
+
+            // Verificando, já com a conta bloqueada, se a conta de origem possui saldo para a transferencia
             if (contaOrigemTransacao.getSaldo().compareTo(transacao.getValor()) < 0) {
                 throw new InsufficientBalanceException(Strings.TRANSACAO.INSUFFICIENT_BALANCE);
             }
-            
-            Conta contaDestinoTransacao = contaDestino.get();
+
             // Realizando o decréscimo no saldo da conta de origem
             BigDecimal novoSaldoContaOrigem = contaOrigemTransacao.getSaldo().subtract(transacao.getValor());
             contaOrigemTransacao.setSaldo(novoSaldoContaOrigem);
@@ -190,4 +190,16 @@ public class TransacaoService {
             throw new RepositoryException(Strings.TRANSACAO.ERROR_CREATE, e);
         }
     }
+
+    // Função auxiliar para buscar a conta já com o cliente exibido na resposta da transação
+    private Conta buscarContaComCliente(Long contaId) {
+        return contaRepository.findComClienteById(contaId)
+                .orElseThrow(() -> new NotFoundException(Strings.TRANSACAO.NOT_FOUND_ORIGIN));
+    }
+
+    // Função auxiliar para buscar a conta com bloqueio pessimista de escrita
+    private Conta bloquearConta(Long contaId, String mensagemNaoEncontrada) {
+        return contaRepository.findByIdForUpdate(contaId)
+                .orElseThrow(() -> new NotFoundException(mensagemNaoEncontrada));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package br.acc.bank.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Cache em memória com tamanho máximo e expiração por tempo de escrita.
+// Ao atingir o limite, as entradas usadas há mais tempo são descartadas primeiro (LRU).
+public class CacheExpiravel<K, V> {
+
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+    private final Map<K, Entrada<V>> entradas;
+
+    public CacheExpiravel(int tamanhoMaximo, Duration ttl) {
+        this(tamanhoMaximo, ttl, System::nanoTime);
+    }
+
+    // Relógio (em nanossegundos) configurável para testes
+    CacheExpiravel(int tamanhoMaximo, Duration ttl, LongSupplier relogio) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttl.toNanos();
+        this.relogio = relogio;
+        // Ordem de acesso: cada leitura ou escrita leva a entrada para o fim da ordem de descarte
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                return size() > CacheExpiravel.this.tamanhoMaximo;
+            }
+        };
+    }
+
+    public synchronized V get(K chave) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada == null)
+            return null;
+        if (relogio.getAsLong() - entrada.criadaEm() >= ttlNanos) {
+            entradas.remove(chave);
+            return null;
+        }
+        return entrada.valor();
+    }
+
+    public synchronized void put(K chave, V valor) {
+        entradas.put(chave, new Entrada<>(valor, relogio.getAsLong()));
+    }
+
+    // Retorna o valor em cache ou o carrega; valores nulos não são guardados.
+    // O carregamento é feito fora do lock, então chamadas simultâneas podem carregar a mesma chave.
+    public V get(K chave, Function<K, V> carregar) {
+        V valor = get(chave);
+        if (valor != null)
+            return valor;
+        valor = carregar.apply(chave);
+        if (valor != null)
+            put(chave, valor);
+        return valor;
+    }
+
+    public synchronized void invalidate(K chave) {
+        entradas.remove(chave);
+    }
+
+    public synchronized void invalidateAll() {
+        entradas.clear();
+    }
+
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    private record Entrada<V>(V valor, long criadaEm) {
+    }
+}
@@ -0,0 +1,30 @@
+package br.acc.bank.util;
+
+import java.sql.SQLException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+public class ConstraintUtils {
+
+    // SQLState padrão de violação de chave única (H2, PostgreSQL) e código de erro do MySQL
+    private static final String SQL_STATE_UNIQUE = "23505";
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
+    // Verifica se a violação de integridade é de uma chave única (ex.: email, CPF ou login já utilizados),
+    // e não de uma chave estrangeira ou coluna obrigatória
+    public static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException)
+            return true;
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao
+                    && violacao.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE)
+                return true;
+            if (causa instanceof SQLException sql
+                    && (SQL_STATE_UNIQUE.equals(sql.getSQLState()) || sql.getErrorCode() == MYSQL_DUPLICATE_ENTRY))
+                return true;
+        }
+        return false;
+    }
+}
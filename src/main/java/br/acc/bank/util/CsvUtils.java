@@ -0,0 +1,37 @@
+package br.acc.bank.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvUtils {
+
+    // Divide uma linha CSV (RFC 4180) em campos: separador vírgula, campos entre aspas podem conter
+    // vírgulas e aspas duplicadas (""); quebras de linha dentro de um campo não são suportadas
+    public static List<String> splitLine(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
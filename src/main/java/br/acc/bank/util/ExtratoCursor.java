@@ -0,0 +1,36 @@
+package br.acc.bank.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+import br.acc.bank.exception.ValidationException;
+import br.acc.bank.model.Transacao;
+
+// Posição opaca de paginação do extrato: (dataTransacao, id) da última transação da página
+public record ExtratoCursor(LocalDateTime dataTransacao, Long id) {
+
+    private static final String SEPARADOR = "_";
+
+    public static ExtratoCursor of(Transacao transacao) {
+        return new ExtratoCursor(transacao.getDataTransacao(), transacao.getId());
+    }
+
+    public String encode() {
+        String valor = dataTransacao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExtratoCursor decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new ExtratoCursor(LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Validação do(s) campo(s) falhou.",
+                    Map.of("cursor", Strings.CONTA.ERROR_INVALID_CURSOR));
+        }
+    }
+}
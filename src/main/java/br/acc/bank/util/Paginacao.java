@@ -0,0 +1,51 @@
+package br.acc.bank.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import br.acc.bank.exception.ValidationException;
+
+// Regras comuns das listagens paginadas
+public final class Paginacao {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String ID = "id";
+
+    private Paginacao() {
+    }
+
+    // Limita o tamanho da página e aceita ordenação apenas pelos campos informados.
+    // O id entra sempre como último critério, para a ordem ser estável entre as páginas.
+    public static Pageable normalizar(Pageable pageable, List<String> camposOrdenacao) {
+        int pagina = pageable.isPaged() ? pageable.getPageNumber() : 0;
+        int tamanho = pageable.isPaged() ? Math.min(pageable.getPageSize(), TAMANHO_MAXIMO) : TAMANHO_PADRAO;
+
+        Sort ordenacao = pageable.getSort();
+        for (Sort.Order ordem : ordenacao) {
+            if (!camposOrdenacao.contains(ordem.getProperty()))
+                throw new ValidationException("Validação do(s) campo(s) falhou.",
+                        Map.of("sort", Strings.ERROR.INVALID_SORT + camposOrdenacao));
+        }
+        if (ordenacao.getOrderFor(ID) == null)
+            ordenacao = ordenacao.and(Sort.by(ID));
+
+        return PageRequest.of(pagina, tamanho, ordenacao);
+    }
+
+    // Sem total a fatia só sabe se há próxima página (sem COUNT(*)); com total, a contagem
+    // é feita à parte e a fatia vira uma Page
+    public static <T> Slice<T> comTotal(Slice<T> fatia, boolean contarTotal, LongSupplier contagem) {
+        if (!contarTotal)
+            return fatia;
+        return new PageImpl<>(fatia.getContent(), fatia.getPageable(), contagem.getAsLong());
+    }
+}
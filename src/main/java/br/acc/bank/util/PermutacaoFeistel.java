@@ -0,0 +1,63 @@
+package br.acc.bank.util;
+
+// Permutação pseudoaleatória de [0, tamanho): cada valor é levado a um único outro valor do mesmo
+// intervalo. Rede de Feistel sobre a grade lado x lado (lado² >= tamanho); resultados fora do intervalo
+// voltam à rede até cair dentro dele (cycle-walking), o que preserva a bijeção.
+public final class PermutacaoFeistel {
+    private static final int RODADAS = 4;
+
+    private final long tamanho;
+    private final long lado;
+    private final long[] chaves = new long[RODADAS];
+
+    public PermutacaoFeistel(long tamanho, long chave) {
+        if (tamanho < 1 || tamanho > 1L << 62)
+            throw new IllegalArgumentException("Tamanho da permutação fora do intervalo: " + tamanho);
+        this.tamanho = tamanho;
+
+        long raiz = (long) Math.sqrt((double) tamanho);
+        while (raiz * raiz < tamanho)
+            raiz++;
+        this.lado = raiz;
+
+        // Uma chave por rodada, derivada da chave informada
+        long semente = chave;
+        for (int i = 0; i < RODADAS; i++) {
+            semente += 0x9E3779B97F4A7C15L;
+            chaves[i] = misturar(semente);
+        }
+    }
+
+    public long tamanho() {
+        return tamanho;
+    }
+
+    public long aplicar(long valor) {
+        if (valor < 0 || valor >= tamanho)
+            throw new IllegalArgumentException("Valor fora da permutação: " + valor);
+        long resultado = valor;
+        do {
+            resultado = rodadas(resultado);
+        } while (resultado >= tamanho);
+        return resultado;
+    }
+
+    private long rodadas(long valor) {
+        long esquerda = valor / lado;
+        long direita = valor % lado;
+        for (long chave : chaves) {
+            long nova = Math.floorMod(esquerda + misturar(direita ^ chave), lado);
+            esquerda = direita;
+            direita = nova;
+        }
+        return esquerda * lado + direita;
+    }
+
+    // Finalizador do SplitMix64: espalha cada bit da entrada por toda a saída
+    private static long misturar(long valor) {
+        long z = valor;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
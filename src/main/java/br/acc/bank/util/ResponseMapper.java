@@ -0,0 +1,142 @@
+package br.acc.bank.util;
+
+import java.util.Optional;
+
+import br.acc.bank.dto.agencia.AgenciaResponseDTO;
+import br.acc.bank.dto.agencia.AgenciaResumoDTO;
+import br.acc.bank.dto.cliente.ClienteResponseDTO;
+import br.acc.bank.dto.cliente.ClienteResumoDTO;
+import br.acc.bank.dto.conta.AgenciaContaResponseDTO;
+import br.acc.bank.dto.conta.ClienteContaResponseDTO;
+import br.acc.bank.dto.conta.ClienteDestinoResponseDTO;
+import br.acc.bank.dto.conta.ContaDestinoResponseDTO;
+import br.acc.bank.dto.conta.ContaResponseDTO;
+import br.acc.bank.dto.conta.ContaResumoDTO;
+import br.acc.bank.dto.conta.TransacoesContaResponseDTO;
+import br.acc.bank.dto.endereco.EnderecoResponseDTO;
+import br.acc.bank.dto.transacao.ClienteContaTransacaoResponseDTO;
+import br.acc.bank.dto.transacao.ContaTransacaoResponseDTO;
+import br.acc.bank.dto.transacao.TransacaoResponseDTO;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.Transacao;
+
+// Conversões de Model para DTO escritas campo a campo, sem reflexão, para os endpoints de maior
+// volume (listas de contas, extrato, transações e clientes). Produzem o mesmo JSON do
+// MapperConverter: referências nulas viram campos nulos e a conta de destino ausente fica nula.
+// As listagens partem das projeções (*ResumoDTO) e não das entidades.
+public final class ResponseMapper {
+
+    private ResponseMapper() {
+    }
+
+    public static ContaResponseDTO toContaResponse(Conta conta) {
+        ContaResponseDTO dto = new ContaResponseDTO();
+        dto.setId(conta.getId());
+        dto.setNumero(conta.getNumero());
+        dto.setSaldo(conta.getSaldo());
+        dto.setTipo(conta.getTipo());
+
+        Agencia agencia = conta.getAgencia();
+        if (agencia != null)
+            dto.setAgencia(new AgenciaContaResponseDTO(agencia.getNome(), agencia.getNumero()));
+
+        Cliente cliente = conta.getCliente();
+        if (cliente != null)
+            dto.setCliente(new ClienteContaResponseDTO(cliente.getNome(), cliente.getCpf()));
+        return dto;
+    }
+
+    public static ContaResponseDTO toContaResponse(ContaResumoDTO conta) {
+        return new ContaResponseDTO(conta.getId(), conta.getNumero(), conta.getSaldo(), conta.getTipo(),
+                new AgenciaContaResponseDTO(conta.getAgenciaNome(), conta.getAgenciaNumero()),
+                new ClienteContaResponseDTO(conta.getClienteNome(), conta.getClienteCpf()));
+    }
+
+    public static TransacaoResponseDTO toTransacaoResponse(Transacao transacao) {
+        TransacaoResponseDTO dto = new TransacaoResponseDTO();
+        dto.setId(transacao.getId());
+        dto.setValor(transacao.getValor());
+        dto.setTipo(transacao.getTipo());
+        if (transacao.getDataTransacao() != null)
+            dto.setDataTransacao(transacao.getDataTransacao());
+        dto.setContaOrigem(toContaTransacaoResponse(transacao.getContaOrigem()));
+        if (transacao.getContaDestino() != null)
+            dto.setContaDestino(Optional.of(toContaTransacaoResponse(transacao.getContaDestino())));
+        return dto;
+    }
+
+    public static TransacoesContaResponseDTO toTransacoesContaResponse(Transacao transacao) {
+        TransacoesContaResponseDTO dto = new TransacoesContaResponseDTO();
+        dto.setValor(transacao.getValor());
+        dto.setTipo(transacao.getTipo());
+        if (transacao.getDataTransacao() != null)
+            dto.setDataTransacao(transacao.getDataTransacao());
+
+        Conta contaDestino = transacao.getContaDestino();
+        if (contaDestino != null) {
+            Cliente cliente = contaDestino.getCliente();
+            dto.setContaDestino(Optional.of(new ContaDestinoResponseDTO(cliente == null ? null
+                    : new ClienteDestinoResponseDTO(cliente.getNome(), cliente.getCpf()))));
+        }
+        return dto;
+    }
+
+    public static ClienteResponseDTO toClienteResponse(Cliente cliente) {
+        ClienteResponseDTO dto = new ClienteResponseDTO();
+        dto.setId(cliente.getId());
+        dto.setNome(cliente.getNome());
+        dto.setCpf(cliente.getCpf());
+        if (cliente.getDataNascimento() != null)
+            dto.setDataNascimento(cliente.getDataNascimento());
+        dto.setTelefone(cliente.getTelefone());
+        dto.setEmail(cliente.getEmail());
+        if (cliente.getDataCadastro() != null)
+            dto.setDataCadastro(cliente.getDataCadastro());
+        dto.setLogin(cliente.getLogin());
+        dto.setRole(cliente.getRole());
+
+        Endereco endereco = cliente.getEndereco();
+        if (endereco != null)
+            dto.setEndereco(new EnderecoResponseDTO(endereco.getCep(), endereco.getRua(), endereco.getNumero(),
+                    endereco.getBairro(), endereco.getCidade(), endereco.getEstado(), endereco.getPais()));
+        return dto;
+    }
+
+    public static ClienteResponseDTO toClienteResponse(ClienteResumoDTO cliente) {
+        ClienteResponseDTO dto = new ClienteResponseDTO();
+        dto.setId(cliente.getId());
+        dto.setNome(cliente.getNome());
+        dto.setCpf(cliente.getCpf());
+        if (cliente.getDataNascimento() != null)
+            dto.setDataNascimento(cliente.getDataNascimento());
+        dto.setTelefone(cliente.getTelefone());
+        dto.setEmail(cliente.getEmail());
+        if (cliente.getDataCadastro() != null)
+            dto.setDataCadastro(cliente.getDataCadastro());
+        dto.setLogin(cliente.getLogin());
+        dto.setRole(cliente.getRole());
+        if (cliente.getEnderecoId() != null)
+            dto.setEndereco(new EnderecoResponseDTO(cliente.getCep(), cliente.getRua(), cliente.getEnderecoNumero(),
+                    cliente.getBairro(), cliente.getCidade(), cliente.getEstado(), cliente.getPais()));
+        return dto;
+    }
+
+    public static AgenciaResponseDTO toAgenciaResponse(AgenciaResumoDTO agencia) {
+        EnderecoResponseDTO endereco = agencia.getEnderecoId() == null ? null
+                : new EnderecoResponseDTO(agencia.getCep(), agencia.getRua(), agencia.getEnderecoNumero(),
+                        agencia.getBairro(), agencia.getCidade(), agencia.getEstado(), agencia.getPais());
+        return new AgenciaResponseDTO(agencia.getId(), agencia.getNome(), agencia.getNumero(), agencia.getTelefone(),
+                endereco);
+    }
+
+    private static ContaTransacaoResponseDTO toContaTransacaoResponse(Conta conta) {
+        if (conta == null)
+            return null;
+        Cliente cliente = conta.getCliente();
+        return new ContaTransacaoResponseDTO(conta.getNumero(), cliente == null ? null
+                : new ClienteContaTransacaoResponseDTO(cliente.getNome(), cliente.getCpf()));
+    }
+}
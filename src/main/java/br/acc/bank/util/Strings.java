@@ -4,6 +4,7 @@ public abstract class Strings {
 
     public static final class AUTH {
         public static final String ERROR_CREDENTIALS = "login ou password inválidos.";
+        public static final String ERROR_OVERLOAD = "Muitas autenticações em andamento, tente novamente em instantes.";
     }
     public static final class AGENCIA {
         public static final String ERROR_FIND_ALL_LIST = "Erro ao obter a lista de agências";
@@ -30,6 +31,9 @@ public abstract class Strings {
         public static final String ERROR_DELETE = "Erro ao tentar deletar um cliente.";
         public static final String DELETE_CONFLICT = "O cliente está vinculado a uma conta.";
         public static final String ERROR_MY_PROFILE = "Erro ao tentar obter detalhes do meu perfil.";
+        public static final String ERROR_IMPORT = "Erro ao tentar importar os clientes.";
+        public static final String ERROR_IMPORT_OVERLOAD = "Já existe uma importação de clientes em andamento, tente novamente mais tarde.";
+        public static final String ERROR_IMPORT_FILE = "Arquivo de importação inválido.";
     }
 
     public static final class ADMIN {
@@ -54,6 +58,11 @@ public abstract class Strings {
         public static final String ERROR_TYPE_INVALID = "Tipo de conta inválido, tipos válidos: [CORRENTE, POUPANCA].";
         public static final String ERROR_EXTRACT = "Erro ao tentar gerar o extrato da conta.";
         public static final String ERROR_DETAILS = "Erro ao tentar obter detalhes de uma conta.";
+        public static final String ERROR_EXPORT = "Erro ao tentar exportar o extrato da conta.";
+        public static final String ERROR_SCHEDULER = "Erro ao aplicar as operações mensais nas contas.";
+        public static final String ERROR_SCHEDULER_LOTE = "Lote da operação mensal assumido por outro nó.";
+        public static final String ERROR_INVALID_CURSOR = "Cursor de paginação inválido.";
+        public static final String ERROR_INVALID_PERIOD = "A data inicial deve ser anterior ou igual à data final.";
     }
 
     public static final class TRANSACAO {
@@ -74,5 +83,6 @@ public abstract class Strings {
         public static final String GENERATE_TOKEN = "Erro ao gerar token.";
         public static final String INVALID_TOKEN = "Token inválido.";
         public static final String INVALID_TOKEN_FORMAT = "Token com formato inválido.";
+        public static final String INVALID_SORT = "Campo de ordenação inválido, campos válidos: ";
     }
 }
\ No newline at end of file
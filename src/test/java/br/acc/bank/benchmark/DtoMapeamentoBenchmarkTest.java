@@ -0,0 +1,186 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+
+import br.acc.bank.dto.cliente.ClienteResponseDTO;
+import br.acc.bank.dto.conta.ContaResponseDTO;
+import br.acc.bank.dto.conta.TransacoesContaResponseDTO;
+import br.acc.bank.dto.transacao.TransacaoResponseDTO;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.Transacao;
+import br.acc.bank.model.enums.TipoTransacao;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.ResponseMapper;
+
+// Custo de montar as respostas dos endpoints de lista (GET /contas e página do extrato) e
+// de cliente: MapperConverter (ModelMapper, por reflexão) x ResponseMapper (campo a campo).
+// Executar com: mvn test -Pbenchmark -Dtest=DtoMapeamentoBenchmarkTest
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMapeamentoBenchmarkTest {
+
+    // Tamanho de página padrão do extrato
+    private static final int QUANTIDADE = 20;
+
+    private List<Conta> contas;
+
+    private List<Transacao> transacoes;
+
+    private Cliente cliente;
+
+    @Setup
+    public void setUp() {
+        Agencia agencia = new Agencia(1L, "Agência Central", 12345L, "11987654321", createEndereco());
+        contas = new ArrayList<>();
+        transacoes = new ArrayList<>();
+
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Conta conta = new ContaCorrente((long) i, 100_000L + i, agencia, createCliente(i));
+            conta.setSaldo(BigDecimal.valueOf(1_000 + i));
+            contas.add(conta);
+        }
+        for (int i = 0; i < QUANTIDADE; i++) {
+            // Metade transferências (com conta de destino), metade depósitos
+            Conta destino = i % 2 == 0 ? contas.get((i + 1) % QUANTIDADE) : null;
+            Transacao transacao = new Transacao(BigDecimal.valueOf(10 + i),
+                    destino == null ? TipoTransacao.DEPOSITO : TipoTransacao.TRANSFERENCIA, contas.get(0), destino);
+            transacao.setId((long) i);
+            transacao.setDataTransacao(LocalDateTime.of(2024, 8, 15, 14, 30).plusMinutes(i));
+            transacoes.add(transacao);
+        }
+        cliente = contas.get(0).getCliente();
+    }
+
+    @Benchmark
+    public List<ContaResponseDTO> contasModelMapper() {
+        return contas.stream()
+                .map(conta -> MapperConverter.convertToDto(conta, ContaResponseDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ContaResponseDTO> contasResponseMapper() {
+        return contas.stream()
+                .map(ResponseMapper::toContaResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TransacoesContaResponseDTO> extratoModelMapper() {
+        return transacoes.stream()
+                .map(transacao -> MapperConverter.convertToDto(transacao, TransacoesContaResponseDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TransacoesContaResponseDTO> extratoResponseMapper() {
+        return transacoes.stream()
+                .map(ResponseMapper::toTransacoesContaResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public TransacaoResponseDTO transacaoModelMapper() {
+        return MapperConverter.convertToDto(transacoes.get(0), TransacaoResponseDTO.class);
+    }
+
+    @Benchmark
+    public TransacaoResponseDTO transacaoResponseMapper() {
+        return ResponseMapper.toTransacaoResponse(transacoes.get(0));
+    }
+
+    @Benchmark
+    public ClienteResponseDTO clienteModelMapper() {
+        return MapperConverter.convertToDto(cliente, ClienteResponseDTO.class);
+    }
+
+    @Benchmark
+    public ClienteResponseDTO clienteResponseMapper() {
+        return ResponseMapper.toClienteResponse(cliente);
+    }
+
+    @Test
+    @DisplayName("Benchmark: conversão para DTO via ModelMapper x ResponseMapper")
+    void benchmarkMapeamentoDto() throws Exception {
+        Options opcoes = OpcoesBenchmark.padrao(getClass())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+        Map<String, RunResult> porBenchmark = resultados.stream().collect(Collectors.toMap(
+                resultado -> resultado.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                resultado -> resultado));
+
+        for (String caso : List.of("contas", "extrato", "transacao", "cliente")) {
+            RunResult antes = porBenchmark.get(caso + "ModelMapper");
+            RunResult depois = porBenchmark.get(caso + "ResponseMapper");
+            assertTrue(depois.getPrimaryResult().getScore() < antes.getPrimaryResult().getScore());
+            // Bytes alocados por operação
+            assertTrue(alocacao(depois) < alocacao(antes));
+        }
+    }
+
+    private static double alocacao(RunResult resultado) {
+        return resultado.getSecondaryResults().get("gc.alloc.rate.norm").getScore();
+    }
+
+    private Cliente createCliente(int indice) {
+        Cliente cliente = new Cliente();
+        cliente.setId((long) indice);
+        cliente.setNome("Cliente " + indice);
+        cliente.setCpf(String.format("%011d", indice));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setDataCadastro(LocalDate.of(2024, 1, 10));
+        cliente.setEmail("cliente" + indice + "@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("cliente" + indice);
+        cliente.setPassword("senha123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
@@ -0,0 +1,170 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.FormatoExportacao;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.service.ContaService;
+import br.acc.bank.service.NumeroContaGerador;
+
+// Exporta um milhão de transações com heap fixo e pequeno (definido no profile "benchmark").
+// O H2 é gravado em arquivo para que os dados não ocupem o heap do teste.
+// Executar com: mvn test -Pbenchmark -Dtest=ExtratoExportacaoBenchmarkTest
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/extrato-exportacao;CACHE_SIZE=8192",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ContaService.class, NumeroContaGerador.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ExtratoExportacaoBenchmarkTest {
+
+    private static final int QUANTIDADE_TRANSACOES = 1_000_000;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Conta conta;
+
+    @BeforeEach
+    void setUp() {
+        Agencia agencia = agenciaRepository.save(createAgencia());
+        Cliente cliente = clienteRepository.save(createCliente());
+        conta = contaRepository.save(new ContaCorrente(null, 123456L, agencia, cliente));
+
+        // Gera as transações direto no banco, sem passar pelo heap do teste; o benchmark não cria
+        // transações pelo Hibernate, então os ids podem vir da própria numeração
+        jdbcTemplate.update("INSERT INTO transacoes (id, valor, tipo, data_transacao, conta_origem_id)"
+                + " SELECT X, 10.00, 'DEPOSITO', DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00'), ?"
+                + " FROM SYSTEM_RANGE(1, ?)", conta.getId(), QUANTIDADE_TRANSACOES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transacoes");
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+        agenciaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Benchmark: exportação de um milhão de transações em NDJSON com heap fixo")
+    void benchmarkExportacaoNdjson() {
+        exportar(FormatoExportacao.NDJSON, QUANTIDADE_TRANSACOES);
+    }
+
+    @Test
+    @DisplayName("Benchmark: exportação de um milhão de transações em CSV com heap fixo")
+    void benchmarkExportacaoCsv() {
+        // CSV tem uma linha de cabeçalho
+        exportar(FormatoExportacao.CSV, QUANTIDADE_TRANSACOES + 1);
+    }
+
+    private void exportar(FormatoExportacao formato, long linhasEsperadas) {
+        ContadorOutputStream saida = new ContadorOutputStream();
+
+        long inicio = System.nanoTime();
+        long exportadas = contaService.exportarExtrato(conta.getId(), formato, saida);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        System.out.printf("%n%s: %d transações, %d MB escritos em %d ms (heap máximo %d MB)%n%n", formato,
+                exportadas, saida.bytes / (1024 * 1024), duracaoMs, Runtime.getRuntime().maxMemory() / (1024 * 1024));
+
+        assertEquals(QUANTIDADE_TRANSACOES, exportadas);
+        assertEquals(linhasEsperadas, saida.linhas);
+    }
+
+    // Descarta o conteúdo, contando apenas bytes e linhas
+    private static class ContadorOutputStream extends OutputStream {
+        private long bytes;
+        private long linhas;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n')
+                linhas++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n')
+                    linhas++;
+            }
+        }
+    }
+
+    private Cliente createCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setCpf("12345678900");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setEmail("joao.silva@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("joao");
+        cliente.setPassword("joao123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
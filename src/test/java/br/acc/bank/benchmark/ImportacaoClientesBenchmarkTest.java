@@ -0,0 +1,109 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.dto.cliente.ImportacaoClienteResponseDTO;
+import br.acc.bank.model.enums.FormatoImportacao;
+import br.acc.bank.service.ClienteImportacaoService;
+
+// Vazão da importação de clientes em massa (CSV -> validação -> unicidade -> hash -> INSERT em lote).
+// O hash BCrypt domina o custo: a importação roda sem hash (mede o restante do pipeline), com custo 4
+// e com o custo de produção (10) sobre uma amostra menor, limitada a ~1 hash por núcleo a cada 70 ms.
+// Executar com: mvn test -Pbenchmark -Dtest=ImportacaoClientesBenchmarkTest
+// Parâmetros: -Dbenchmark.importacao.registros (20000) e -Dbenchmark.importacao.amostra-bcrypt (200).
+// Relatório em target/jmh/ImportacaoClientesBenchmarkTest-<versão>.txt
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@Import({ ClienteImportacaoService.class, BCryptPasswordEncoder.class, JacksonAutoConfiguration.class,
+        ValidationAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ImportacaoClientesBenchmarkTest {
+
+    private static final int REGISTROS = Integer.getInteger("benchmark.importacao.registros", 20_000);
+    private static final int AMOSTRA_BCRYPT = Integer.getInteger("benchmark.importacao.amostra-bcrypt", 200);
+
+    // Senha gravada como recebida, apenas para isolar o custo do hash
+    private static final PasswordEncoder SEM_HASH = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence senha) {
+            return senha.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence senha, String senhaCriptografada) {
+            return senha.toString().equals(senhaCriptografada);
+        }
+    };
+
+    @Autowired
+    private ClienteImportacaoService clienteImportacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM clientes");
+        jdbcTemplate.update("DELETE FROM usuarios");
+        jdbcTemplate.update("DELETE FROM enderecos");
+    }
+
+    @Test
+    @DisplayName("Benchmark: importação de clientes em massa por CSV")
+    void benchmarkImportacao() throws Exception {
+        StringBuilder relatorio = new StringBuilder(String.format(Locale.ROOT,
+                "%nImportação de clientes por CSV, %d processador(es)%n", Runtime.getRuntime().availableProcessors()));
+
+        importar("sem hash", SEM_HASH, 0, REGISTROS, relatorio);
+        importar("BCrypt custo 4", new BCryptPasswordEncoder(4), REGISTROS, REGISTROS, relatorio);
+        importar("BCrypt custo 10", new BCryptPasswordEncoder(10), 2 * REGISTROS, AMOSTRA_BCRYPT, relatorio);
+
+        System.out.println(relatorio);
+        Files.writeString(OpcoesBenchmark.relatorio(getClass(), "txt"), relatorio, StandardCharsets.UTF_8);
+    }
+
+    private void importar(String modo, PasswordEncoder passwordEncoder, int primeiro, int quantidade,
+            StringBuilder relatorio) {
+        ReflectionTestUtils.setField(clienteImportacaoService, "passwordEncoder", passwordEncoder);
+
+        ImportacaoClienteResponseDTO resultado = clienteImportacaoService.importar(
+                new ByteArrayInputStream(gerarCsv(primeiro, quantidade).getBytes(StandardCharsets.UTF_8)),
+                FormatoImportacao.CSV);
+
+        assertEquals(quantidade, resultado.getImportados());
+        relatorio.append(String.format(Locale.ROOT, "%-16s %6d registros em %7d ms (%.1f registros/s)%n",
+                modo + ":", quantidade, resultado.getDuracaoMs(), resultado.getLinhasPorSegundo()));
+    }
+
+    private String gerarCsv(int primeiro, int quantidade) {
+        StringBuilder csv = new StringBuilder(
+                "nome,cpf,telefone,dataNascimento,email,login,password,cep,rua,numero,bairro,cidade,estado,pais\n");
+        for (int n = primeiro; n < primeiro + quantidade; n++)
+            csv.append(String.format(Locale.ROOT,
+                    "Cliente %d,%011d,11987654321,1990-01-01,cliente%d@example.com,cliente%d,senha123,"
+                            + "01001000,Rua %d,%d,Centro,São Paulo,SP,Brasil%n",
+                    n, n, n, n, n, n % 10_000));
+        return csv.toString();
+    }
+}
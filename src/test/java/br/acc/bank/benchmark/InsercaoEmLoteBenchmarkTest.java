@@ -0,0 +1,119 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.acc.bank.model.Endereco;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Vazão de INSERTs pelo Hibernate com e sem lote JDBC. Com IDENTITY cada persist precisava do id gerado
+// pelo banco e o lote ficava desligado; com o gerador em tabela os ids vêm do bloco reservado em memória.
+// O caminho "sem lote" reproduz o comportamento antigo forçando batch_size 1 na sessão.
+// Executar com: mvn test -Pbenchmark -Dtest=InsercaoEmLoteBenchmarkTest
+// Parâmetro: -Dbenchmark.insercao.registros (20000).
+// Relatório em target/jmh/InsercaoEmLoteBenchmarkTest-<versão>.txt
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InsercaoEmLoteBenchmarkTest {
+
+    private static final int REGISTROS = Integer.getInteger("benchmark.insercao.registros", 20_000);
+    private static final int AQUECIMENTO = 2_000;
+    // Entidades por transação, como um lote do agendador ou da importação
+    private static final int POR_TRANSACAO = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM enderecos");
+    }
+
+    @Test
+    @DisplayName("Benchmark: INSERT de entidades um a um x em lote JDBC")
+    void benchmarkInsercao() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        inserir(1, AQUECIMENTO);
+        inserir(50, AQUECIMENTO);
+        Resultado semLote = medir(1, statistics);
+        Resultado emLote = medir(50, statistics);
+
+        StringBuilder relatorio = new StringBuilder(String.format(Locale.ROOT,
+                "%nINSERT de %d endereços, %d por transação%n%-12s %12s %16s %12s%n",
+                REGISTROS, POR_TRANSACAO, "batch_size", "ms", "registros/s", "comandos"));
+        linha(relatorio, "1", semLote);
+        linha(relatorio, "50", emLote);
+
+        System.out.println(relatorio);
+        Files.writeString(OpcoesBenchmark.relatorio(getClass(), "txt"), relatorio, StandardCharsets.UTF_8);
+
+        assertEquals(2L * (AQUECIMENTO + REGISTROS), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enderecos", Long.class));
+        assertTrue(emLote.comandos < semLote.comandos);
+    }
+
+    private Resultado medir(int batchSize, Statistics statistics) {
+        statistics.clear();
+        long inicio = System.nanoTime();
+        inserir(batchSize, REGISTROS);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        return new Resultado(duracaoMs, REGISTROS * 1_000.0 / Math.max(duracaoMs, 1),
+                statistics.getPrepareStatementCount());
+    }
+
+    private void inserir(int batchSize, int quantidade) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int inicio = 0; inicio < quantidade; inicio += POR_TRANSACAO) {
+            int fim = Math.min(inicio + POR_TRANSACAO, quantidade);
+            int primeiro = inicio;
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (int n = primeiro; n < fim; n++)
+                    entityManager.persist(createEndereco(n));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void linha(StringBuilder relatorio, String batchSize, Resultado resultado) {
+        relatorio.append(String.format(Locale.ROOT, "%-12s %12d %16.1f %12d%n", batchSize, resultado.duracaoMs,
+                resultado.registrosPorSegundo, resultado.comandos));
+    }
+
+    private record Resultado(long duracaoMs, double registrosPorSegundo, long comandos) {
+    }
+
+    private Endereco createEndereco(int n) {
+        return new Endereco(null, "12345678", "Rua " + n, String.valueOf(n % 10_000), "Centro", "São Paulo", "SP", "Brasil");
+    }
+}
@@ -0,0 +1,50 @@
+package br.acc.bank.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+// Configuração comum dos benchmarks JMH. Cada execução grava um relatório JSON em
+// target/jmh/<Benchmark>-<versão>.json (veja o profile "benchmark" do pom), que pode ser
+// comparado entre versões, por exemplo no JMH Visualizer. A versão pode ser trocada com
+// -Dbenchmark.versao=<nome> para comparar branches da mesma versão do projeto.
+public final class OpcoesBenchmark {
+
+    private OpcoesBenchmark() {
+    }
+
+    public static ChainedOptionsBuilder padrao(Class<?> benchmark) {
+        return new OptionsBuilder()
+                .include(benchmark.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result(relatorio(benchmark).toString());
+    }
+
+    // Arquivo do relatório JSON do benchmark na versão atual
+    public static Path relatorio(Class<?> benchmark) {
+        return relatorio(benchmark, "json");
+    }
+
+    // Relatório em outro formato, para benchmarks que não rodam pelo JMH
+    public static Path relatorio(Class<?> benchmark, String extensao) {
+        Path diretorio = Path.of(System.getProperty("benchmark.relatorios", "target/jmh"));
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String versao = System.getProperty("benchmark.versao", "local");
+        return diretorio.resolve(benchmark.getSimpleName() + "-" + versao + "." + extensao);
+    }
+}
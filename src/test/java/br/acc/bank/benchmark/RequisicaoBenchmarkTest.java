@@ -0,0 +1,179 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import br.acc.bank.dto.admin.AdminRequestDTO;
+import br.acc.bank.dto.admin.AdminResponseDTO;
+import br.acc.bank.dto.agencia.AgenciaResponseDTO;
+import br.acc.bank.dto.cliente.ClienteRequestDTO;
+import br.acc.bank.dto.endereco.EnderecoRequestDTO;
+import br.acc.bank.exception.ValidationException;
+import br.acc.bank.model.Admin;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.Usuario;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.security.TokenService;
+import br.acc.bank.util.MapperConverter;
+import br.acc.bank.util.ValidationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+// Custos de CPU por requisição fora do banco: conversões do MapperConverter (request -> entidade e
+// entidade -> response de admin e agência), geração e verificação do JWT pelo TokenService e
+// ValidationUtils.validateBindingResult com e sem erros de validação.
+// Executar com: mvn test -Pbenchmark -Dtest=RequisicaoBenchmarkTest
+// Relatório em target/jmh/RequisicaoBenchmarkTest-<versão>.json
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequisicaoBenchmarkTest {
+
+    private TokenService tokenService;
+
+    private Usuario usuario;
+
+    private String token;
+
+    private ClienteRequestDTO clienteRequest;
+
+    private AdminRequestDTO adminRequest;
+
+    private Admin admin;
+
+    private Agencia agencia;
+
+    private BindingResult semErros;
+
+    private BindingResult comErros;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenService, "secret", "benchmark-secret");
+        ReflectionTestUtils.setField(tokenService, "tamanhoCache", 10_000);
+        ReflectionTestUtils.setField(tokenService, "ttlCacheSegundos", 600L);
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        usuario = new Usuario("João Silva", "12345678900", LocalDate.of(1990, 1, 1), "11987654321",
+                "joao.silva@example.com", "joao", "joao123", UsuarioRole.USUARIO);
+        usuario.setId(1L);
+        token = tokenService.generateToken(usuario);
+
+        clienteRequest = new ClienteRequestDTO("João Silva", "12345678900", "11987654321", LocalDate.of(1990, 1, 1),
+                "joao.silva@example.com", "joao", "joao123", new EnderecoRequestDTO("12345678", "Rua das Flores",
+                        "123", "Centro", "São Paulo", "SP", "Brasil"));
+        adminRequest = new AdminRequestDTO("Maria Souza", "98765432100", "11912345678", LocalDate.of(1985, 5, 20),
+                "maria.souza@example.com", "maria", "maria123");
+
+        admin = MapperConverter.convertToEntity(adminRequest, Admin.class);
+        admin.setId(1L);
+        admin.setRole(UsuarioRole.ADMIN);
+        admin.setDataCadastro(LocalDate.of(2024, 8, 1));
+
+        agencia = new Agencia();
+        agencia.setId(1L);
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(new Endereco(1L, "12345678", "Rua das Flores", "123", "Centro", "São Paulo", "SP", "Brasil"));
+
+        // BindingResult como o Spring MVC entrega ao controller, válido e com campos inválidos
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        SpringValidatorAdapter adapter = new SpringValidatorAdapter(validator);
+        semErros = new BeanPropertyBindingResult(clienteRequest, "clienteRequestDTO");
+        adapter.validate(clienteRequest, semErros);
+        ClienteRequestDTO invalido = new ClienteRequestDTO("", "123", "", null, "email-invalido", "", "", null);
+        comErros = new BeanPropertyBindingResult(invalido, "clienteRequestDTO");
+        adapter.validate(invalido, comErros);
+    }
+
+    @Benchmark
+    public Cliente converterClienteRequest() {
+        return MapperConverter.convertToEntity(clienteRequest, Cliente.class);
+    }
+
+    @Benchmark
+    public Admin converterAdminRequest() {
+        return MapperConverter.convertToEntity(adminRequest, Admin.class);
+    }
+
+    @Benchmark
+    public AdminResponseDTO converterAdminResponse() {
+        return MapperConverter.convertToDto(admin, AdminResponseDTO.class);
+    }
+
+    @Benchmark
+    public AgenciaResponseDTO converterAgenciaResponse() {
+        return MapperConverter.convertToDto(agencia, AgenciaResponseDTO.class);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return tokenService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String verificarToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public BindingResult validarSemErros() {
+        ValidationUtils.validateBindingResult(semErros);
+        return semErros;
+    }
+
+    @Benchmark
+    public ValidationException validarComErros() {
+        try {
+            ValidationUtils.validateBindingResult(comErros);
+            return null;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: conversões, JWT e validação executados por requisição")
+    void benchmarkRequisicao() throws Exception {
+        setUp();
+        assertFalse(semErros.hasErrors());
+        assertTrue(comErros.hasErrors());
+
+        Options opcoes = OpcoesBenchmark.padrao(getClass()).build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        assertEquals(8, resultados.size());
+        assertTrue(resultados.stream().allMatch(resultado -> resultado.getPrimaryResult().getScore() > 0));
+        assertTrue(Files.exists(OpcoesBenchmark.relatorio(getClass())));
+    }
+}
@@ -0,0 +1,149 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+// Compara a atualização de saldo carregando a entidade (caminho antigo)
+// com a atualização atômica direto no banco (caminho novo).
+// Executar com: mvn test -Pbenchmark -Dtest=SaldoUpdateBenchmarkTest
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SaldoUpdateBenchmarkTest {
+
+    private static final int AQUECIMENTO = 500;
+    private static final int ITERACOES = 5_000;
+    private static final BigDecimal VALOR = BigDecimal.ONE;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Conta conta;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Agencia agencia = agenciaRepository.save(createAgencia());
+        Cliente cliente = clienteRepository.save(createCliente());
+        conta = contaRepository.save(new ContaCorrente(null, 123456L, agencia, cliente));
+    }
+
+    @Test
+    @DisplayName("Benchmark: atualização de saldo via entidade x atualização atômica")
+    void benchmarkAtualizacaoSaldo() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long clienteId = conta.getCliente().getId();
+        Long contaId = conta.getId();
+
+        Runnable caminhoAntigo = () -> transactionTemplate.executeWithoutResult(status -> {
+            Conta contaCarregada = contaRepository.findByClienteId(clienteId).get();
+            contaCarregada.setSaldo(contaCarregada.getSaldo().add(VALOR));
+            contaRepository.save(contaCarregada);
+        });
+        Runnable caminhoNovo = () -> transactionTemplate.executeWithoutResult(
+                status -> contaRepository.creditarSaldo(contaId, VALOR));
+
+        Resultado antigo = medir(caminhoAntigo, statistics);
+        Resultado novo = medir(caminhoNovo, statistics);
+
+        System.out.printf("%n%-32s %12s %14s%n", "Caminho", "us/op", "comandos/op");
+        System.out.printf("%-32s %12.2f %14.2f%n", "entidade (find + save)", antigo.microsPorOperacao, antigo.comandosPorOperacao);
+        System.out.printf("%-32s %12.2f %14.2f%n%n", "atômico (UPDATE saldo + valor)", novo.microsPorOperacao, novo.comandosPorOperacao);
+
+        BigDecimal saldoEsperado = BigDecimal.valueOf(2L * (AQUECIMENTO + ITERACOES));
+        assertEquals(0, saldoEsperado.compareTo(contaRepository.findById(contaId).get().getSaldo()));
+        assertTrue(novo.comandosPorOperacao < antigo.comandosPorOperacao);
+    }
+
+    private Resultado medir(Runnable operacao, Statistics statistics) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            operacao.run();
+        }
+        statistics.clear();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            operacao.run();
+        }
+        long duracao = System.nanoTime() - inicio;
+        return new Resultado(duracao / 1_000.0 / ITERACOES,
+                (double) statistics.getPrepareStatementCount() / ITERACOES);
+    }
+
+    private record Resultado(double microsPorOperacao, double comandosPorOperacao) {
+    }
+
+    private Cliente createCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setCpf("12345678900");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setEmail("joao.silva@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("joao");
+        cliente.setPassword("joao123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
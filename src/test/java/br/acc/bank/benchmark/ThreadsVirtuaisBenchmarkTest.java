@@ -0,0 +1,181 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.acc.bank.BankApplication;
+import br.acc.bank.carga.ConfiguracaoCarga;
+import br.acc.bank.carga.ConfiguracaoCarga.Operacao;
+import br.acc.bank.carga.DatasetCarga;
+import br.acc.bank.carga.DatasetCarga.ClienteCarga;
+import br.acc.bank.carga.MedidorLatencia;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.security.TokenService;
+
+// Throughput da aplicação completa (Tomcat, segurança, JPA, H2) com uma rajada de requisições
+// concorrentes de extrato e transferência, com as requisições em threads de plataforma
+// (spring.threads.virtual.enabled=false) e em threads virtuais (true, somente em runtime Java 21+;
+// em Java 17 o modo virtual é registrado como não suportado no relatório).
+// Executar com: mvn test -Pbenchmark -Dtest=ThreadsVirtuaisBenchmarkTest
+// Parâmetros: -Dbenchmark.threads.requisicoes (10000), -Dbenchmark.threads.concorrencia (10000, requisições
+// em voo ao mesmo tempo; cliente e servidor dividem o limite de arquivos abertos do processo) e
+// -Dbenchmark.threads.pool (tamanho do pool de conexões, 20).
+// Relatório em target/jmh/ThreadsVirtuaisBenchmarkTest-<versão>.txt
+@Tag("benchmark")
+public class ThreadsVirtuaisBenchmarkTest {
+
+    private static final int REQUISICOES = Integer.getInteger("benchmark.threads.requisicoes", 10_000);
+    private static final int CONCORRENCIA = Integer.getInteger("benchmark.threads.concorrencia", 10_000);
+    private static final int TAMANHO_POOL = Integer.getInteger("benchmark.threads.pool", 20);
+    private static final int CLIENTES = 100;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    @DisplayName("Benchmark: extrato e transferência concorrentes com threads de plataforma e virtuais")
+    void benchmarkThreadsVirtuais() throws Exception {
+        StringBuilder relatorio = new StringBuilder(String.format(Locale.ROOT,
+                "%nRajada de %d requisições (extrato e transferência), %d em voo, pool de %d conexões, Java %d%n",
+                REQUISICOES, CONCORRENCIA, TAMANHO_POOL, Runtime.version().feature()));
+
+        Map<Operacao, MedidorLatencia.Resumo> plataforma = executarModo(false, relatorio);
+        assertEquals(REQUISICOES, plataforma.values().stream().mapToInt(MedidorLatencia.Resumo::requisicoes).sum());
+
+        if (Runtime.version().feature() >= 21) {
+            Map<Operacao, MedidorLatencia.Resumo> virtual = executarModo(true, relatorio);
+            assertEquals(REQUISICOES, virtual.values().stream().mapToInt(MedidorLatencia.Resumo::requisicoes).sum());
+        } else {
+            relatorio.append(String.format("%nthreads virtuais: não suportado no runtime Java %d (exige Java 21+)%n",
+                    Runtime.version().feature()));
+        }
+
+        System.out.println(relatorio);
+        Files.writeString(OpcoesBenchmark.relatorio(getClass(), "txt"), relatorio, StandardCharsets.UTF_8);
+    }
+
+    // Sobe a aplicação no modo indicado, aquece com uma rajada menor e mede a rajada completa
+    private Map<Operacao, MedidorLatencia.Resumo> executarModo(boolean threadsVirtuais, StringBuilder relatorio)
+            throws Exception {
+        String modo = threadsVirtuais ? "virtuais" : "plataforma";
+        // Passadas como argumentos para terem precedência sobre o application.properties (MySQL)
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(BankApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:threads-" + modo + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + TAMANHO_POOL,
+                        "--spring.datasource.hikari.minimum-idle=" + TAMANHO_POOL,
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        // A rajada inteira precisa ser aceita pelo Tomcat nos dois modos
+                        "--server.tomcat.max-connections=" + (CONCORRENCIA + 100),
+                        "--server.tomcat.accept-count=" + CONCORRENCIA,
+                        "--logging.level.root=WARN")) {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            List<ClienteCarga> clientes = popular(contexto);
+            Map<String, String> tokens = gerarTokens(contexto, clientes);
+
+            disparar(porta, clientes, tokens, Math.max(REQUISICOES / 10, 1), new MedidorLatencia());
+
+            MedidorLatencia medidor = new MedidorLatencia();
+            long inicio = System.nanoTime();
+            disparar(porta, clientes, tokens, REQUISICOES, medidor);
+            double duracaoSegundos = (System.nanoTime() - inicio) / 1e9;
+
+            Map<Operacao, MedidorLatencia.Resumo> resumos = new EnumMap<>(Operacao.class);
+            for (Operacao operacao : List.of(Operacao.EXTRATO, Operacao.TRANSFERENCIA)) {
+                resumos.put(operacao, medidor.resumir(operacao, duracaoSegundos));
+            }
+            relatorio.append(String.format(Locale.ROOT, "%nthreads %s: %.2f s%n", modo, duracaoSegundos))
+                    .append(MedidorLatencia.formatar(resumos.values().toArray(MedidorLatencia.Resumo[]::new),
+                            duracaoSegundos));
+            return resumos;
+        }
+    }
+
+    // Metade das requisições é extrato e metade transferência, para clientes sorteados; no máximo
+    // CONCORRENCIA ficam em voo ao mesmo tempo
+    private void disparar(int porta, List<ClienteCarga> clientes, Map<String, String> tokens, int quantidade,
+            MedidorLatencia medidor) throws Exception {
+        Random random = new Random(42);
+        Semaphore emVoo = new Semaphore(CONCORRENCIA);
+        List<CompletableFuture<Void>> respostas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            ClienteCarga cliente = clientes.get(random.nextInt(clientes.size()));
+            Operacao operacao = i % 2 == 0 ? Operacao.EXTRATO : Operacao.TRANSFERENCIA;
+            HttpRequest requisicao = operacao == Operacao.EXTRATO
+                    ? requisicao(porta, "/conta/extrato?tamanho=20", tokens.get(cliente.login())).GET().build()
+                    : requisicao(porta, "/transacao/transferir", tokens.get(cliente.login()))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"valor\": 1, \"numeroContaDestino\": "
+                                    + clientes.get(random.nextInt(clientes.size())).numeroConta() + "}"))
+                            .build();
+
+            emVoo.acquire();
+            long inicio = System.nanoTime();
+            respostas.add(httpClient.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .handle((resposta, erro) -> {
+                        emVoo.release();
+                        // Falha de conexão conta como erro do servidor
+                        medidor.registrar(operacao, (System.nanoTime() - inicio) / 1_000,
+                                erro == null ? resposta.statusCode() : 599);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(respostas.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private HttpRequest.Builder requisicao(int porta, String caminho, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(120))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private List<ClienteCarga> popular(ConfigurableApplicationContext contexto) {
+        ConfiguracaoCarga configuracao = new ConfiguracaoCarga(2, CLIENTES, CLIENTES * 20, 0, 0, 0, 42L, Map.of());
+        return new DatasetCarga(contexto.getBean(AgenciaRepository.class), contexto.getBean(ClienteRepository.class),
+                contexto.getBean(ContaRepository.class), contexto.getBean(JdbcTemplate.class)).popular(configuracao);
+    }
+
+    // Tokens gerados direto pelo TokenService: o login (BCrypt) não faz parte da medição
+    private Map<String, String> gerarTokens(ConfigurableApplicationContext contexto, List<ClienteCarga> clientes) {
+        ClienteRepository clienteRepository = contexto.getBean(ClienteRepository.class);
+        TokenService tokenService = contexto.getBean(TokenService.class);
+        Map<String, String> tokens = new HashMap<>();
+        for (ClienteCarga cliente : clientes) {
+            tokens.put(cliente.login(), tokenService.generateToken(clienteRepository.findByLogin(cliente.login()).get()));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,109 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.JWTVerifier;
+
+import br.acc.bank.model.Usuario;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.security.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Custo de CPU da verificação do JWT por requisição: antes (algoritmo e verificador recriados
+// a cada chamada, token verificado no filtro e de novo no controller) x verificação única com o
+// verificador compartilhado x depois (token repetido atendido pelo cache de tokens verificados).
+// Executar com: mvn test -Pbenchmark -Dtest=TokenVerificacaoBenchmarkTest
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenVerificacaoBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenService tokenService;
+
+    private String token;
+
+    private JWTVerifier verifier;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "tamanhoCache", 10_000);
+        ReflectionTestUtils.setField(tokenService, "ttlCacheSegundos", 600L);
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        Usuario usuario = new Usuario("João Silva", "12345678900", null, "11987654321", "joao.silva@example.com",
+                "joao", "joao123", UsuarioRole.USUARIO);
+        usuario.setId(1L);
+        token = tokenService.generateToken(usuario);
+        verifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer("auth-api").build();
+    }
+
+    @Benchmark
+    public String requisicaoAntes() {
+        // SecurityFilter e, em seguida, o controller verificando o mesmo token
+        verificarRecriandoVerificador(token);
+        return verificarRecriandoVerificador(token);
+    }
+
+    @Benchmark
+    public String requisicaoSemCache() {
+        return verifier.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String requisicaoDepois() {
+        return tokenService.validateToken(token);
+    }
+
+    // Caminho antigo do TokenService: Algorithm e JWTVerifier construídos a cada chamada
+    private static String verificarRecriandoVerificador(String token) {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer("auth-api")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Test
+    @DisplayName("Benchmark: verificação do JWT por requisição antes x depois")
+    void benchmarkVerificacaoToken() throws Exception {
+        Options opcoes = OpcoesBenchmark.padrao(getClass())
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+        Map<String, Double> scores = resultados.stream().collect(Collectors.toMap(
+                resultado -> resultado.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                resultado -> resultado.getPrimaryResult().getScore()));
+
+        assertTrue(scores.get("requisicaoSemCache") < scores.get("requisicaoAntes"));
+        assertTrue(scores.get("requisicaoDepois") < scores.get("requisicaoSemCache"));
+    }
+}
@@ -0,0 +1,194 @@
+package br.acc.bank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import br.acc.bank.dto.transacao.TransacaoRequestDTO;
+import br.acc.bank.dto.transacao.TransferenciaRequestDTO;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.TransacaoRepository;
+import br.acc.bank.service.TransacaoService;
+
+// Depósito, saque e transferência pelo TransacaoService real, com JPA e H2 em memória.
+// Mede o caminho completo do serviço (consultas, bloqueios, UPDATEs e INSERT da transação).
+// Executar com: mvn test -Pbenchmark -Dtest=TransacaoServiceBenchmarkTest
+// Relatório em target/jmh/TransacaoServiceBenchmarkTest-<versão>.json
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransacaoServiceBenchmarkTest {
+
+    private static final BigDecimal VALOR = BigDecimal.ONE;
+    // Saldo que nenhuma execução consegue esgotar, para que saques e transferências nunca falhem
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000000000");
+
+    private ConfigurableApplicationContext contexto;
+
+    private TransacaoService transacaoService;
+
+    private TransacaoRepository transacaoRepository;
+
+    private String loginOrigem;
+
+    private TransacaoRequestDTO transacao;
+
+    private TransferenciaRequestDTO transferencia;
+
+    // Somente JPA, repositórios e o serviço: sem web, segurança ou agendamentos
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("br.acc.bank.model")
+    @EnableJpaRepositories("br.acc.bank.repository")
+    @Import(TransacaoService.class)
+    public static class Contexto {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passadas como argumentos para terem precedência sobre o application.properties (MySQL)
+        contexto = new SpringApplicationBuilder(Contexto.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        transacaoService = contexto.getBean(TransacaoService.class);
+        transacaoRepository = contexto.getBean(TransacaoRepository.class);
+
+        AgenciaRepository agenciaRepository = contexto.getBean(AgenciaRepository.class);
+        ClienteRepository clienteRepository = contexto.getBean(ClienteRepository.class);
+        ContaRepository contaRepository = contexto.getBean(ContaRepository.class);
+
+        Agencia agencia = agenciaRepository.save(createAgencia());
+        Conta contaOrigem = contaRepository.save(createConta(agencia, clienteRepository.save(createCliente(1))));
+        Conta contaDestino = contaRepository.save(createConta(agencia, clienteRepository.save(createCliente(2))));
+
+        loginOrigem = contaOrigem.getCliente().getLogin();
+        transacao = new TransacaoRequestDTO(VALOR);
+        transferencia = new TransferenciaRequestDTO(VALOR, contaDestino.getNumero());
+    }
+
+    // Remove as transações geradas na iteração, mantendo o tamanho da tabela (e do heap) estável
+    @TearDown(Level.Iteration)
+    public void limparTransacoes() {
+        transacaoRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object deposito() {
+        return transacaoService.deposit(transacao, loginOrigem);
+    }
+
+    @Benchmark
+    public Object saque() {
+        return transacaoService.withdraw(transacao, loginOrigem);
+    }
+
+    @Benchmark
+    public Object transferencia() {
+        return transacaoService.transfer(transferencia, loginOrigem);
+    }
+
+    @Test
+    @DisplayName("Benchmark: depósito, saque e transferência pelo TransacaoService com H2")
+    void benchmarkTransacaoService() throws Exception {
+        // Aquecimento maior: o caminho Spring/Hibernate/H2 leva mais tempo até ser compilado pelo JIT
+        Options opcoes = OpcoesBenchmark.padrao(getClass())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(2))
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.stream().allMatch(resultado -> resultado.getPrimaryResult().getScore() > 0));
+        assertTrue(Files.exists(OpcoesBenchmark.relatorio(getClass())));
+    }
+
+    private Conta createConta(Agencia agencia, Cliente cliente) {
+        Conta conta = new ContaCorrente(null, 100_000L + cliente.getId(), agencia, cliente);
+        conta.setSaldo(SALDO_INICIAL);
+        return conta;
+    }
+
+    private Cliente createCliente(int indice) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + indice);
+        cliente.setCpf(String.format("%011d", indice));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setEmail("cliente" + indice + "@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("cliente" + indice);
+        cliente.setPassword("senha123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
@@ -0,0 +1,191 @@
+package br.acc.bank.carga;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.acc.bank.carga.ConfiguracaoCarga.Operacao;
+import br.acc.bank.carga.DatasetCarga.ClienteCarga;
+import br.acc.bank.carga.MedidorLatencia.Resumo;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+
+// Teste de carga de ponta a ponta: sobe a aplicação completa (Tomcat, segurança, JPA) em uma porta
+// local, popula a massa de dados e dispara a mistura de login, depósito, saque, transferência,
+// extrato e minha-conta com usuários virtuais concorrentes, sem acesso à rede externa.
+// Ao final imprime e grava em target/carga/relatorio-<versão>.txt as requisições, falhas,
+// throughput e latências p50/p99 por operação.
+//
+// Executar com: mvn test -Pcarga
+// Parâmetros: -Dcarga.clientes, -Dcarga.transacoes, -Dcarga.usuarios, -Dcarga.duracao-segundos,
+// -Dcarga.peso.<operacao>, ... (veja ConfiguracaoCarga). Por padrão usa H2 em memória; para um
+// MySQL local informe -Dcarga.datasource.url/username/password apontando para um schema
+// dedicado, que é recriado pelo teste.
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CargaEndToEndTest {
+
+    private static final ConfiguracaoCarga CONFIGURACAO = ConfiguracaoCarga.doSistema();
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ClienteHttpCarga http;
+
+    // Token atual de cada cliente, renovado pelas operações de login
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    @DynamicPropertySource
+    static void bancoDeDados(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> System.getProperty("carga.datasource.url", "jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1"));
+        registry.add("spring.datasource.username", () -> System.getProperty("carga.datasource.username", "sa"));
+        registry.add("spring.datasource.password", () -> System.getProperty("carga.datasource.password", ""));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.root", () -> "WARN");
+    }
+
+    @Test
+    @DisplayName("Carga: mistura de operações de cliente com a massa de dados semeada")
+    void cargaMisturaOperacoes() throws Exception {
+        http = new ClienteHttpCarga(porta);
+        List<ClienteCarga> clientes = new DatasetCarga(agenciaRepository, clienteRepository, contaRepository,
+                jdbcTemplate).popular(CONFIGURACAO);
+        for (ClienteCarga cliente : clientes) {
+            assertEquals(200, autenticar(cliente), "login inicial de " + cliente.login());
+        }
+
+        MedidorLatencia medidor = new MedidorLatencia();
+        long inicioMedicao = System.nanoTime() + Duration.ofSeconds(CONFIGURACAO.aquecimentoSegundos()).toNanos();
+        long fim = inicioMedicao + Duration.ofSeconds(CONFIGURACAO.duracaoSegundos()).toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONFIGURACAO.usuariosVirtuais());
+        List<Future<?>> usuarios = new ArrayList<>();
+        for (int i = 0; i < CONFIGURACAO.usuariosVirtuais(); i++) {
+            Random random = new Random(CONFIGURACAO.semente() + i);
+            usuarios.add(executor.submit(() -> {
+                while (System.nanoTime() < fim) {
+                    Operacao operacao = sortear(random);
+                    ClienteCarga cliente = clientes.get(random.nextInt(clientes.size()));
+                    long inicio = System.nanoTime();
+                    int status = executar(operacao, cliente, clientes, random);
+                    // Requisições do aquecimento não entram no relatório
+                    if (inicio >= inicioMedicao)
+                        medidor.registrar(operacao, (System.nanoTime() - inicio) / 1_000, status);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> usuario : usuarios) {
+            usuario.get();
+        }
+        executor.shutdown();
+
+        Resumo[] resumos = medidor.resumir(CONFIGURACAO.duracaoSegundos());
+        String relatorio = cabecalho() + MedidorLatencia.formatar(resumos, CONFIGURACAO.duracaoSegundos());
+        System.out.println(relatorio);
+        Files.writeString(arquivoRelatorio("relatorio"), relatorio, StandardCharsets.UTF_8);
+
+        for (Resumo resumo : resumos) {
+            if (CONFIGURACAO.pesos().get(resumo.operacao()) > 0)
+                assertTrue(resumo.requisicoes() > 0, "sem requisições de " + resumo.operacao());
+            assertEquals(0, resumo.errosServidor(), "erros 5xx em " + resumo.operacao());
+        }
+    }
+
+    private int executar(Operacao operacao, ClienteCarga cliente, List<ClienteCarga> clientes, Random random)
+            throws IOException, InterruptedException {
+        String token = tokens.get(cliente.login());
+        return switch (operacao) {
+            case LOGIN -> autenticar(cliente);
+            case DEPOSITO -> http.post("/transacao/depositar", token, "{\"valor\": " + valor(random) + "}");
+            case SAQUE -> http.post("/transacao/sacar", token, "{\"valor\": " + valor(random) + "}");
+            case TRANSFERENCIA -> http.post("/transacao/transferir", token, "{\"valor\": " + valor(random)
+                    + ", \"numeroContaDestino\": " + outroCliente(cliente, clientes, random).numeroConta() + "}");
+            case EXTRATO -> http.get("/conta/extrato?tamanho=20", token);
+            case MINHA_CONTA -> http.get("/conta/minha-conta", token);
+        };
+    }
+
+    // Login pelo endpoint real; o token devolvido passa a ser usado pelo cliente nas próximas operações
+    private int autenticar(ClienteCarga cliente) throws IOException, InterruptedException {
+        ClienteHttpCarga.Login login = http.login(cliente);
+        if (login.token() != null)
+            tokens.put(cliente.login(), login.token());
+        return login.status();
+    }
+
+    private Operacao sortear(Random random) {
+        int sorteio = random.nextInt(CONFIGURACAO.pesoTotal());
+        for (Map.Entry<Operacao, Integer> peso : CONFIGURACAO.pesos().entrySet()) {
+            sorteio -= peso.getValue();
+            if (sorteio < 0)
+                return peso.getKey();
+        }
+        throw new IllegalStateException("Pesos das operações inválidos");
+    }
+
+    private static String valor(Random random) {
+        return String.valueOf(1 + random.nextInt(100));
+    }
+
+    static ClienteCarga outroCliente(ClienteCarga cliente, List<ClienteCarga> clientes, Random random) {
+        ClienteCarga destino;
+        do {
+            destino = clientes.get(random.nextInt(clientes.size()));
+        } while (destino == cliente && clientes.size() > 1);
+        return destino;
+    }
+
+    private String cabecalho() {
+        return String.format("%nCarga em %s: %d agências, %d clientes, %d transações históricas, %d usuários virtuais,"
+                + " %ds de aquecimento, %ds de medição, semente %d, pesos %s%n%n", LocalDateTime.now(),
+                CONFIGURACAO.agencias(), CONFIGURACAO.clientes(), CONFIGURACAO.transacoesHistoricas(),
+                CONFIGURACAO.usuariosVirtuais(), CONFIGURACAO.aquecimentoSegundos(), CONFIGURACAO.duracaoSegundos(),
+                CONFIGURACAO.semente(), CONFIGURACAO.pesos());
+    }
+
+    // Arquivo do relatório na pasta de relatórios da carga, com a versão no nome
+    static Path arquivoRelatorio(String nome) throws IOException {
+        Path diretorio = Path.of(System.getProperty("carga.relatorios", "target/carga"));
+        Files.createDirectories(diretorio);
+        return diretorio.resolve(nome + "-" + System.getProperty("carga.versao", "local") + ".txt");
+    }
+}
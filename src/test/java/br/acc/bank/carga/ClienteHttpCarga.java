@@ -0,0 +1,64 @@
+package br.acc.bank.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.acc.bank.carga.DatasetCarga.ClienteCarga;
+
+// Cliente HTTP dos testes de carga, apontando para a aplicação em localhost. Devolve somente o
+// status das respostas: o corpo é descartado, exceto o token do login.
+public class ClienteHttpCarga {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final int porta;
+
+    // Resultado do login; token nulo quando o status não é 200
+    public record Login(int status, String token) {
+    }
+
+    public ClienteHttpCarga(int porta) {
+        this.porta = porta;
+    }
+
+    public Login login(ClienteCarga cliente) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = httpClient.send(requisicao("/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"login\": \"" + cliente.login() + "\", \"password\": \"" + DatasetCarga.SENHA + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200)
+            return new Login(resposta.statusCode(), null);
+        return new Login(200, objectMapper.readTree(resposta.body()).get("token").asText());
+    }
+
+    public int post(String caminho, String token, String corpo) throws IOException, InterruptedException {
+        return httpClient.send(requisicao(caminho, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public int get(String caminho, String token) throws IOException, InterruptedException {
+        return httpClient.send(requisicao(caminho, token).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho));
+        if (token != null)
+            requisicao.header("Authorization", "Bearer " + token);
+        return requisicao;
+    }
+}
@@ -0,0 +1,41 @@
+package br.acc.bank.carga;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Parâmetros do teste de carga, lidos das propriedades de sistema (-Dcarga.<nome>=valor).
+// Mesma semente e mesmos tamanhos geram a mesma massa de dados e a mesma sequência de operações.
+public record ConfiguracaoCarga(int agencias, int clientes, int transacoesHistoricas, int usuariosVirtuais,
+        int aquecimentoSegundos, int duracaoSegundos, long semente, Map<Operacao, Integer> pesos) {
+
+    // Operações simuladas, com o peso padrão de cada uma na mistura de requisições
+    public enum Operacao {
+        LOGIN(5), DEPOSITO(20), SAQUE(15), TRANSFERENCIA(20), EXTRATO(25), MINHA_CONTA(15);
+
+        private final int pesoPadrao;
+
+        Operacao(int pesoPadrao) {
+            this.pesoPadrao = pesoPadrao;
+        }
+    }
+
+    public static ConfiguracaoCarga doSistema() {
+        Map<Operacao, Integer> pesos = new LinkedHashMap<>();
+        for (Operacao operacao : Operacao.values()) {
+            pesos.put(operacao, Integer.getInteger("carga.peso." + operacao.name().toLowerCase(), operacao.pesoPadrao));
+        }
+        return new ConfiguracaoCarga(
+                Integer.getInteger("carga.agencias", 5),
+                Integer.getInteger("carga.clientes", 200),
+                Integer.getInteger("carga.transacoes", 20_000),
+                Integer.getInteger("carga.usuarios", 16),
+                Integer.getInteger("carga.aquecimento-segundos", 10),
+                Integer.getInteger("carga.duracao-segundos", 30),
+                Long.getLong("carga.semente", 42L),
+                pesos);
+    }
+
+    public int pesoTotal() {
+        return pesos.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
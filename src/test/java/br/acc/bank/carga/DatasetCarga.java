@@ -0,0 +1,155 @@
+package br.acc.bank.carga;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.ContaPoupanca;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.TipoTransacao;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.SequenciaIds;
+
+// Massa de dados reproduzível do teste de carga: agências, clientes com uma conta cada e o
+// histórico de transações. Agências, clientes e contas passam pelos repositórios; o histórico,
+// que é o volume, é inserido em lotes via JDBC. O histórico não altera os saldos: as contas
+// começam com saldo alto o bastante para que saques e transferências da carga não falhem.
+public class DatasetCarga {
+
+    public static final String SENHA = "senha123";
+
+    private static final int LOTE_TRANSACOES = 1_000;
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000000");
+    private static final TipoTransacao[] TIPOS_HISTORICO = { TipoTransacao.DEPOSITO, TipoTransacao.SAQUE,
+            TipoTransacao.TRANSFERENCIA };
+
+    private final AgenciaRepository agenciaRepository;
+
+    private final ClienteRepository clienteRepository;
+
+    private final ContaRepository contaRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Cliente da massa de dados: login (senha SENHA) e número da sua conta
+    public record ClienteCarga(String login, Long numeroConta) {
+    }
+
+    public DatasetCarga(AgenciaRepository agenciaRepository, ClienteRepository clienteRepository,
+            ContaRepository contaRepository, JdbcTemplate jdbcTemplate) {
+        this.agenciaRepository = agenciaRepository;
+        this.clienteRepository = clienteRepository;
+        this.contaRepository = contaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ClienteCarga> popular(ConfiguracaoCarga configuracao) {
+        Random random = new Random(configuracao.semente());
+        // Um único hash para todos os clientes: o BCrypt de cada senha tornaria a carga inicial lenta
+        String senhaCriptografada = new BCryptPasswordEncoder().encode(SENHA);
+
+        List<Agencia> agencias = new ArrayList<>();
+        for (int i = 0; i < configuracao.agencias(); i++) {
+            agencias.add(agenciaRepository.save(createAgencia(i)));
+        }
+
+        List<ClienteCarga> clientes = new ArrayList<>();
+        List<Long> contaIds = new ArrayList<>();
+        for (int i = 0; i < configuracao.clientes(); i++) {
+            Cliente cliente = clienteRepository.save(createCliente(i, senhaCriptografada));
+            Agencia agencia = agencias.get(random.nextInt(agencias.size()));
+            Long numero = 100_000L + i;
+            Conta conta = random.nextBoolean()
+                    ? new ContaCorrente(null, numero, agencia, cliente)
+                    : new ContaPoupanca(null, numero, agencia, cliente);
+            conta.setSaldo(SALDO_INICIAL);
+            contaIds.add(contaRepository.save(conta).getId());
+            clientes.add(new ClienteCarga(cliente.getLogin(), numero));
+        }
+
+        inserirHistorico(configuracao.transacoesHistoricas(), contaIds, random);
+        return clientes;
+    }
+
+    // Transações distribuídas no último ano entre contas aleatórias
+    private void inserirHistorico(int quantidade, List<Long> contaIds, Random random) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Object[]> lote = new ArrayList<>(LOTE_TRANSACOES);
+        for (int i = 0; i < quantidade; i++) {
+            TipoTransacao tipo = TIPOS_HISTORICO[random.nextInt(TIPOS_HISTORICO.length)];
+            Long origem = contaIds.get(random.nextInt(contaIds.size()));
+            Long destino = null;
+            if (tipo == TipoTransacao.TRANSFERENCIA && contaIds.size() > 1) {
+                do {
+                    destino = contaIds.get(random.nextInt(contaIds.size()));
+                } while (destino.equals(origem));
+            }
+            LocalDateTime data = agora.minusMinutes(random.nextInt(365 * 24 * 60));
+            lote.add(new Object[] { null, BigDecimal.valueOf(1 + random.nextInt(50_000), 2), tipo.name(),
+                    Timestamp.valueOf(data), origem, destino });
+
+            if (lote.size() == LOTE_TRANSACOES || i == quantidade - 1) {
+                // Ids reservados na tabela dos geradores, para não colidirem com as transações da carga
+                long id = SequenciaIds.reservar(jdbcTemplate,
+                        new DataSourceTransactionManager(jdbcTemplate.getDataSource()), "transacoes", lote.size());
+                for (Object[] transacao : lote)
+                    transacao[0] = id++;
+                jdbcTemplate.batchUpdate("INSERT INTO transacoes (id, valor, tipo, data_transacao, conta_origem_id, conta_destino_id)"
+                        + " VALUES (?, ?, ?, ?, ?, ?)", lote,
+                        new int[] { Types.BIGINT, Types.DECIMAL, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT, Types.BIGINT });
+                lote.clear();
+            }
+        }
+    }
+
+    private Cliente createCliente(int indice, String senhaCriptografada) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Carga " + indice);
+        cliente.setCpf(String.format("%011d", indice + 1));
+        cliente.setDataNascimento(LocalDate.of(1970, 1, 1).plusDays(indice % 15_000));
+        cliente.setEmail("cliente" + indice + "@carga.local");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("carga" + indice);
+        cliente.setPassword(senhaCriptografada);
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia(int indice) {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Carga " + indice);
+        agencia.setNumero(1_000L + indice);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
@@ -0,0 +1,166 @@
+package br.acc.bank.carga;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.acc.bank.carga.ConfiguracaoCarga.Operacao;
+import br.acc.bank.carga.DatasetCarga.ClienteCarga;
+import br.acc.bank.carga.MedidorLatencia.Resumo;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+
+// Latência das transferências durante uma rajada de logins. Primeiro mede só as transferências
+// (linha de base) e depois as mesmas transferências com usuários disparando logins sem pausa.
+// O pool de senhas limitado (api.security.password.*) deve manter o p99 das transferências estável
+// e recusar o excesso de logins com 429, em vez de ocupar todas as threads do Tomcat com BCrypt.
+//
+// Executar com: mvn test -Pcarga -Dtest=LoginFloodCargaTest
+// Parâmetros: os de ConfiguracaoCarga (-Dcarga.usuarios são os usuários de transferência,
+// -Dcarga.duracao-segundos a duração de cada fase), -Dcarga.login.usuarios (32) e
+// -Dcarga.login.fila (8, fila do pool de senhas) e -Dcarga.login.fator-p99 (3.0, quanto o p99 pode
+// crescer em relação à linha de base).
+// Relatório em target/carga/login-flood-<versão>.txt
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoginFloodCargaTest {
+
+    private static final ConfiguracaoCarga CONFIGURACAO = ConfiguracaoCarga.doSistema();
+    private static final int USUARIOS_LOGIN = Integer.getInteger("carga.login.usuarios", 32);
+    private static final double FATOR_P99 = Double.parseDouble(System.getProperty("carga.login.fator-p99", "3.0"));
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${api.security.password.threads}")
+    private int threadsSenha;
+
+    @Value("${api.security.password.queue-size}")
+    private int filaSenha;
+
+    @DynamicPropertySource
+    static void bancoDeDados(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> System.getProperty("carga.datasource.url", "jdbc:h2:mem:carga-login;DB_CLOSE_DELAY=-1"));
+        registry.add("spring.datasource.username", () -> System.getProperty("carga.datasource.username", "sa"));
+        registry.add("spring.datasource.password", () -> System.getProperty("carga.datasource.password", ""));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.root", () -> "WARN");
+        // Fila curta: com os usuários de login acima da capacidade, o excesso é recusado na hora
+        registry.add("api.security.password.queue-size", () -> System.getProperty("carga.login.fila", "8"));
+    }
+
+    @Test
+    @DisplayName("Carga: p99 das transferências estável durante uma rajada de logins")
+    void cargaTransferenciasDuranteRajadaDeLogins() throws Exception {
+        ClienteHttpCarga http = new ClienteHttpCarga(porta);
+        List<ClienteCarga> clientes = new DatasetCarga(agenciaRepository, clienteRepository, contaRepository,
+                jdbcTemplate).popular(CONFIGURACAO);
+        List<String> tokens = new ArrayList<>();
+        for (ClienteCarga cliente : clientes) {
+            ClienteHttpCarga.Login login = http.login(cliente);
+            assertEquals(200, login.status(), "login inicial de " + cliente.login());
+            tokens.add(login.token());
+        }
+
+        executarFase(http, clientes, tokens, 0, Duration.ofSeconds(CONFIGURACAO.aquecimentoSegundos()));
+        MedidorLatencia linhaDeBase = executarFase(http, clientes, tokens, 0,
+                Duration.ofSeconds(CONFIGURACAO.duracaoSegundos()));
+        MedidorLatencia rajada = executarFase(http, clientes, tokens, USUARIOS_LOGIN,
+                Duration.ofSeconds(CONFIGURACAO.duracaoSegundos()));
+
+        double duracao = CONFIGURACAO.duracaoSegundos();
+        Resumo transferenciasBase = linhaDeBase.resumir(Operacao.TRANSFERENCIA, duracao);
+        Resumo transferenciasRajada = rajada.resumir(Operacao.TRANSFERENCIA, duracao);
+        Resumo logins = rajada.resumir(Operacao.LOGIN, duracao);
+
+        String relatorio = String.format(Locale.ROOT, "%nRajada de logins: %d clientes, %d usuários de transferência,"
+                + " %d usuários de login, pool de senhas com %d threads e fila de %d, %ds por fase%n",
+                clientes.size(), CONFIGURACAO.usuariosVirtuais(), USUARIOS_LOGIN, threadsSenha, filaSenha,
+                CONFIGURACAO.duracaoSegundos())
+                + String.format("%nlinha de base (somente transferências)%n")
+                + MedidorLatencia.formatar(new Resumo[] { transferenciasBase }, duracao)
+                + String.format("%ndurante a rajada de logins (falhas de LOGIN = recusados com 429)%n")
+                + MedidorLatencia.formatar(new Resumo[] { transferenciasRajada, logins }, duracao)
+                + String.format(Locale.ROOT, "%np99 das transferências: %.2f ms -> %.2f ms (limite %.1fx)%n",
+                        transferenciasBase.p99(), transferenciasRajada.p99(), FATOR_P99);
+        System.out.println(relatorio);
+        Files.writeString(CargaEndToEndTest.arquivoRelatorio("login-flood"), relatorio, StandardCharsets.UTF_8);
+
+        assertEquals(0, transferenciasBase.errosServidor());
+        assertEquals(0, transferenciasRajada.errosServidor());
+        assertEquals(0, logins.errosServidor());
+        assertTrue(transferenciasRajada.requisicoes() > 0);
+        // Logins além da capacidade do pool são recusados, não enfileirados no Tomcat
+        assertTrue(logins.falhas() > 0, "nenhum login recusado: a rajada não saturou o pool de senhas");
+        assertTrue(transferenciasRajada.p99() <= transferenciasBase.p99() * FATOR_P99,
+                "p99 das transferências passou de " + transferenciasBase.p99() + " ms para "
+                        + transferenciasRajada.p99() + " ms");
+    }
+
+    // Usuários de transferência (CONFIGURACAO.usuariosVirtuais) e, se houver, usuários que só fazem login
+    private MedidorLatencia executarFase(ClienteHttpCarga http, List<ClienteCarga> clientes, List<String> tokens,
+            int usuariosLogin, Duration duracao) throws Exception {
+        MedidorLatencia medidor = new MedidorLatencia();
+        long fim = System.nanoTime() + duracao.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(CONFIGURACAO.usuariosVirtuais() + usuariosLogin);
+        List<Future<?>> usuarios = new ArrayList<>();
+        for (int i = 0; i < CONFIGURACAO.usuariosVirtuais() + usuariosLogin; i++) {
+            boolean login = i >= CONFIGURACAO.usuariosVirtuais();
+            Random random = new Random(CONFIGURACAO.semente() + i);
+            usuarios.add(executor.submit(() -> {
+                while (System.nanoTime() < fim) {
+                    int indice = random.nextInt(clientes.size());
+                    ClienteCarga cliente = clientes.get(indice);
+                    long inicio = System.nanoTime();
+                    int status = login
+                            ? http.login(cliente).status()
+                            : http.post("/transacao/transferir", tokens.get(indice), "{\"valor\": 1, \"numeroContaDestino\": "
+                                    + CargaEndToEndTest.outroCliente(cliente, clientes, random).numeroConta() + "}");
+                    medidor.registrar(login ? Operacao.LOGIN : Operacao.TRANSFERENCIA,
+                            (System.nanoTime() - inicio) / 1_000, status);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> usuario : usuarios) {
+            usuario.get();
+        }
+        executor.shutdown();
+        return medidor;
+    }
+}
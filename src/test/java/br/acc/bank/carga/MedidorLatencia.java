@@ -0,0 +1,77 @@
+package br.acc.bank.carga;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.acc.bank.carga.ConfiguracaoCarga.Operacao;
+
+// Latências (em microssegundos) e falhas por operação durante a janela de medição
+public class MedidorLatencia {
+
+    private final Map<Operacao, ConcurrentLinkedQueue<Long>> latencias = new EnumMap<>(Operacao.class);
+
+    private final Map<Operacao, LongAdder> falhas = new EnumMap<>(Operacao.class);
+
+    private final Map<Operacao, LongAdder> errosServidor = new EnumMap<>(Operacao.class);
+
+    // Resumo de uma operação; as latências em milissegundos
+    public record Resumo(Operacao operacao, int requisicoes, long falhas, long errosServidor, double porSegundo,
+            double p50, double p99, double maxima) {
+    }
+
+    public MedidorLatencia() {
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new ConcurrentLinkedQueue<>());
+            falhas.put(operacao, new LongAdder());
+            errosServidor.put(operacao, new LongAdder());
+        }
+    }
+
+    // Registra uma requisição; status fora de 2xx conta como falha e 5xx também como erro do servidor
+    public void registrar(Operacao operacao, long micros, int status) {
+        latencias.get(operacao).add(micros);
+        if (status < 200 || status >= 300)
+            falhas.get(operacao).increment();
+        if (status >= 500)
+            errosServidor.get(operacao).increment();
+    }
+
+    public Resumo resumir(Operacao operacao, double duracaoSegundos) {
+        long[] valores = latencias.get(operacao).stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Resumo(operacao, valores.length, falhas.get(operacao).sum(), errosServidor.get(operacao).sum(),
+                valores.length / duracaoSegundos, percentil(valores, 50), percentil(valores, 99),
+                valores.length == 0 ? 0 : valores[valores.length - 1] / 1_000.0);
+    }
+
+    public Resumo[] resumir(double duracaoSegundos) {
+        return Arrays.stream(Operacao.values()).map(operacao -> resumir(operacao, duracaoSegundos))
+                .toArray(Resumo[]::new);
+    }
+
+    // Tabela de texto com uma linha por operação e o total
+    public static String formatar(Resumo[] resumos, double duracaoSegundos) {
+        StringBuilder tabela = new StringBuilder(String.format(Locale.ROOT, "%-14s %10s %8s %8s %10s %10s %10s %10s%n",
+                "operacao", "requisicoes", "falhas", "5xx", "req/s", "p50 ms", "p99 ms", "max ms"));
+        int total = 0;
+        for (Resumo resumo : resumos) {
+            total += resumo.requisicoes();
+            tabela.append(String.format(Locale.ROOT, "%-14s %10d %8d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                    resumo.operacao(), resumo.requisicoes(), resumo.falhas(), resumo.errosServidor(),
+                    resumo.porSegundo(), resumo.p50(), resumo.p99(), resumo.maxima()));
+        }
+        tabela.append(String.format(Locale.ROOT, "%-14s %10d %28.1f%n", "TOTAL", total, total / duracaoSegundos));
+        return tabela.toString();
+    }
+
+    // Percentil pelo método nearest-rank, em milissegundos
+    private static double percentil(long[] ordenados, int percentil) {
+        if (ordenados.length == 0)
+            return 0;
+        int posicao = (int) Math.ceil(percentil / 100.0 * ordenados.length) - 1;
+        return ordenados[Math.max(posicao, 0)] / 1_000.0;
+    }
+}
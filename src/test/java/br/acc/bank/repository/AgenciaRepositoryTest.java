@@ -1,16 +1,21 @@
 package br.acc.bank.repository;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import br.acc.bank.dto.agencia.AgenciaResumoDTO;
 import br.acc.bank.model.Agencia;
 import br.acc.bank.model.Endereco;
 import jakarta.persistence.EntityManager;
@@ -59,6 +64,35 @@ public class AgenciaRepositoryTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    @DisplayName("Deve listar as agências projetadas com o endereço")
+    void testFindAllResumosSuccess() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(endereco);
+        this.createAgencia(agencia);
+
+        List<AgenciaResumoDTO> result = this.agenciaRepository.findResumos(PageRequest.of(0, 10, Sort.by("id")))
+                .getContent();
+
+        assertEquals(1, result.size());
+        assertEquals(agencia.getId(), result.get(0).getId());
+        assertEquals("Agência Central", result.get(0).getNome());
+        assertEquals("Rua das Flores", result.get(0).getRua());
+        assertEquals("123", result.get(0).getEnderecoNumero());
+    }
+
     private Agencia createAgencia(Agencia agencia) {
         this.entityManager.persist(agencia);
         return agencia;
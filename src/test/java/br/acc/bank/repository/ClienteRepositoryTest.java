@@ -3,14 +3,19 @@ package br.acc.bank.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import br.acc.bank.dto.cliente.ClienteResumoDTO;
 import br.acc.bank.model.Cliente;
 import br.acc.bank.model.Endereco;
 import br.acc.bank.model.enums.UsuarioRole;
@@ -89,6 +94,55 @@ public class ClienteRepositoryTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    @DisplayName("Deve listar os clientes projetados com e sem endereço")
+    void testFindAllResumosSuccess() {
+        Cliente cliente = this.createCliente(createClienteValid());
+        Cliente semEndereco = createClienteValid();
+        semEndereco.setCpf("98765432100");
+        semEndereco.setEmail("maria@example.com");
+        semEndereco.setLogin("maria");
+        semEndereco.setEndereco(null);
+        this.createCliente(semEndereco);
+
+        List<ClienteResumoDTO> result = this.clienteRepository.findResumos(PageRequest.of(0, 10, Sort.by("id")))
+                .getContent();
+
+        assertEquals(2, result.size());
+        ClienteResumoDTO resumo = result.get(0);
+        assertEquals(cliente.getId(), resumo.getId());
+        assertEquals("joao", resumo.getLogin());
+        assertEquals(LocalDate.of(1990, 1, 1), resumo.getDataNascimento());
+        assertEquals(UsuarioRole.USUARIO, resumo.getRole());
+        assertNotNull(resumo.getEnderecoId());
+        assertEquals("12345678", resumo.getCep());
+        assertEquals("123", resumo.getEnderecoNumero());
+        assertNull(result.get(1).getEnderecoId());
+    }
+
+    @Test
+    @DisplayName("Deve paginar os clientes projetados pela ordenação informada sem contar o total")
+    void testFindResumosPaginado() {
+        for (String login : List.of("carla", "ana", "bruno")) {
+            Cliente cliente = createClienteValid();
+            cliente.setNome(login);
+            cliente.setCpf(login + "-cpf");
+            cliente.setEmail(login + "@example.com");
+            cliente.setLogin(login);
+            this.createCliente(cliente);
+        }
+
+        Slice<ClienteResumoDTO> primeira = this.clienteRepository
+                .findResumos(PageRequest.of(0, 2, Sort.by("nome").and(Sort.by("id"))));
+        Slice<ClienteResumoDTO> segunda = this.clienteRepository
+                .findResumos(PageRequest.of(1, 2, Sort.by("nome").and(Sort.by("id"))));
+
+        assertEquals(List.of("ana", "bruno"), primeira.map(ClienteResumoDTO::getNome).getContent());
+        assertTrue(primeira.hasNext());
+        assertEquals(List.of("carla"), segunda.map(ClienteResumoDTO::getNome).getContent());
+        assertFalse(segunda.hasNext());
+    }
+
     private Cliente createCliente(Cliente cliente) {
         this.entityManager.persist(cliente);
         return cliente;
@@ -0,0 +1,57 @@
+package br.acc.bank.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+// H2 em modo MySQL: aceita a coluna enum nativa e o ALTER TABLE ... MODIFY usados em produção
+class ColunasEnumTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:colunas_enum;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE transacoes_antigas (id BIGINT PRIMARY KEY,"
+                + " tipo ENUM('DEPOSITO','SAQUE','TRANSFERENCIA') NOT NULL, categoria ENUM('A','B'))");
+        jdbcTemplate.update("INSERT INTO transacoes_antigas (id, tipo) VALUES (1, 'DEPOSITO')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE transacoes_antigas");
+    }
+
+    @Test
+    @DisplayName("Deve converter a coluna enum para VARCHAR mantendo os dados e a obrigatoriedade")
+    void testConverterParaVarchar() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("INSERT INTO transacoes_antigas (id, tipo) VALUES (2, 'JUROS')"));
+
+        assertTrue(ColunasEnum.converterParaVarchar(jdbcTemplate, "transacoes_antigas", "tipo", 20));
+
+        jdbcTemplate.update("INSERT INTO transacoes_antigas (id, tipo) VALUES (2, 'JUROS')");
+        assertEquals("DEPOSITO", jdbcTemplate.queryForObject("SELECT tipo FROM transacoes_antigas WHERE id = 1", String.class));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("INSERT INTO transacoes_antigas (id, tipo) VALUES (3, NULL)"));
+        // Já convertida: nada a fazer
+        assertFalse(ColunasEnum.converterParaVarchar(jdbcTemplate, "transacoes_antigas", "tipo", 20));
+    }
+
+    @Test
+    @DisplayName("Deve manter anulável a coluna enum anulável e ignorar colunas inexistentes")
+    void testConverterParaVarchar_Anulavel() {
+        assertTrue(ColunasEnum.converterParaVarchar(jdbcTemplate, "transacoes_antigas", "categoria", 20));
+
+        jdbcTemplate.update("INSERT INTO transacoes_antigas (id, tipo, categoria) VALUES (2, 'SAQUE', NULL)");
+        jdbcTemplate.update("INSERT INTO transacoes_antigas (id, tipo, categoria) VALUES (3, 'SAQUE', 'C')");
+        assertFalse(ColunasEnum.converterParaVarchar(jdbcTemplate, "transacoes_antigas", "inexistente", 20));
+    }
+}
@@ -11,7 +11,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import br.acc.bank.dto.conta.ContaResumoDTO;
 import br.acc.bank.model.Conta;
 import br.acc.bank.model.Endereco;
 import br.acc.bank.model.enums.TipoConta;
@@ -178,7 +182,7 @@ public class ContaRepositoryTest {
 
         this.contaRepository.save(conta);
 
-        boolean exists = this.contaRepository.existsByAgenciaId(1L);
+        boolean exists = this.contaRepository.existsByAgenciaId(agencia.getId());
 
         assertTrue(exists);
     }
@@ -191,6 +195,88 @@ public class ContaRepositoryTest {
         assertFalse(exists);
     }
 
+    @Test
+    @DisplayName("Deve creditar o saldo da conta diretamente no banco")
+    void testCreditarSaldoSuccess() {
+        Conta conta = saveContaValid();
+
+        int linhasAtualizadas = this.contaRepository.creditarSaldo(conta.getId(), new BigDecimal("100.00"));
+
+        Conta result = this.contaRepository.findById(conta.getId()).get();
+        assertEquals(1, linhasAtualizadas);
+        assertEquals(0, new BigDecimal("1100.00").compareTo(result.getSaldo()));
+        assertEquals(conta.getVersao() + 1, result.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve debitar o saldo da conta diretamente no banco quando houver saldo")
+    void testDebitarSaldoSuccess() {
+        Conta conta = saveContaValid();
+
+        int linhasAtualizadas = this.contaRepository.debitarSaldo(conta.getId(), new BigDecimal("1000.00"));
+
+        Conta result = this.contaRepository.findById(conta.getId()).get();
+        assertEquals(1, linhasAtualizadas);
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getSaldo()));
+    }
+
+    @Test
+    @DisplayName("Não deve debitar o saldo da conta quando o saldo for insuficiente")
+    void testDebitarSaldoInsufficientBalance() {
+        Conta conta = saveContaValid();
+
+        int linhasAtualizadas = this.contaRepository.debitarSaldo(conta.getId(), new BigDecimal("1000.01"));
+
+        Conta result = this.contaRepository.findById(conta.getId()).get();
+        assertEquals(0, linhasAtualizadas);
+        assertEquals(0, new BigDecimal("1000.00").compareTo(result.getSaldo()));
+        assertEquals(conta.getVersao(), result.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve listar as contas projetadas com agência e cliente")
+    void testFindAllResumosSuccess() {
+        Conta conta = saveContaValid();
+
+        Slice<ContaResumoDTO> result = this.contaRepository.findResumos(PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(1, result.getNumberOfElements());
+        assertFalse(result.hasNext());
+        ContaResumoDTO resumo = result.getContent().get(0);
+        assertEquals(conta.getId(), resumo.getId());
+        assertEquals(123456L, resumo.getNumero());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(resumo.getSaldo()));
+        assertEquals(TipoConta.CORRENTE, resumo.getTipo());
+        assertEquals("Agência Central", resumo.getAgenciaNome());
+        assertEquals(12345L, resumo.getAgenciaNumero());
+        assertEquals("João Silva", resumo.getClienteNome());
+        assertEquals("12345678900", resumo.getClienteCpf());
+    }
+
+    @Test
+    @DisplayName("Deve listar as contas projetadas filtrando pelo tipo")
+    void testFindAllResumosByTipoSuccess() {
+        saveContaValid();
+
+        PageRequest pagina = PageRequest.of(0, 10, Sort.by("id"));
+
+        assertEquals(1, this.contaRepository.findResumosByTipo(TipoConta.CORRENTE, pagina).getNumberOfElements());
+        assertTrue(this.contaRepository.findResumosByTipo(TipoConta.POUPANCA, pagina).isEmpty());
+        assertEquals(1, this.contaRepository.countByTipo(TipoConta.CORRENTE));
+    }
+
+    private Conta saveContaValid() {
+        Conta conta = createContaValid();
+
+        Agencia agencia = this.agenciaRepository.save(conta.getAgencia());
+        Cliente cliente = this.clienteRepository.save(conta.getCliente());
+
+        conta.getAgencia().setId(agencia.getId());
+        conta.getCliente().setId(cliente.getId());
+
+        return this.contaRepository.save(conta);
+    }
+
     private Conta createContaValid() {
         return createContaValid(TipoConta.CORRENTE);
     }
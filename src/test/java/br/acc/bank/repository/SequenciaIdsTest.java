@@ -0,0 +1,120 @@
+package br.acc.bank.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.Sequencias;
+
+// As reservas confirmam em transação própria; o teste não roda dentro de uma transação para que os
+// geradores do Hibernate e as reservas vejam a mesma tabela de sequências
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SequenciaIdsTest {
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        enderecoRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Faixas reservadas não devem coincidir com os ids gerados pelo Hibernate")
+    void testReservar_SemColisaoComHibernate() {
+        List<Long> hibernate = new ArrayList<>();
+        hibernate.add(enderecoRepository.save(createEndereco()).getId());
+
+        long primeiro = SequenciaIds.reservar(jdbcTemplate, transactionManager, "enderecos", 10);
+        for (int i = 0; i < 2 * Sequencias.INCREMENTO; i++)
+            hibernate.add(enderecoRepository.save(createEndereco()).getId());
+        long segundo = SequenciaIds.reservar(jdbcTemplate, transactionManager, "enderecos", 3);
+
+        assertTrue(hibernate.stream().noneMatch(id -> id >= primeiro && id < primeiro + 10));
+        assertTrue(hibernate.stream().noneMatch(id -> id >= segundo && id < segundo + 3));
+        assertTrue(segundo >= primeiro + 10);
+        assertEquals(hibernate.size(), hibernate.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Reserva em sequência ainda não usada deve começar no valor inicial e ser respeitada pelo Hibernate")
+    void testReservar_SequenciaNova() {
+        long primeiro = SequenciaIds.reservar(jdbcTemplate, transactionManager, "sequencia_nova_teste", 5);
+        long segundo = SequenciaIds.reservar(jdbcTemplate, transactionManager, "sequencia_nova_teste", 5);
+
+        assertEquals(1, primeiro);
+        assertEquals(6, segundo);
+    }
+
+    @Test
+    @DisplayName("Tabela já populada deve ter a sequência avançada até o maior id antes da primeira alocação")
+    void testSincronizar_TabelaPopulada() {
+        // Linha como a de um banco migrado de IDENTITY: id acima de tudo o que a sequência já reservou
+        long existente = valorSequencia("enderecos") + 1_000;
+        inserirEndereco(existente);
+
+        SequenciaIds.sincronizar(jdbcTemplate, transactionManager, "enderecos");
+
+        assertEquals(existente, valorSequencia("enderecos"));
+        assertEquals(existente + 1, SequenciaIds.reservar(jdbcTemplate, transactionManager, "enderecos", 1));
+        // Os blocos seguintes do Hibernate também ficam acima do id existente
+        for (int i = 0; i < 2 * Sequencias.INCREMENTO; i++)
+            assertNotEquals(existente, enderecoRepository.save(createEndereco()).getId());
+    }
+
+    @Test
+    @DisplayName("Sem linha da sequência, deve criá-la a partir do maior id da tabela")
+    void testSincronizar_SemLinhaDaSequencia() {
+        long existente = valorSequencia("enderecos") + 1_000;
+        inserirEndereco(existente);
+        jdbcTemplate.update("DELETE FROM " + Sequencias.TABELA + " WHERE " + Sequencias.COLUNA_NOME + " = ?", "enderecos");
+
+        SequenciaIds.sincronizar(jdbcTemplate, transactionManager, "enderecos");
+
+        assertEquals(existente, valorSequencia("enderecos"));
+        assertEquals(existente + 1, SequenciaIds.reservar(jdbcTemplate, transactionManager, "enderecos", 1));
+    }
+
+    @Test
+    @DisplayName("Sincronizar não deve recuar uma sequência que já está à frente da tabela")
+    void testSincronizar_SequenciaAFrente() {
+        long antes = SequenciaIds.reservar(jdbcTemplate, transactionManager, "enderecos", 10) + 9;
+
+        SequenciaIds.sincronizar(jdbcTemplate, transactionManager, "enderecos");
+
+        assertEquals(antes, valorSequencia("enderecos"));
+    }
+
+    private long valorSequencia(String sequencia) {
+        return jdbcTemplate.queryForObject("SELECT " + Sequencias.COLUNA_VALOR + " FROM " + Sequencias.TABELA + " WHERE "
+                + Sequencias.COLUNA_NOME + " = ?", Long.class, sequencia);
+    }
+
+    private void inserirEndereco(long id) {
+        jdbcTemplate.update("INSERT INTO enderecos (id, cep, rua, numero, bairro, cidade, estado, pais)"
+                + " VALUES (?, '12345678', 'Rua das Flores', '123', 'Centro', 'São Paulo', 'SP', 'Brasil')", id);
+    }
+
+    private Endereco createEndereco() {
+        return new Endereco(null, "12345678", "Rua das Flores", "123", "Centro", "São Paulo", "SP", "Brasil");
+    }
+}
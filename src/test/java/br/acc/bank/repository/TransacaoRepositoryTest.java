@@ -6,12 +6,15 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
+import br.acc.bank.dto.conta.TransacaoExportacaoDTO;
 import br.acc.bank.model.Transacao;
 import br.acc.bank.model.Conta;
 import br.acc.bank.model.Endereco;
@@ -118,6 +121,92 @@ public class TransacaoRepositoryTest {
         assertTrue(result.stream().anyMatch(t -> t.getContaDestino().getId().equals(contaDestino.getId())));
     }
 
+    @Test
+    @DisplayName("Deve paginar transações de origem por cursor em ordem decrescente")
+    void testFindPaginaComoOrigemKeyset() {
+        Conta contaOrigem = createContaValid();
+        Conta contaDestino = createContaValid(TipoConta.POUPANCA);
+
+        this.setContaOrigemEContaDestino(contaOrigem, contaDestino);
+
+        contaRepository.save(contaOrigem);
+        contaRepository.save(contaDestino);
+
+        LocalDateTime data = LocalDateTime.of(2024, 8, 1, 12, 0);
+        Transacao primeira = transacaoRepository.save(this.createTransacao(contaOrigem, contaDestino, data.minusDays(1)));
+        Transacao segunda = transacaoRepository.save(this.createTransacao(contaOrigem, contaDestino, data));
+        Transacao terceira = transacaoRepository.save(this.createTransacao(contaOrigem, contaDestino, data));
+
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<Transacao> pagina1 = transacaoRepository.findPaginaComoOrigem(contaOrigem.getId(), inicio, fim, fim, 0L,
+                Limit.of(2));
+        List<Transacao> pagina2 = transacaoRepository.findPaginaComoOrigem(contaOrigem.getId(), inicio, fim,
+                segunda.getDataTransacao(), segunda.getId(), Limit.of(2));
+
+        assertEquals(List.of(terceira.getId(), segunda.getId()), pagina1.stream().map(Transacao::getId).toList());
+        assertEquals(List.of(primeira.getId()), pagina2.stream().map(Transacao::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar transações de destino pelo período informado")
+    void testFindPaginaComoDestinoPeriodo() {
+        Conta contaOrigem = createContaValid();
+        Conta contaDestino = createContaValid(TipoConta.POUPANCA);
+
+        this.setContaOrigemEContaDestino(contaOrigem, contaDestino);
+
+        contaRepository.save(contaOrigem);
+        contaRepository.save(contaDestino);
+
+        LocalDateTime data = LocalDateTime.of(2024, 8, 1, 12, 0);
+        Transacao dentro = transacaoRepository.save(this.createTransacao(contaOrigem, contaDestino, data));
+        transacaoRepository.save(this.createTransacao(contaOrigem, contaDestino, data.minusMonths(1)));
+
+        LocalDateTime inicio = LocalDateTime.of(2024, 8, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2024, 8, 2, 0, 0);
+
+        List<Transacao> result = transacaoRepository.findPaginaComoDestino(contaDestino.getId(), inicio, fim, fim, 0L,
+                Limit.of(10));
+
+        assertEquals(List.of(dentro.getId()), result.stream().map(Transacao::getId).toList());
+        assertTrue(transacaoRepository.findPaginaComoOrigem(contaDestino.getId(), inicio, fim, fim, 0L,
+                Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer o histórico da conta em ordem cronológica para exportação")
+    void testStreamExportacaoByContaId() {
+        Conta contaOrigem = createContaValid();
+        Conta contaDestino = createContaValid(TipoConta.POUPANCA);
+
+        this.setContaOrigemEContaDestino(contaOrigem, contaDestino);
+
+        contaRepository.save(contaOrigem);
+        contaRepository.save(contaDestino);
+
+        LocalDateTime data = LocalDateTime.of(2024, 8, 1, 12, 0);
+        Transacao recebida = transacaoRepository.save(this.createTransacao(contaDestino, contaOrigem, data));
+        Transacao enviada = transacaoRepository.save(this.createTransacao(contaOrigem, contaDestino, data.minusDays(1)));
+
+        List<TransacaoExportacaoDTO> result;
+        try (Stream<TransacaoExportacaoDTO> stream = transacaoRepository.streamExportacaoByContaId(contaOrigem.getId())) {
+            result = stream.toList();
+        }
+
+        assertEquals(List.of(enviada.getId(), recebida.getId()), result.stream().map(TransacaoExportacaoDTO::getId).toList());
+        assertEquals(contaOrigem.getNumero(), result.get(0).getContaOrigem());
+        assertEquals(contaDestino.getNumero(), result.get(0).getContaDestino());
+    }
+
+    private Transacao createTransacao(Conta contaOrigem, Conta contaDestino, LocalDateTime dataTransacao) {
+        Transacao transacao = this.createTransacao(contaOrigem, contaDestino);
+        transacao.setDataTransacao(dataTransacao);
+
+        return transacao;
+    }
+
     private Transacao createTransacao(Conta contaOrigem, Conta contaDestino) {
         Transacao transacao = new Transacao();
         transacao.setContaOrigem(contaOrigem);
@@ -3,15 +3,20 @@ package br.acc.bank.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import br.acc.bank.dto.usuario.ChaveUsuarioDTO;
+import br.acc.bank.dto.usuario.ConflitoUsuarioDTO;
 import br.acc.bank.model.Usuario;
 import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.util.ConstraintUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 
 @DataJpaTest
@@ -100,6 +105,85 @@ public class UsuarioRepositoryTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    @DisplayName("Deve encontrar o login do usuário pelo ID com sucesso")
+    void testFindLoginByIdSuccess() {
+        Usuario usuario = createUsuarioValid();
+        usuarioRepository.save(usuario);
+
+        Optional<String> result = usuarioRepository.findLoginById(usuario.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals("joao", result.get());
+    }
+
+    @Test
+    @DisplayName("Deve retornar em uma consulta os usuários em conflito e os campos que coincidem")
+    void testFindConflitos() {
+        Usuario usuario = usuarioRepository.save(createUsuarioValid());
+        Usuario outro = createUsuarioValid();
+        outro.setCpf("98765432100");
+        outro.setEmail("maria@example.com");
+        outro.setLogin("maria");
+        outro = usuarioRepository.save(outro);
+
+        List<ConflitoUsuarioDTO> result = usuarioRepository.findConflitos("joao.silva@example.com", "00000000000",
+                "maria");
+
+        assertEquals(2, result.size());
+        ConflitoUsuarioDTO porEmail = result.stream().filter(c -> c.getId().equals(usuario.getId())).findFirst().get();
+        assertTrue(porEmail.isEmail());
+        assertFalse(porEmail.isCpf());
+        assertFalse(porEmail.isLogin());
+        Long outroId = outro.getId();
+        ConflitoUsuarioDTO porLogin = result.stream().filter(c -> c.getId().equals(outroId)).findFirst().get();
+        assertFalse(porLogin.isEmail());
+        assertTrue(porLogin.isLogin());
+    }
+
+    @Test
+    @DisplayName("Não deve considerar conflito o próprio usuário na atualização")
+    void testExisteConflito_IgnoraProprioUsuario() {
+        Usuario usuario = usuarioRepository.save(createUsuarioValid());
+
+        assertTrue(usuarioRepository.existeConflito("joao.silva@example.com", "12345678900", "joao", null));
+        assertFalse(usuarioRepository.existeConflito("joao.silva@example.com", "12345678900", "joao", usuario.getId()));
+        assertFalse(usuarioRepository.existeConflito("novo@example.com", "00000000000", "novo", null));
+    }
+
+    @Test
+    @DisplayName("Deve retornar em uma consulta as chaves dos usuários que usam algum email, CPF ou login do lote")
+    void testFindChaves() {
+        usuarioRepository.save(createUsuarioValid());
+        Usuario outro = createUsuarioValid();
+        outro.setCpf("98765432100");
+        outro.setEmail("maria@example.com");
+        outro.setLogin("maria");
+        usuarioRepository.save(outro);
+
+        List<ChaveUsuarioDTO> result = usuarioRepository.findChaves(List.of("novo@example.com"),
+                List.of("98765432100", "00000000000"), List.of("joao", "pedro"));
+
+        assertEquals(2, result.size());
+        assertTrue(result.contains(new ChaveUsuarioDTO("joao.silva@example.com", "12345678900", "joao")));
+        assertTrue(result.contains(new ChaveUsuarioDTO("maria@example.com", "98765432100", "maria")));
+        assertTrue(usuarioRepository.findChaves(List.of("novo@example.com"), List.of("00000000000"), List.of("pedro"))
+                .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Violação da chave única no banco deve ser reconhecida como conflito")
+    void testSaveAndFlush_ViolacaoChaveUnica() {
+        usuarioRepository.save(createUsuarioValid());
+        Usuario duplicado = createUsuarioValid();
+        duplicado.setEmail("outro@example.com");
+        duplicado.setLogin("outro");
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> usuarioRepository.saveAndFlush(duplicado));
+        assertTrue(ConstraintUtils.isUniqueViolation(e));
+    }
+
     private Usuario createUsuarioValid() {
         Usuario usuario = new Usuario();
         usuario.setNome("João Silva");
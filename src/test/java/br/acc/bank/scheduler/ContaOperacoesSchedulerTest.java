@@ -0,0 +1,49 @@
+package br.acc.bank.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.service.ContaSchedulerService;
+
+class ContaOperacoesSchedulerTest {
+
+    @Mock
+    private ContaSchedulerService schedulerService;
+
+    @InjectMocks
+    private ContaOperacoesScheduler contaOperacoesScheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Falha ao retomar execuções pendentes não deve impedir juros e tarifa do mês")
+    void testVerificarDataAplicarOperacoes_FalhaNaRetomada() {
+        when(schedulerService.retomarExecucoesPendentes()).thenThrow(new RepositoryException("falha", null));
+
+        assertDoesNotThrow(() -> contaOperacoesScheduler.verificarDataAplicarOperacoes());
+
+        verify(schedulerService, times(1)).aplicarJurosMensal();
+        verify(schedulerService, times(1)).aplicarTarifaMensal();
+    }
+
+    @Test
+    @DisplayName("Falha nos juros não deve impedir a tarifa do mês")
+    void testVerificarDataAplicarOperacoes_FalhaNosJuros() {
+        when(schedulerService.aplicarJurosMensal()).thenThrow(new RepositoryException("falha", null));
+
+        assertDoesNotThrow(() -> contaOperacoesScheduler.verificarDataAplicarOperacoes());
+
+        verify(schedulerService, times(1)).aplicarTarifaMensal();
+    }
+}
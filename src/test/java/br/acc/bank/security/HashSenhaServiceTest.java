@@ -0,0 +1,122 @@
+package br.acc.bank.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.acc.bank.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HashSenhaServiceTest {
+
+    private HashSenhaService hashSenhaService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    // Libera as tarefas que ocupam o pool nos testes de sobrecarga
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    private final ExecutorService requisicoes = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hashSenhaService = criar(1, 1, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        requisicoes.shutdownNow();
+        hashSenhaService.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve criptografar a senha com o custo configurado no encoder")
+    void testCriptografar_CustoConfigurado() {
+        String hash = hashSenhaService.criptografar("senha123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(new BCryptPasswordEncoder(4).matches("senha123", hash));
+    }
+
+    @Test
+    @DisplayName("Deve relançar a exceção da tarefa sem encapsular")
+    void testExecutar_RelancaExcecaoDaTarefa() {
+        assertThrows(BadCredentialsException.class, () -> hashSenhaService.executar(() -> {
+            throw new BadCredentialsException("credenciais inválidas");
+        }));
+    }
+
+    @Test
+    @DisplayName("Deve recusar com TooManyRequestsException quando as threads e a fila estiverem ocupadas")
+    void testExecutar_FilaCheia() throws Exception {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        // Uma tarefa ocupa a única thread e outra a única posição da fila
+        requisicoes.submit(() -> hashSenhaService.executar(() -> {
+            iniciada.countDown();
+            return liberar.await(10, TimeUnit.SECONDS);
+        }));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+        requisicoes.submit(() -> hashSenhaService.executar(() -> true));
+        aguardarFila(1);
+
+        long inicio = System.nanoTime();
+        assertThrows(TooManyRequestsException.class, () -> hashSenhaService.criptografar("senha123"));
+        // Recusada na hora, sem esperar pelo timeout
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1.0, meterRegistry.counter("bank.senha.recusadas").count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com TooManyRequestsException quando a espera passar do timeout")
+    void testExecutar_Timeout() throws Exception {
+        hashSenhaService.destroy();
+        hashSenhaService = criar(1, 1, 100);
+        // Ocupa a única thread direto no executor, sem o timeout de uma chamada a executar
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hashSenhaService, "executor");
+        CountDownLatch iniciada = new CountDownLatch(1);
+        executor.execute(() -> {
+            iniciada.countDown();
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TooManyRequestsException.class, () -> hashSenhaService.criptografar("senha123"));
+        assertEquals(1.0, meterRegistry.counter("bank.senha.recusadas").count());
+    }
+
+    private HashSenhaService criar(int threads, int fila, long timeoutMs) {
+        HashSenhaService servico = new HashSenhaService();
+        ReflectionTestUtils.setField(servico, "passwordEncoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(servico, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(servico, "quantidadeThreads", threads);
+        ReflectionTestUtils.setField(servico, "tamanhoFila", fila);
+        ReflectionTestUtils.setField(servico, "timeoutMs", timeoutMs);
+        servico.init();
+        return servico;
+    }
+
+    private void aguardarFila(int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("bank.senha.fila").gauge().value() < tamanho && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+}
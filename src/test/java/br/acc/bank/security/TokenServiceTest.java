@@ -0,0 +1,112 @@
+package br.acc.bank.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.acc.bank.model.Usuario;
+import br.acc.bank.model.enums.UsuarioRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(tokenService, "secret", "segredo-teste");
+        ReflectionTestUtils.setField(tokenService, "tamanhoCache", 100);
+        ReflectionTestUtils.setField(tokenService, "ttlCacheSegundos", 600L);
+        tokenService.init();
+
+        usuario = new Usuario("João Silva", "12345678900", LocalDate.of(1990, 1, 1), "11987654321",
+                "joao.silva@example.com", "joao", "joao123", UsuarioRole.USUARIO);
+        usuario.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o login de um token gerado pelo serviço")
+    void testValidateToken_Success() {
+        String token = tokenService.generateToken(usuario);
+
+        assertEquals("joao", tokenService.validateToken(token));
+        // O verificador compartilhado pode ser reutilizado
+        assertEquals("joao", tokenService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("Deve retornar login vazio para token assinado com outro segredo")
+    void testValidateToken_OutroSegredo() {
+        String token = JWT.create()
+                .withIssuer("auth-api")
+                .withSubject("joao")
+                .sign(Algorithm.HMAC256("outro-segredo"));
+
+        assertEquals("", tokenService.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("Deve retornar login vazio para token malformado")
+    void testValidateToken_Malformado() {
+        assertEquals("", tokenService.validateToken("token-invalido"));
+    }
+
+    @Test
+    @DisplayName("Deve atender tokens repetidos pelo cache com as claims do token")
+    void testVerificar_Cache() {
+        String token = tokenService.generateToken(usuario);
+
+        tokenService.verificar(token);
+        TokenVerificado verificado = tokenService.verificar(token).get();
+
+        assertEquals("joao", verificado.login());
+        assertEquals(1L, verificado.userId());
+        assertEquals("USUARIO", verificado.role());
+        assertEquals(1.0, meterRegistry.counter("bank.token.cache", "resultado", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("bank.token.cache", "resultado", "miss").count());
+        assertEquals(0.5, meterRegistry.get("bank.token.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Não deve usar a entrada do cache após a expiração do token")
+    void testVerificar_Expirado() {
+        String token = tokenService.generateToken(usuario);
+        Instant expiraEm = tokenService.verificar(token).get().expiraEm();
+
+        // Relógio logo após a expiração do token
+        ReflectionTestUtils.setField(tokenService, "relogio",
+                Clock.fixed(expiraEm.plusSeconds(1), ZoneOffset.UTC));
+        tokenService.verificar(token);
+
+        assertEquals(0.0, meterRegistry.counter("bank.token.cache", "resultado", "hit").count());
+        assertEquals(2.0, meterRegistry.counter("bank.token.cache", "resultado", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar tokens inválidos no cache")
+    void testVerificar_InvalidoNaoCacheado() {
+        tokenService.verificar("token-invalido");
+        tokenService.verificar("token-invalido");
+
+        assertEquals(0.0, meterRegistry.counter("bank.token.cache", "resultado", "hit").count());
+        assertEquals(0.0, meterRegistry.get("bank.token.cache.tamanho").gauge().value());
+    }
+}
@@ -3,16 +3,24 @@ package br.acc.bank.service;
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.exception.TooManyRequestsException;
 import br.acc.bank.model.Admin;
-import br.acc.bank.model.Usuario;
 import br.acc.bank.repository.AdminRepository;
 import br.acc.bank.repository.UsuarioRepository;
+import br.acc.bank.security.HashSenhaService;
+import br.acc.bank.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,6 +38,15 @@ class AdminServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private HashSenhaService hashSenhaService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private AdminRepository adminRepository;
 
@@ -38,6 +55,7 @@ class AdminServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(adminService, "preVerificarUnicidade", true);
         admin = new Admin();
         admin.setId(1L);
         admin.setNome("Admin Teste");
@@ -50,22 +68,23 @@ class AdminServiceTest {
     @Test
     @DisplayName("Deve listar todos os admins com sucesso")
     void testGetAll_Success() {
-        when(adminRepository.findAll()).thenReturn(List.of(admin));
+        when(adminRepository.findAllBy(any())).thenReturn(new SliceImpl<>(List.of(admin)));
 
-        var admins = adminService.getAll();
+        var admins = adminService.getAll(PageRequest.of(0, 20), false);
 
         assertFalse(admins.isEmpty());
-        verify(adminRepository, times(1)).findAll();
+        verify(adminRepository, times(1)).findAllBy(PageRequest.of(0, 20, Sort.by("id")));
+        verify(adminRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("Deve lançar RepositoryException ao tentar listar todos os admins")
     void testGetAll_RepositoryException() {
-        when(adminRepository.findAll()).thenThrow(new RuntimeException("Erro inesperado"));
+        when(adminRepository.findAllBy(any())).thenThrow(new RuntimeException("Erro inesperado"));
 
-        assertThrows(RepositoryException.class, () -> adminService.getAll());
+        assertThrows(RepositoryException.class, () -> adminService.getAll(PageRequest.of(0, 20), false));
 
-        verify(adminRepository, times(1)).findAll();
+        verify(adminRepository, times(1)).findAllBy(any());
     }
 
     @Test
@@ -102,38 +121,49 @@ class AdminServiceTest {
     @Test
     @DisplayName("Deve criar um admin com sucesso")
     void testCreate_Success() {
-        when(usuarioRepository.findByEmail(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByCpf(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByLogin(any())).thenReturn(null);
-        when(adminRepository.save(any(Admin.class))).thenReturn(admin);
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(adminRepository.saveAndFlush(any(Admin.class))).thenReturn(admin);
 
         Admin result = adminService.create(admin);
 
         assertNotNull(result);
         assertEquals(admin.getEmail(), result.getEmail());
-        verify(adminRepository, times(1)).save(any(Admin.class));
+        verify(adminRepository, times(1)).saveAndFlush(any(Admin.class));
+        // A senha é criptografada antes de abrir a transação
+        InOrder ordem = inOrder(hashSenhaService, transactionManager);
+        ordem.verify(hashSenhaService).criptografar(any());
+        ordem.verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Deve repassar TooManyRequestsException quando o pool de senhas estiver sobrecarregado")
+    void testCreate_SobrecargaHashSenha() {
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(hashSenhaService.criptografar(any())).thenThrow(new TooManyRequestsException("sobrecarga"));
+
+        assertThrows(TooManyRequestsException.class, () -> adminService.create(admin));
+
+        verify(adminRepository, never()).saveAndFlush(any(Admin.class));
     }
 
     @Test
     @DisplayName("Deve lançar ConflictException ao tentar criar admin com email duplicado")
     void testCreate_EmailConflict() {
-        when(usuarioRepository.findByEmail(admin.getEmail())).thenReturn(Optional.of(new Usuario()));
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(true);
 
         assertThrows(ConflictException.class, () -> adminService.create(admin));
-        verify(adminRepository, never()).save(any(Admin.class));
+        verify(adminRepository, never()).saveAndFlush(any(Admin.class));
     }
 
     @Test
     @DisplayName("Deve lançar RepositoryException ao tentar criar um admin")
     void testCreate_RepositoryException() {
-        when(usuarioRepository.findByEmail(admin.getEmail())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByCpf(admin.getCpf())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByLogin(admin.getLogin())).thenReturn(null);
-        when(adminRepository.save(admin)).thenThrow(new RuntimeException("Erro inesperado"));
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(adminRepository.saveAndFlush(admin)).thenThrow(new RuntimeException("Erro inesperado"));
 
         assertThrows(RepositoryException.class, () -> adminService.create(admin));
 
-        verify(adminRepository, times(1)).save(admin);
+        verify(adminRepository, times(1)).saveAndFlush(admin);
     }
 
     @Test
@@ -150,18 +180,20 @@ class AdminServiceTest {
         updatedAdmin.setPassword("novasenha123");
 
         when(adminRepository.findById(1L)).thenReturn(Optional.of(admin));
-        when(usuarioRepository.findByEmail(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByCpf(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByLogin(any())).thenReturn(null);
-        when(usuarioRepository.findIdByLogin(any())).thenReturn(Optional.of(1L));
-        when(adminRepository.save(any(Admin.class))).thenReturn(updatedAdmin);
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(adminRepository.saveAndFlush(any(Admin.class))).thenReturn(updatedAdmin);
 
         Admin result = adminService.update(1L, updatedAdmin);
 
         assertNotNull(result);
         assertEquals("novoemail@teste.com", result.getEmail());
         verify(adminRepository, times(1)).findById(1L);
-        verify(adminRepository, times(1)).save(any(Admin.class));
+        verify(adminRepository, times(1)).saveAndFlush(any(Admin.class));
+        verify(principalCache, times(1)).invalidar("admin_login");
+        verify(principalCache, times(1)).invalidar("novologin");
+        InOrder ordem = inOrder(hashSenhaService, transactionManager);
+        ordem.verify(hashSenhaService).criptografar("novasenha123");
+        ordem.verify(transactionManager).getTransaction(any());
     }
 
     @Test
@@ -171,22 +203,18 @@ class AdminServiceTest {
 
         assertThrows(NotFoundException.class, () -> adminService.update(1L, admin));
         verify(adminRepository, times(1)).findById(1L);
-        verify(adminRepository, never()).save(any(Admin.class));
+        verify(adminRepository, never()).saveAndFlush(any(Admin.class));
     }
 
     @Test
     @DisplayName("Deve lançar ConflictException ao tentar atualizar admin com email duplicado")
     void testUpdate_ConflictEmail() {
-        Admin conflictingAdmin = new Admin();
-        conflictingAdmin.setId(2L);
-        conflictingAdmin.setEmail("admin@teste.com");
-
         when(adminRepository.findById(1L)).thenReturn(Optional.of(admin));
-        when(usuarioRepository.findByEmail(admin.getEmail())).thenReturn(Optional.of(conflictingAdmin));
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(true);
 
         assertThrows(ConflictException.class, () -> adminService.update(1L, admin));
 
-        verify(usuarioRepository, times(1)).findByEmail(admin.getEmail());
+        verify(usuarioRepository, times(1)).existeConflito(any(), any(), any(), any());
         verify(adminRepository, times(1)).findById(1L);
     }
 
@@ -194,25 +222,25 @@ class AdminServiceTest {
     @DisplayName("Deve lançar RepositoryException ao tentar atualizar um admin")
     void testUpdate_RepositoryException() {
         when(adminRepository.findById(1L)).thenReturn(Optional.of(admin));
-        when(usuarioRepository.findByEmail(admin.getEmail())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByCpf(admin.getCpf())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByLogin(admin.getLogin())).thenReturn(null);
-        when(adminRepository.save(admin)).thenThrow(new RuntimeException("Erro inesperado"));
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(adminRepository.saveAndFlush(admin)).thenThrow(new RuntimeException("Erro inesperado"));
 
         assertThrows(RepositoryException.class, () -> adminService.update(1L, admin));
 
         verify(adminRepository, times(1)).findById(1L);
-        verify(adminRepository, times(1)).save(admin);
+        verify(adminRepository, times(1)).saveAndFlush(admin);
     }
 
     @Test
     @DisplayName("Deve remover admin com sucesso")
     void testDelete_Success() {
         when(adminRepository.existsById(1L)).thenReturn(true);
+        when(usuarioRepository.findLoginById(1L)).thenReturn(Optional.of("admin_login"));
 
         adminService.delete(1L);
 
         verify(adminRepository, times(1)).deleteById(1L);
+        verify(principalCache, times(1)).invalidar("admin_login");
     }
 
     @Test
@@ -222,6 +250,7 @@ class AdminServiceTest {
 
         assertThrows(NotFoundException.class, () -> adminService.delete(1L));
         verify(adminRepository, never()).deleteById(1L);
+        verify(principalCache, never()).invalidar(any());
     }
 
     @Test
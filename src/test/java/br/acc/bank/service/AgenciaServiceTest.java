@@ -15,10 +15,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.dto.agencia.AgenciaResumoDTO;
 import br.acc.bank.model.Agencia;
 import br.acc.bank.repository.AgenciaRepository;
 import br.acc.bank.repository.ContaRepository;
@@ -50,25 +54,27 @@ class AgenciaServiceTest {
     @Test
     @DisplayName("Deve listar todas as agências com sucesso")
     void testGetAll() {
-        when(agenciaRepository.findAll()).thenReturn(Arrays.asList(agencia));
+        when(agenciaRepository.findResumos(any())).thenReturn(new SliceImpl<>(Arrays.asList(new AgenciaResumoDTO(1L,
+                agencia.getNome(), agencia.getNumero(), agencia.getTelefone(), null, null, null, null, null, null, null,
+                null))));
 
-        List<Agencia> agencias = agenciaService.getAll();
+        Slice<AgenciaResumoDTO> agencias = agenciaService.getAll(PageRequest.of(0, 20), false);
 
         assertFalse(agencias.isEmpty());
-        verify(agenciaRepository, times(1)).findAll();
+        verify(agenciaRepository, times(1)).findResumos(any());
     }
 
     @Test
     @DisplayName("Deve lançar RepositoryException ao ocorrer erro de banco de dados em getAll()")
     void testRepositoryException_GetAll() {
-        when(agenciaRepository.findAll()).thenThrow(new DataAccessException("DB Error") {
+        when(agenciaRepository.findResumos(any())).thenThrow(new DataAccessException("DB Error") {
         });
 
         assertThrows(RepositoryException.class, () -> {
-            agenciaService.getAll();
+            agenciaService.getAll(PageRequest.of(0, 20), false);
         });
 
-        verify(agenciaRepository, times(1)).findAll();
+        verify(agenciaRepository, times(1)).findResumos(any());
     }
 
     @Test
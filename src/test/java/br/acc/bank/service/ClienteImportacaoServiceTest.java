@@ -0,0 +1,192 @@
+package br.acc.bank.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.dto.cliente.ImportacaoClienteResponseDTO;
+import br.acc.bank.dto.cliente.ResultadoImportacaoDTO;
+import br.acc.bank.exception.TooManyRequestsException;
+import br.acc.bank.exception.ValidationException;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.FormatoImportacao;
+import br.acc.bank.model.enums.StatusImportacao;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.ClienteRepository;
+
+// Lotes pequenos para exercitar a divisão do arquivo; cada lote é confirmado pelo próprio serviço
+@DataJpaTest(showSql = false, properties = {
+        "api.cliente.importacao.lote=2",
+        "api.cliente.importacao.hash-threads=2"
+})
+@Import({ ClienteImportacaoService.class, BCryptPasswordEncoder.class, JacksonAutoConfiguration.class,
+        ValidationAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ClienteImportacaoServiceTest {
+
+    @Autowired
+    private ClienteImportacaoService clienteImportacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve importar todos os clientes de um array JSON, em vários lotes")
+    void testImportar_Json() {
+        String json = "[" + clienteJson(1, "1990-01-01") + "," + clienteJson(2, "1985-05-10") + ","
+                + clienteJson(3, "1970-12-31") + "]";
+
+        ImportacaoClienteResponseDTO resultado = importar(json, FormatoImportacao.JSON);
+
+        assertEquals(3, resultado.getTotal());
+        assertEquals(3, resultado.getImportados());
+        assertEquals(0, resultado.getRejeitados());
+        assertEquals(List.of(1L, 2L, 3L), resultado.getResultados().stream().map(ResultadoImportacaoDTO::getLinha).toList());
+        assertTrue(resultado.getResultados().stream().allMatch(r -> r.getStatus() == StatusImportacao.IMPORTADO));
+
+        ResultadoImportacaoDTO segundo = resultado.getResultados().get(1);
+        Cliente cliente = clienteRepository.findById(segundo.getId()).orElseThrow();
+        assertEquals("cliente2", cliente.getLogin());
+        assertEquals(LocalDate.of(1985, 5, 10), cliente.getDataNascimento());
+        assertEquals(LocalDate.now(), cliente.getDataCadastro());
+        assertEquals(UsuarioRole.USUARIO, cliente.getRole());
+        assertTrue(passwordEncoder.matches("senha123", cliente.getPassword()));
+        assertEquals("01001002", cliente.getEndereco().getCep());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar registros inválidos e em conflito sem impedir os demais")
+    void testImportar_RegistrosRejeitados() {
+        clienteRepository.save(cliente(9));
+        String cpfInvalido = clienteJson(2, "1990-01-01").replace("\"00000000002\"", "\"123\"");
+        String repetido = clienteJson(4, "1990-01-01").replace("cliente4@example.com", "CLIENTE1@example.com");
+        String json = "[" + clienteJson(1, "1990-01-01") + "," + cpfInvalido + "," + clienteJson(3, "01/01/1990")
+                + "," + repetido + "," + clienteJson(9, "1990-01-01") + "," + clienteJson(6, "1990-01-01") + "]";
+
+        ImportacaoClienteResponseDTO resultado = importar(json, FormatoImportacao.JSON);
+        List<ResultadoImportacaoDTO> linhas = resultado.getResultados();
+
+        assertEquals(6, resultado.getTotal());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(4, resultado.getRejeitados());
+        assertEquals(StatusImportacao.IMPORTADO, linhas.get(0).getStatus());
+        assertEquals(StatusImportacao.INVALIDO, linhas.get(1).getStatus());
+        assertEquals("O CPF deve ter 11 dígitos", linhas.get(1).getErros().get("cpf"));
+        assertEquals(StatusImportacao.INVALIDO, linhas.get(2).getStatus());
+        assertTrue(linhas.get(2).getErros().containsKey("dataNascimento"));
+        assertEquals(StatusImportacao.CONFLITO, linhas.get(3).getStatus());
+        assertEquals("E-mail repetido no arquivo", linhas.get(3).getErros().get("email"));
+        assertEquals(StatusImportacao.CONFLITO, linhas.get(4).getStatus());
+        assertEquals("Login já utilizado", linhas.get(4).getErros().get("login"));
+        assertEquals(StatusImportacao.IMPORTADO, linhas.get(5).getStatus());
+        assertEquals(3, clienteRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve importar um CSV com colunas em qualquer ordem e campos entre aspas")
+    void testImportar_Csv() {
+        String csv = "login,nome,cpf,telefone,dataNascimento,email,password,cep,rua,numero,bairro,cidade,estado,pais\n"
+                + "ana,\"Silva, Ana\",00000000001,11987654321,1990-01-01,ana@example.com,senha123,01001000,\"Rua A, 1\",10,Centro,São Paulo,SP,Brasil\n"
+                + "\n"
+                + "bia,Beatriz,00000000002,11987654321,1991-02-02,bia@example.com,senha123,01001000,Rua B,20,Centro,São Paulo,SP\n";
+
+        ImportacaoClienteResponseDTO resultado = importar(csv, FormatoImportacao.CSV);
+
+        assertEquals(2, resultado.getTotal());
+        assertEquals(1, resultado.getImportados());
+        Cliente ana = clienteRepository.findByLogin("ana").orElseThrow();
+        assertEquals("Silva, Ana", ana.getNome());
+        assertEquals("Rua A, 1", ana.getEndereco().getRua());
+        assertEquals(StatusImportacao.INVALIDO, resultado.getResultados().get(1).getStatus());
+        assertEquals(2, resultado.getResultados().get(1).getLinha());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o CSV sem todas as colunas no cabeçalho")
+    void testImportar_CsvCabecalhoIncompleto() {
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> importar("nome,cpf\nAna,00000000001\n", FormatoImportacao.CSV));
+
+        assertTrue(e.getErrors().get("arquivo").contains("telefone"));
+        assertEquals(0, clienteRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar um JSON que não seja um array")
+    void testImportar_JsonSemArray() {
+        assertThrows(ValidationException.class, () -> importar(clienteJson(1, "1990-01-01"), FormatoImportacao.JSON));
+    }
+
+    @Test
+    @DisplayName("JSON malformado no meio do arquivo deve encerrar a leitura mantendo os registros anteriores")
+    void testImportar_JsonMalformado() {
+        String json = "[" + clienteJson(1, "1990-01-01") + "," + clienteJson(2, "1990-01-01") + ", {\"nome\": ";
+
+        ImportacaoClienteResponseDTO resultado = importar(json, FormatoImportacao.JSON);
+
+        assertEquals(2, resultado.getImportados());
+        ResultadoImportacaoDTO ultimo = resultado.getResultados().get(2);
+        assertEquals(3, ultimo.getLinha());
+        assertEquals(StatusImportacao.INVALIDO, ultimo.getStatus());
+        assertTrue(ultimo.getErros().get("arquivo").startsWith("JSON malformado"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar uma importação enquanto outra estiver em andamento")
+    void testImportar_ImportacaoEmAndamento() {
+        Semaphore importacoes = (Semaphore) ReflectionTestUtils.getField(clienteImportacaoService, "importacoes");
+        importacoes.acquireUninterruptibly();
+        try {
+            assertThrows(TooManyRequestsException.class, () -> importar("[]", FormatoImportacao.JSON));
+        } finally {
+            importacoes.release();
+        }
+    }
+
+    private ImportacaoClienteResponseDTO importar(String conteudo, FormatoImportacao formato) {
+        InputStream corpo = new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+        return clienteImportacaoService.importar(corpo, formato);
+    }
+
+    private String clienteJson(int n, String dataNascimento) {
+        return String.format("{\"nome\": \"Cliente %d\", \"cpf\": \"%011d\", \"telefone\": \"11987654321\", "
+                + "\"dataNascimento\": \"%s\", \"email\": \"cliente%d@example.com\", \"login\": \"cliente%d\", "
+                + "\"password\": \"senha123\", \"endereco\": {\"cep\": \"0100100%d\", \"rua\": \"Rua %d\", "
+                + "\"numero\": \"%d\", \"bairro\": \"Centro\", \"cidade\": \"São Paulo\", \"estado\": \"SP\", "
+                + "\"pais\": \"Brasil\"}}", n, n, dataNascimento, n, n, n, n, n);
+    }
+
+    private Cliente cliente(int n) {
+        return new Cliente("Cliente " + n, String.format("9%010d", n), LocalDate.of(1990, 1, 1), "11987654321",
+                "outro" + n + "@example.com", "cliente" + n, "senha",
+                new Endereco(null, "01001000", "Rua", "1", "Centro", "São Paulo", "SP", "Brasil"));
+    }
+}
@@ -6,29 +6,50 @@ import static org.mockito.Mockito.*;
 
 import java.util.Optional;
 import java.util.List;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Arrays;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.NotFoundException;
 import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.exception.TooManyRequestsException;
+import br.acc.bank.dto.cliente.ClienteResumoDTO;
 import br.acc.bank.model.Cliente;
-import br.acc.bank.model.Usuario;
 import br.acc.bank.repository.ClienteRepository;
 import br.acc.bank.repository.ContaRepository;
 import br.acc.bank.repository.UsuarioRepository;
+import br.acc.bank.security.HashSenhaService;
+import br.acc.bank.security.PrincipalCache;
 
 class ClienteServiceTest {
 
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private HashSenhaService hashSenhaService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private ClienteRepository clienteRepository;
 
@@ -43,6 +64,7 @@ class ClienteServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(clienteService, "preVerificarUnicidade", true);
 
         cliente = new Cliente();
         cliente.setId(1L);
@@ -58,12 +80,16 @@ class ClienteServiceTest {
     @Test
     @DisplayName("Deve listar todos os clientes com sucesso")
     void testGetAll() {
-        when(clienteRepository.findAll()).thenReturn(Arrays.asList(cliente));
+        ClienteResumoDTO resumo = new ClienteResumoDTO();
+        resumo.setId(cliente.getId());
+        resumo.setNome(cliente.getNome());
+        when(clienteRepository.findResumos(any())).thenReturn(new SliceImpl<>(Arrays.asList(resumo)));
 
-        List<Cliente> clientes = clienteService.getAll();
+        Slice<ClienteResumoDTO> clientes = clienteService.getAll(PageRequest.of(0, 20), false);
 
         assertFalse(clientes.isEmpty());
-        verify(clienteRepository, times(1)).findAll();
+        verify(clienteRepository, never()).count();
+        verify(clienteRepository, times(1)).findResumos(any());
     }
 
     @Test
@@ -93,33 +119,65 @@ class ClienteServiceTest {
     @Test
     @DisplayName("Deve criar um cliente com sucesso")
     void testCreate_Success() {
-        when(usuarioRepository.findByEmail(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByCpf(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByLogin(any())).thenReturn(null);
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(cliente);
 
         Cliente createdCliente = clienteService.create(cliente);
 
         assertNotNull(createdCliente);
-        verify(usuarioRepository, times(1)).findByEmail(any());
-        verify(usuarioRepository, times(1)).findByCpf(any());
-        verify(usuarioRepository, times(1)).findByLogin(any());
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(usuarioRepository, times(1)).existeConflito(any(), any(), any(), any());
+        verify(clienteRepository, times(1)).saveAndFlush(any(Cliente.class));
+        // A senha é criptografada antes de abrir a transação
+        InOrder ordem = inOrder(hashSenhaService, transactionManager);
+        ordem.verify(hashSenhaService).criptografar(any());
+        ordem.verify(transactionManager).getTransaction(any());
     }
 
     @Test
     @DisplayName("Deve lançar ConflictException ao tentar criar cliente com email, CPF ou login já existentes")
     void testCreate_Conflict() {
-        when(usuarioRepository.findByEmail(any())).thenReturn(Optional.of(new Usuario()));
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(true);
 
         assertThrows(ConflictException.class, () -> {
             clienteService.create(cliente);
         });
 
-        verify(usuarioRepository, times(1)).findByEmail(any());
+        verify(usuarioRepository, times(1)).existeConflito(any(), any(), any(), any());
         verify(usuarioRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("No modo rápido deve pular a consulta de unicidade e converter a chave única violada em ConflictException")
+    void testCreate_ModoRapidoChaveUnica() {
+        ReflectionTestUtils.setField(clienteService, "preVerificarUnicidade", false);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", new SQLException("duplicado", "23505"), "uk_usuarios_cpf")));
+
+        assertThrows(ConflictException.class, () -> clienteService.create(cliente));
+
+        verify(usuarioRepository, never()).existeConflito(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Violação de integridade que não é de chave única deve lançar RepositoryException")
+    void testCreate_OutraViolacaoIntegridade() {
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(new DataIntegrityViolationException("nulo",
+                new ConstraintViolationException("nulo", new SQLException("nulo", "23502"), "nome")));
+
+        assertThrows(RepositoryException.class, () -> clienteService.create(cliente));
+    }
+
+    @Test
+    @DisplayName("Deve repassar TooManyRequestsException quando o pool de senhas estiver sobrecarregado")
+    void testCreate_SobrecargaHashSenha() {
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(hashSenhaService.criptografar(any())).thenThrow(new TooManyRequestsException("sobrecarga"));
+
+        assertThrows(TooManyRequestsException.class, () -> clienteService.create(cliente));
+
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
+    }
+
     @Test
     @DisplayName("Deve atualizar os dados de um cliente com sucesso")
     void testUpdate_Success() {
@@ -136,10 +194,8 @@ class ClienteServiceTest {
 
         // Mock do comportamento dos repositórios
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-        when(usuarioRepository.findByEmail(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByCpf(any())).thenReturn(Optional.empty());
-        when(usuarioRepository.findByLogin(any())).thenReturn(null);
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(updatedCliente);
+        when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(updatedCliente);
 
         // Chamada ao serviço
         Cliente result = clienteService.update(1L, updatedCliente);
@@ -155,7 +211,12 @@ class ClienteServiceTest {
 
         // Verificar se o repositório foi chamado corretamente
         verify(clienteRepository, times(1)).findById(1L);
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(clienteRepository, times(1)).saveAndFlush(any(Cliente.class));
+        verify(principalCache, times(1)).invalidar("cliente_login");
+        verify(principalCache, times(1)).invalidar("novo_login");
+        InOrder ordem = inOrder(hashSenhaService, transactionManager);
+        ordem.verify(hashSenhaService).criptografar("novaSenha123");
+        ordem.verify(transactionManager).getTransaction(any());
     }
 
     @Test
@@ -168,7 +229,7 @@ class ClienteServiceTest {
         });
 
         verify(clienteRepository, times(1)).findById(1L);
-        verify(clienteRepository, never()).save(any());
+        verify(clienteRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -176,6 +237,7 @@ class ClienteServiceTest {
     void testDelete_Success() {
         when(clienteRepository.existsById(1L)).thenReturn(true);
         when(contaRepository.existsByClienteId(1L)).thenReturn(false);
+        when(usuarioRepository.findLoginById(1L)).thenReturn(Optional.of("cliente_login"));
 
         assertDoesNotThrow(() -> {
             clienteService.delete(1L);
@@ -183,6 +245,7 @@ class ClienteServiceTest {
 
         verify(clienteRepository, times(1)).existsById(1L);
         verify(clienteRepository, times(1)).deleteById(1L);
+        verify(principalCache, times(1)).invalidar("cliente_login");
     }
 
     @Test
@@ -240,11 +303,11 @@ class ClienteServiceTest {
     @Test
 @DisplayName("Deve lançar RepositoryException ao tentar listar todos os clientes")
 void testGetAll_RepositoryException() {
-    when(clienteRepository.findAll()).thenThrow(new RuntimeException("Erro inesperado"));
+    when(clienteRepository.findResumos(any())).thenThrow(new RuntimeException("Erro inesperado"));
 
-    assertThrows(RepositoryException.class, () -> clienteService.getAll());
+    assertThrows(RepositoryException.class, () -> clienteService.getAll(PageRequest.of(0, 20), false));
 
-    verify(clienteRepository, times(1)).findAll();
+    verify(clienteRepository, times(1)).findResumos(any());
 }
 
 @Test
@@ -260,14 +323,12 @@ void testGetById_RepositoryException() {
 @Test
 @DisplayName("Deve lançar RepositoryException ao tentar criar um cliente")
 void testCreate_RepositoryException() {
-    when(usuarioRepository.findByEmail(any())).thenReturn(Optional.empty());
-    when(usuarioRepository.findByCpf(any())).thenReturn(Optional.empty());
-    when(usuarioRepository.findByLogin(any())).thenReturn(null);
-    when(clienteRepository.save(any(Cliente.class))).thenThrow(new RuntimeException("Erro inesperado"));
+    when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+    when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(new RuntimeException("Erro inesperado"));
 
     assertThrows(RepositoryException.class, () -> clienteService.create(cliente));
 
-    verify(clienteRepository, times(1)).save(any(Cliente.class));
+    verify(clienteRepository, times(1)).saveAndFlush(any(Cliente.class));
 }
 
 @Test
@@ -284,15 +345,13 @@ void testUpdate_RepositoryException() {
     updatedCliente.setPassword("novaSenha123");
 
     when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-    when(usuarioRepository.findByEmail(any())).thenReturn(Optional.empty());
-    when(usuarioRepository.findByCpf(any())).thenReturn(Optional.empty());
-    when(usuarioRepository.findByLogin(any())).thenReturn(null);
-    when(clienteRepository.save(any(Cliente.class))).thenThrow(new RuntimeException("Erro inesperado"));
+    when(usuarioRepository.existeConflito(any(), any(), any(), any())).thenReturn(false);
+    when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(new RuntimeException("Erro inesperado"));
 
     assertThrows(RepositoryException.class, () -> clienteService.update(1L, updatedCliente));
 
     verify(clienteRepository, times(1)).findById(1L);
-    verify(clienteRepository, times(1)).save(any(Cliente.class));
+    verify(clienteRepository, times(1)).saveAndFlush(any(Cliente.class));
 }
 
 @Test
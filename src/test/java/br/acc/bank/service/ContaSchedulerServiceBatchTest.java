@@ -0,0 +1,415 @@
+package br.acc.bank.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.acc.bank.dto.scheduler.ResultadoProcessamentoDTO;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.ContaPoupanca;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.ExecucaoMensal;
+import br.acc.bank.model.LockDistribuido;
+import br.acc.bank.model.LoteExecucaoMensal;
+import br.acc.bank.model.enums.ModoProcessamento;
+import br.acc.bank.model.enums.StatusExecucao;
+import br.acc.bank.model.enums.TipoTransacao;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.ExecucaoMensalRepository;
+import br.acc.bank.repository.LockDistribuidoRepository;
+import br.acc.bank.repository.LoteExecucaoMensalRepository;
+import br.acc.bank.repository.TransacaoRepository;
+
+// Lotes pequenos e vários workers para exercitar a divisão em faixas e o paralelismo
+@DataJpaTest(showSql = false, properties = {
+        "api.scheduler.batch.chunk-size=7",
+        "api.scheduler.batch.workers=4",
+        "api.scheduler.node-id=no-1"
+})
+@Import({ ContaSchedulerService.class, LockDistribuidoService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ContaSchedulerServiceBatchTest {
+
+    private static final int QUANTIDADE_CONTAS = 60;
+    private static final LocalDate COMPETENCIA = LocalDate.of(2024, 8, 1);
+
+    @Autowired
+    private ContaSchedulerService contaSchedulerService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ExecucaoMensalRepository execucaoMensalRepository;
+
+    @Autowired
+    private LoteExecucaoMensalRepository loteExecucaoMensalRepository;
+
+    @Autowired
+    private LockDistribuidoRepository lockDistribuidoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    private final List<Conta> poupancas = new ArrayList<>();
+    private final List<Conta> correntes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Agencia agencia = agenciaRepository.save(createAgencia());
+
+        // Contas poupança e corrente intercaladas, com saldos positivos, zerados e negativos
+        for (int i = 0; i < QUANTIDADE_CONTAS; i++) {
+            Cliente cliente = clienteRepository.save(createCliente(i));
+            Conta conta = i % 2 == 0
+                    ? new ContaPoupanca(null, 200_000L + i, agencia, cliente)
+                    : new ContaCorrente(null, 200_000L + i, agencia, cliente);
+            // Centavos ímpares exercitam o arredondamento dos juros
+            conta.setSaldo(BigDecimal.valueOf((i % 5 - 1) * 10_000L + i * 101L, 2));
+            conta = contaRepository.save(conta);
+            (i % 2 == 0 ? poupancas : correntes).add(conta);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.LOTES);
+        ReflectionTestUtils.setField(contaSchedulerService, "threadsVirtuais", false);
+        lockDistribuidoRepository.deleteAll();
+        loteExecucaoMensalRepository.deleteAll();
+        execucaoMensalRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+        agenciaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar juros em lotes paralelos apenas às poupanças com saldo positivo")
+    void testAplicarJurosMensal_EmLotes() {
+        long positivas = poupancas.stream().filter(c -> c.getSaldo().signum() > 0).count();
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal();
+
+        assertEquals(positivas, resultado.getContasProcessadas());
+        for (Conta conta : poupancas) {
+            BigDecimal esperado = conta.getSaldo().signum() > 0
+                    ? conta.getSaldo().add(conta.getSaldo().multiply(BigDecimal.valueOf(0.005)))
+                            .setScale(2, RoundingMode.HALF_UP)
+                    : conta.getSaldo();
+            assertEquals(0, esperado.compareTo(saldoAtual(conta)), "conta " + conta.getNumero());
+        }
+        for (Conta conta : correntes) {
+            assertEquals(0, conta.getSaldo().compareTo(saldoAtual(conta)));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar tarifa em lotes paralelos a todas as contas correntes")
+    void testAplicarTarifaMensal_EmLotes() {
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal();
+
+        assertEquals(correntes.size(), resultado.getContasProcessadas());
+        for (Conta conta : correntes) {
+            assertEquals(0, conta.getSaldo().subtract(BigDecimal.valueOf(20)).compareTo(saldoAtual(conta)));
+        }
+        for (Conta conta : poupancas) {
+            assertEquals(0, conta.getSaldo().compareTo(saldoAtual(conta)));
+        }
+    }
+
+    @Test
+    @DisplayName("Workers em threads virtuais (ou de plataforma antes do Java 21) devem aplicar a tarifa")
+    void testAplicarTarifaMensal_ThreadsVirtuais() {
+        ReflectionTestUtils.setField(contaSchedulerService, "threadsVirtuais", true);
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal();
+
+        assertEquals(correntes.size(), resultado.getContasProcessadas());
+        for (Conta conta : correntes) {
+            assertEquals(0, conta.getSaldo().subtract(BigDecimal.valueOf(20)).compareTo(saldoAtual(conta)));
+        }
+    }
+
+    @Test
+    @DisplayName("Modo SQL deve produzir os mesmos saldos e registros que o processamento em lotes")
+    void testModoSql_MesmoResultadoQueLotes() {
+        contaSchedulerService.aplicarJurosMensal();
+        contaSchedulerService.aplicarTarifaMensal();
+        Map<Long, BigDecimal> saldosLotes = saldosPorNumero();
+        Map<Long, List<String>> transacoesLotes = transacoesPorNumero();
+
+        // Recria as mesmas contas e aplica as operações pelo modo SQL
+        tearDown();
+        poupancas.clear();
+        correntes.clear();
+        setUp();
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.SQL);
+
+        ResultadoProcessamentoDTO juros = contaSchedulerService.aplicarJurosMensal();
+        ResultadoProcessamentoDTO tarifa = contaSchedulerService.aplicarTarifaMensal();
+
+        assertEquals(poupancas.stream().filter(c -> c.getSaldo().signum() > 0).count(), juros.getContasProcessadas());
+        assertEquals(correntes.size(), tarifa.getContasProcessadas());
+        assertEquals(saldosLotes, saldosPorNumero());
+        assertEquals(transacoesLotes, transacoesPorNumero());
+        assertFalse(transacoesLotes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Modo SQL deve alterar apenas as contas com transação registrada, pelo valor registrado")
+    void testModoSql_SaldoSegueTransacaoRegistrada() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Conta poupanca = poupancas.stream().filter(c -> c.getSaldo().signum() > 0).findFirst().get();
+        transactionTemplate.executeWithoutResult(status -> {
+            transacaoRepository.registrarJurosPoupancas(BigDecimal.valueOf(0.005), COMPETENCIA);
+            transacaoRepository.registrarTarifaCorrentes(BigDecimal.valueOf(20), COMPETENCIA);
+        });
+
+        // Alterações concorrentes entre o registro e a atualização dos saldos
+        transactionTemplate.executeWithoutResult(status -> contaRepository.creditarSaldo(poupanca.getId(), BigDecimal.TEN));
+        Conta nova = contaRepository.save(new ContaCorrente(null, 299_999L, agenciaRepository.findAll().get(0),
+                clienteRepository.save(createCliente(QUANTIDADE_CONTAS))));
+
+        int juros = transactionTemplate.execute(status -> contaRepository.aplicarJurosPoupancas(COMPETENCIA));
+        int tarifas = transactionTemplate.execute(status -> contaRepository.aplicarTarifaCorrentes(COMPETENCIA));
+
+        assertEquals(poupancas.stream().filter(c -> c.getSaldo().signum() > 0).count(), juros);
+        assertEquals(correntes.size(), tarifas);
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldoAtual(nova)));
+        // Juros sobre o saldo do momento do registro, o mesmo valor do extrato
+        BigDecimal jurosRegistrado = poupanca.getSaldo().multiply(BigDecimal.valueOf(0.005)).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(0, poupanca.getSaldo().add(BigDecimal.TEN).add(jurosRegistrado).compareTo(saldoAtual(poupanca)));
+    }
+
+    @Test
+    @DisplayName("Não deve reaplicar a tarifa ao executar novamente a mesma competência")
+    void testAplicarTarifaMensal_MesmaCompetencia() {
+        contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+        ResultadoProcessamentoDTO segunda = contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        assertEquals(0, segunda.getContasProcessadas());
+        for (Conta conta : correntes) {
+            assertEquals(0, conta.getSaldo().subtract(BigDecimal.valueOf(20)).compareTo(saldoAtual(conta)));
+        }
+        assertEquals(correntes.size(), transacaoRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve dividir os lotes entre nós simultâneos aplicando os juros uma única vez")
+    void testAplicarJurosMensal_VariosNos() throws Exception {
+        ContaSchedulerService outroNo = criarNo("no-2");
+        long positivas = poupancas.stream().filter(c -> c.getSaldo().signum() > 0).count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<ResultadoProcessamentoDTO> primeiro = executor.submit(() -> contaSchedulerService.aplicarJurosMensal(COMPETENCIA));
+        Future<ResultadoProcessamentoDTO> segundo = executor.submit(() -> outroNo.aplicarJurosMensal(COMPETENCIA));
+        long processadas = primeiro.get().getContasProcessadas() + segundo.get().getContasProcessadas();
+        executor.shutdown();
+
+        assertEquals(positivas, processadas);
+        assertEquals(positivas, transacaoRepository.count());
+        for (Conta conta : poupancas) {
+            BigDecimal esperado = conta.getSaldo().signum() > 0
+                    ? conta.getSaldo().add(conta.getSaldo().multiply(BigDecimal.valueOf(0.005)))
+                            .setScale(2, RoundingMode.HALF_UP)
+                    : conta.getSaldo();
+            assertEquals(0, esperado.compareTo(saldoAtual(conta)), "conta " + conta.getNumero());
+        }
+        assertEquals(1, execucaoMensalRepository.count());
+        ExecucaoMensal execucao = execucaoMensalRepository.findAll().get(0);
+        assertEquals(StatusExecucao.CONCLUIDA, execucao.getStatus());
+        assertEquals(positivas, execucao.getContasProcessadas());
+        assertTrue(loteExecucaoMensalRepository.findAll().stream()
+                .allMatch(lote -> lote.getStatus() == StatusExecucao.CONCLUIDA
+                        && lote.getDono().matches("no-[12]-\\d+")));
+    }
+
+    @Test
+    @DisplayName("Não deve executar o modo SQL quando outro nó detém o lock da operação")
+    void testModoSql_LockDeOutroNo() {
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.SQL);
+        lockDistribuidoRepository.save(new LockDistribuido("operacao-mensal-JUROS", "no-2",
+                LocalDateTime.now().plusMinutes(5)));
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal(COMPETENCIA);
+
+        assertEquals(0, resultado.getContasProcessadas());
+        assertEquals(0, transacaoRepository.count());
+        assertEquals(0, execucaoMensalRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve retomar execução interrompida a partir do último lote confirmado")
+    void testRetomarExecucoesPendentes_ContinuaDoCheckpoint() {
+        // Estado deixado por um nó que caiu após confirmar o primeiro lote e no meio do segundo
+        ExecucaoMensal execucao = execucaoMensalRepository
+                .save(new ExecucaoMensal(TipoTransacao.TARIFA, COMPETENCIA, ModoProcessamento.LOTES));
+        long menorId = correntes.get(0).getId();
+        long maiorId = correntes.get(correntes.size() - 1).getId();
+        List<LoteExecucaoMensal> lotes = new ArrayList<>();
+        for (long faixa = menorId; faixa <= maiorId; faixa += 7) {
+            lotes.add(loteExecucaoMensalRepository.save(new LoteExecucaoMensal(execucao, faixa, faixa + 7)));
+        }
+        LoteExecucaoMensal primeiro = lotes.get(0);
+        List<Conta> doPrimeiroLote = correntes.stream()
+                .filter(c -> c.getId() >= primeiro.getIdInicial() && c.getId() < primeiro.getIdFinal())
+                .toList();
+        LocalDateTime agora = LocalDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Map<Long, BigDecimal> ajustes = new LinkedHashMap<>();
+            doPrimeiroLote.forEach(c -> ajustes.put(c.getId(), BigDecimal.valueOf(-20)));
+            contaRepository.ajustarSaldosEmLote(ajustes, TipoTransacao.TARIFA, COMPETENCIA);
+            loteExecucaoMensalRepository.reivindicarLote(primeiro.getId(), "no-morto", agora, agora.plusMinutes(5));
+            loteExecucaoMensalRepository.concluirLote(primeiro.getId(), "no-morto", doPrimeiroLote.size());
+            // Prazo do segundo lote já vencido: outro nó pode assumi-lo
+            loteExecucaoMensalRepository.reivindicarLote(lotes.get(1).getId(), "no-morto", agora,
+                    agora.minusSeconds(1));
+        });
+
+        List<ResultadoProcessamentoDTO> resultados = contaSchedulerService.retomarExecucoesPendentes();
+
+        assertEquals(1, resultados.size());
+        assertEquals(correntes.size() - doPrimeiroLote.size(), resultados.get(0).getContasProcessadas());
+        for (Conta conta : correntes) {
+            assertEquals(0, conta.getSaldo().subtract(BigDecimal.valueOf(20)).compareTo(saldoAtual(conta)));
+        }
+        ExecucaoMensal concluida = execucaoMensalRepository.findById(execucao.getId()).get();
+        assertEquals(StatusExecucao.CONCLUIDA, concluida.getStatus());
+        assertEquals(correntes.size(), concluida.getContasProcessadas());
+        assertTrue(loteExecucaoMensalRepository.findById(lotes.get(1).getId()).get().getDono().startsWith("no-1-"));
+    }
+
+    @Test
+    @DisplayName("Não deve cobrar duas vezes a mesma conta mesmo se os checkpoints forem perdidos")
+    void testRetomarExecucoesPendentes_IdempotentePorConta() {
+        contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        // Simula checkpoints perdidos: execução e lotes voltam a pendentes
+        ExecucaoMensal execucao = execucaoMensalRepository
+                .findByOperacaoAndCompetencia(TipoTransacao.TARIFA, COMPETENCIA).get();
+        execucao.setStatus(StatusExecucao.EM_ANDAMENTO);
+        execucaoMensalRepository.save(execucao);
+        loteExecucaoMensalRepository.findAll().forEach(lote -> {
+            lote.setStatus(StatusExecucao.PENDENTE);
+            loteExecucaoMensalRepository.save(lote);
+        });
+
+        List<ResultadoProcessamentoDTO> resultados = contaSchedulerService.retomarExecucoesPendentes();
+
+        assertEquals(0, resultados.get(0).getContasProcessadas());
+        for (Conta conta : correntes) {
+            assertEquals(0, conta.getSaldo().subtract(BigDecimal.valueOf(20)).compareTo(saldoAtual(conta)));
+        }
+        assertEquals(correntes.size(), transacaoRepository.count());
+    }
+
+    // Segunda instância do serviço, com identificador de nó próprio, sobre o mesmo banco
+    private ContaSchedulerService criarNo(String noId) {
+        LockDistribuidoService lockDistribuidoService = beanFactory.createBean(LockDistribuidoService.class);
+        ReflectionTestUtils.setField(lockDistribuidoService, "noId", noId);
+        ContaSchedulerService no = beanFactory.createBean(ContaSchedulerService.class);
+        ReflectionTestUtils.setField(no, "lockDistribuidoService", lockDistribuidoService);
+        return no;
+    }
+
+    // Saldos normalizados (mesma escala) indexados pelo número da conta
+    private Map<Long, BigDecimal> saldosPorNumero() {
+        return contaRepository.findAll().stream()
+                .collect(Collectors.toMap(Conta::getNumero, c -> c.getSaldo().setScale(2)));
+    }
+
+    // Tipo e valor das transações de cada conta, indexados pelo número da conta
+    private Map<Long, List<String>> transacoesPorNumero() {
+        // A conta de origem é lazy: o número vem das contas, pelo id do proxy
+        Map<Long, Long> numeros = contaRepository.findAll().stream()
+                .collect(Collectors.toMap(Conta::getId, Conta::getNumero));
+        return transacaoRepository.findAll().stream()
+                .collect(Collectors.groupingBy(t -> numeros.get(t.getContaOrigem().getId()), TreeMap::new,
+                        Collectors.mapping(t -> t.getTipo() + " " + t.getValor().setScale(2),
+                                Collectors.toList())));
+    }
+
+    private BigDecimal saldoAtual(Conta conta) {
+        return contaRepository.findById(conta.getId()).get().getSaldo();
+    }
+
+    private Cliente createCliente(int indice) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + indice);
+        cliente.setCpf(String.format("%011d", indice));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setEmail("cliente" + indice + "@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("cliente" + indice);
+        cliente.setPassword("senha123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
@@ -1,91 +1,466 @@
 package br.acc.bank.service;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import br.acc.bank.model.Conta;
+import br.acc.bank.dto.conta.SaldoContaDTO;
+import br.acc.bank.dto.scheduler.ResultadoProcessamentoDTO;
+import br.acc.bank.exception.RepositoryException;
+import br.acc.bank.model.ExecucaoMensal;
+import br.acc.bank.model.LoteExecucaoMensal;
+import br.acc.bank.model.enums.ModoProcessamento;
+import br.acc.bank.model.enums.StatusExecucao;
 import br.acc.bank.model.enums.TipoConta;
+import br.acc.bank.model.enums.TipoTransacao;
 import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.ExecucaoMensalRepository;
+import br.acc.bank.repository.LoteExecucaoMensalRepository;
+import br.acc.bank.repository.TransacaoRepository;
 
 class ContaSchedulerServiceTest {
 
+    private static final LocalDate COMPETENCIA = LocalDate.of(2024, 8, 1);
+
     @Mock
     private ContaRepository contaRepository;
 
+    @Mock
+    private TransacaoRepository transacaoRepository;
+
+    @Mock
+    private ExecucaoMensalRepository execucaoMensalRepository;
+
+    @Mock
+    private LoteExecucaoMensalRepository loteExecucaoMensalRepository;
+
+    @Mock
+    private LockDistribuidoService lockDistribuidoService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ContaSchedulerService contaSchedulerService;
 
-    private Conta contaPoupanca;
-    private Conta contaCorrente;
+    private SaldoContaDTO contaPoupanca;
+    private SaldoContaDTO contaCorrente;
+
+    // Lotes "persistidos" pelo mock do repositório
+    private final List<LoteExecucaoMensal> lotes = new ArrayList<>();
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(contaSchedulerService, "tamanhoLote", 10);
+        ReflectionTestUtils.setField(contaSchedulerService, "quantidadeWorkers", 2);
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.LOTES);
+        ReflectionTestUtils.setField(contaSchedulerService, "prazoConcessaoSegundos", 300L);
+        when(lockDistribuidoService.getNoId()).thenReturn("no-1");
+        when(lockDistribuidoService.adquirir(any(), any())).thenReturn(true);
 
         // Conta poupança com saldo positivo
-        contaPoupanca = new Conta();
-        contaPoupanca.setTipo(TipoConta.POUPANCA);
-        contaPoupanca.setSaldo(BigDecimal.valueOf(1000));
+        contaPoupanca = new SaldoContaDTO(1L, BigDecimal.valueOf(1000));
 
         // Conta corrente
-        contaCorrente = new Conta();
-        contaCorrente.setTipo(TipoConta.CORRENTE);
-        contaCorrente.setSaldo(BigDecimal.valueOf(100));
+        contaCorrente = new SaldoContaDTO(2L, BigDecimal.valueOf(100));
+
+        when(execucaoMensalRepository.findByOperacaoAndCompetencia(any(), any())).thenReturn(Optional.empty());
+        when(execucaoMensalRepository.save(any(ExecucaoMensal.class))).thenAnswer(invocation -> {
+            ExecucaoMensal execucao = invocation.getArgument(0);
+            if (execucao.getId() == null)
+                execucao.setId(1L);
+            return execucao;
+        });
+        when(execucaoMensalRepository.saveAndFlush(any(ExecucaoMensal.class))).thenAnswer(invocation -> {
+            ExecucaoMensal execucao = invocation.getArgument(0);
+            execucao.setId(1L);
+            return execucao;
+        });
+        when(loteExecucaoMensalRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<LoteExecucaoMensal> novos = invocation.getArgument(0);
+            novos.forEach(lote -> {
+                lote.setId((long) lotes.size() + 1);
+                lotes.add(lote);
+            });
+            return novos;
+        });
+        // Disputa pelos lotes simulada sobre a lista, como fariam os UPDATEs condicionais no banco
+        when(loteExecucaoMensalRepository.findIdsDisponiveisByExecucaoId(eq(1L), any(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    synchronized (lotes) {
+                        return lotes.stream().filter(lote -> lote.getStatus() == StatusExecucao.PENDENTE)
+                                .map(LoteExecucaoMensal::getId).toList();
+                    }
+                });
+        when(loteExecucaoMensalRepository.reivindicarLote(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            synchronized (lotes) {
+                LoteExecucaoMensal lote = lote(invocation.getArgument(0));
+                if (lote.getStatus() != StatusExecucao.PENDENTE)
+                    return 0;
+                lote.setStatus(StatusExecucao.EM_ANDAMENTO);
+                lote.setDono(invocation.getArgument(1));
+                return 1;
+            }
+        });
+        when(loteExecucaoMensalRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(lote(invocation.getArgument(0))));
+        when(loteExecucaoMensalRepository.concluirLote(anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            synchronized (lotes) {
+                lote(invocation.getArgument(0)).setStatus(StatusExecucao.CONCLUIDA);
+                return 1;
+            }
+        });
+        when(loteExecucaoMensalRepository.countByExecucaoIdAndStatusNot(1L, StatusExecucao.CONCLUIDA))
+                .thenAnswer(invocation -> {
+                    synchronized (lotes) {
+                        return lotes.stream().filter(lote -> lote.getStatus() != StatusExecucao.CONCLUIDA).count();
+                    }
+                });
+        when(contaRepository.ajustarSaldosEmLote(anyMap(), any(), any())).thenAnswer(invocation -> {
+            Map<?, ?> ajustes = invocation.getArgument(0);
+            return ajustes.size();
+        });
     }
 
     @Test
     @DisplayName("Deve aplicar juros mensalmente às contas poupança com saldo positivo")
     void testAplicarJurosMensal() {
-        List<Conta> contasPoupanca = Arrays.asList(contaPoupanca);
-        when(contaRepository.findAllByTipo(TipoConta.POUPANCA)).thenReturn(contasPoupanca);
+        mockFaixa(TipoConta.POUPANCA, 1L, 1L, Arrays.asList(contaPoupanca));
 
-        BigDecimal saldoEsperado = contaPoupanca.getSaldo()
-                .add(contaPoupanca.getSaldo().multiply(BigDecimal.valueOf(0.005)));
+        BigDecimal jurosEsperado = contaPoupanca.getSaldo().multiply(BigDecimal.valueOf(0.005));
 
-        contaSchedulerService.aplicarJurosMensal();
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal(COMPETENCIA);
 
-        verify(contaRepository, times(1)).save(contaPoupanca);
-        assertEquals(saldoEsperado, contaPoupanca.getSaldo());
+        verify(contaRepository, times(1)).ajustarSaldosEmLote(Map.of(1L, jurosEsperado), TipoTransacao.JUROS,
+                COMPETENCIA);
+        verify(loteExecucaoMensalRepository, times(1)).concluirLote(eq(1L), startsWith("no-1-"), eq(1L));
+        assertEquals(1, resultado.getContasProcessadas());
     }
 
     @Test
     @DisplayName("Não deve aplicar juros a contas poupança com saldo zero ou negativo")
     void testAplicarJurosMensal_SaldoZeroOuNegativo() {
-        Conta contaPoupancaZero = new Conta();
-        contaPoupancaZero.setTipo(TipoConta.POUPANCA);
-        contaPoupancaZero.setSaldo(BigDecimal.ZERO);
+        SaldoContaDTO contaPoupancaZero = new SaldoContaDTO(1L, BigDecimal.ZERO);
+        SaldoContaDTO contaPoupancaNegativa = new SaldoContaDTO(2L, BigDecimal.valueOf(-10));
+        mockFaixa(TipoConta.POUPANCA, 1L, 2L, Arrays.asList(contaPoupancaZero, contaPoupancaNegativa));
 
-        List<Conta> contasPoupanca = Arrays.asList(contaPoupancaZero);
-        when(contaRepository.findAllByTipo(TipoConta.POUPANCA)).thenReturn(contasPoupanca);
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal(COMPETENCIA);
 
-        contaSchedulerService.aplicarJurosMensal();
-
-        verify(contaRepository, never()).save(any(Conta.class));
+        verify(contaRepository, times(1)).ajustarSaldosEmLote(Map.of(), TipoTransacao.JUROS, COMPETENCIA);
+        assertEquals(0, resultado.getContasProcessadas());
     }
 
     @Test
     @DisplayName("Deve aplicar tarifa mensalmente às contas correntes")
     void testAplicarTarifaMensal() {
-        List<Conta> contasCorrente = Arrays.asList(contaCorrente);
-        when(contaRepository.findAllByTipo(TipoConta.CORRENTE)).thenReturn(contasCorrente);
+        mockFaixa(TipoConta.CORRENTE, 2L, 2L, Arrays.asList(contaCorrente));
+
+        contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        verify(contaRepository, times(1)).ajustarSaldosEmLote(Map.of(2L, BigDecimal.valueOf(-20)),
+                TipoTransacao.TARIFA, COMPETENCIA);
+    }
+
+    @Test
+    @DisplayName("Deve dividir as contas em lotes com checkpoint por faixa de ids")
+    void testAplicarTarifaMensal_DivideEmLotes() {
+        when(contaRepository.findMinIdByTipo(TipoConta.CORRENTE)).thenReturn(Optional.of(1L));
+        when(contaRepository.findMaxIdByTipo(TipoConta.CORRENTE)).thenReturn(Optional.of(25L));
+        when(contaRepository.findSaldosPendentesByTipoAndIdRange(eq(TipoConta.CORRENTE), anyLong(), anyLong(),
+                eq(TipoTransacao.TARIFA), eq(COMPETENCIA))).thenReturn(Arrays.asList(contaCorrente));
+        when(loteExecucaoMensalRepository.sumContasProcessadasByExecucaoId(1L)).thenReturn(3L);
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        assertEquals(3, lotes.size());
+        assertEquals(List.of(1L, 11L, 21L), lotes.stream().map(LoteExecucaoMensal::getIdInicial).toList());
+        assertEquals(List.of(11L, 21L, 31L), lotes.stream().map(LoteExecucaoMensal::getIdFinal).toList());
+        verify(loteExecucaoMensalRepository, times(3)).concluirLote(anyLong(), startsWith("no-1-"), eq(1L));
+        assertEquals(3, resultado.getContasProcessadas());
+        verify(execucaoMensalRepository, times(1)).concluirExecucao(eq(1L), eq(3L), any());
+    }
+
+    @Test
+    @DisplayName("Não deve processar lotes quando não houver contas do tipo")
+    void testAplicarJurosMensal_SemContas() {
+        when(contaRepository.findMinIdByTipo(TipoConta.POUPANCA)).thenReturn(Optional.empty());
+        when(contaRepository.findMaxIdByTipo(TipoConta.POUPANCA)).thenReturn(Optional.empty());
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal(COMPETENCIA);
+
+        verify(contaRepository, never()).ajustarSaldosEmLote(anyMap(), any(), any());
+        assertEquals(0, resultado.getContasProcessadas());
+    }
+
+    @Test
+    @DisplayName("Deve lançar RepositoryException e manter a execução em andamento quando um lote falhar")
+    void testAplicarTarifaMensal_FalhaNoLote() {
+        mockFaixa(TipoConta.CORRENTE, 2L, 2L, Arrays.asList(contaCorrente));
+        when(contaRepository.ajustarSaldosEmLote(anyMap(), any(), any())).thenThrow(new RuntimeException("falha"));
+
+        assertThrows(RepositoryException.class, () -> contaSchedulerService.aplicarTarifaMensal(COMPETENCIA));
+
+        verify(loteExecucaoMensalRepository, never()).concluirLote(anyLong(), any(), anyLong());
+        verify(execucaoMensalRepository, never()).concluirExecucao(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve reaplicar uma operação já concluída na competência")
+    void testAplicarJurosMensal_JaConcluida() {
+        ExecucaoMensal concluida = new ExecucaoMensal(TipoTransacao.JUROS, COMPETENCIA, ModoProcessamento.LOTES);
+        concluida.setStatus(StatusExecucao.CONCLUIDA);
+        when(execucaoMensalRepository.findByOperacaoAndCompetencia(TipoTransacao.JUROS, COMPETENCIA))
+                .thenReturn(Optional.of(concluida));
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal(COMPETENCIA);
+
+        assertEquals(0, resultado.getContasProcessadas());
+        verify(contaRepository, never()).findMinIdByTipo(any());
+        verify(contaRepository, never()).ajustarSaldosEmLote(anyMap(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retomar uma execução interrompida processando apenas os lotes pendentes")
+    void testRetomarExecucoesPendentes() {
+        ExecucaoMensal interrompida = new ExecucaoMensal(TipoTransacao.TARIFA, COMPETENCIA, ModoProcessamento.LOTES);
+        interrompida.setId(1L);
+        LoteExecucaoMensal pendente = new LoteExecucaoMensal(interrompida, 11L, 21L);
+        pendente.setId(2L);
+        lotes.add(pendente);
+        when(execucaoMensalRepository.findAllByStatusOrderByIdAsc(StatusExecucao.EM_ANDAMENTO))
+                .thenReturn(List.of(interrompida));
+        when(execucaoMensalRepository.findByOperacaoAndCompetencia(TipoTransacao.TARIFA, COMPETENCIA))
+                .thenReturn(Optional.of(interrompida));
+        when(contaRepository.findSaldosPendentesByTipoAndIdRange(TipoConta.CORRENTE, 11L, 21L, TipoTransacao.TARIFA,
+                COMPETENCIA)).thenReturn(Arrays.asList(contaCorrente));
+
+        List<ResultadoProcessamentoDTO> resultados = contaSchedulerService.retomarExecucoesPendentes();
+
+        assertEquals(1, resultados.size());
+        assertEquals(1, resultados.get(0).getContasProcessadas());
+        verify(loteExecucaoMensalRepository, never()).saveAll(anyList());
+        verify(loteExecucaoMensalRepository, times(1)).concluirLote(eq(2L), startsWith("no-1-"), eq(1L));
+        verify(execucaoMensalRepository, times(1)).concluirExecucao(eq(1L), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve concluir a execução enquanto outro nó processa um dos lotes")
+    void testAplicarTarifaMensal_LoteEmOutroNo() {
+        mockFaixa(TipoConta.CORRENTE, 1L, 15L, Arrays.asList(contaCorrente));
+        // Outro nó assume o segundo lote assim que a execução é planejada
+        doAnswer(invocation -> {
+            List<LoteExecucaoMensal> novos = invocation.getArgument(0);
+            novos.forEach(lote -> {
+                lote.setId((long) lotes.size() + 1);
+                lotes.add(lote);
+            });
+            novos.get(1).setStatus(StatusExecucao.EM_ANDAMENTO);
+            novos.get(1).setDono("no-2");
+            return novos;
+        }).when(loteExecucaoMensalRepository).saveAll(anyList());
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        assertEquals(1, resultado.getContasProcessadas());
+        verify(loteExecucaoMensalRepository, times(1)).concluirLote(eq(1L), startsWith("no-1-"), eq(1L));
+        verify(loteExecucaoMensalRepository, never()).concluirLote(eq(2L), any(), anyLong());
+        verify(execucaoMensalRepository, never()).concluirExecucao(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o lote quando outro nó o assumir antes do checkpoint")
+    void testAplicarTarifaMensal_LotePerdido() {
+        mockFaixa(TipoConta.CORRENTE, 2L, 2L, Arrays.asList(contaCorrente));
+        doAnswer(invocation -> {
+            synchronized (lotes) {
+                lote(invocation.getArgument(0)).setDono("no-2");
+                return 0;
+            }
+        }).when(loteExecucaoMensalRepository).concluirLote(anyLong(), any(), anyLong());
 
-        BigDecimal saldoEsperado = contaCorrente.getSaldo().subtract(BigDecimal.valueOf(20));
-        
-        contaSchedulerService.aplicarTarifaMensal();
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        assertEquals(0, resultado.getContasProcessadas());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(execucaoMensalRepository, never()).concluirExecucao(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve pular o lote cuja operação já foi registrada por outro worker e seguir com os demais")
+    void testAplicarTarifaMensal_LoteJaRegistrado() {
+        mockFaixa(TipoConta.CORRENTE, 1L, 15L, Arrays.asList(contaCorrente));
+        when(contaRepository.ajustarSaldosEmLote(anyMap(), any(), any()))
+                .thenThrow(new DuplicateKeyException("uk_transacoes_conta_tipo_competencia"))
+                .thenReturn(1);
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        assertEquals(1, resultado.getContasProcessadas());
+        verify(loteExecucaoMensalRepository, times(1)).concluirLote(anyLong(), any(), anyLong());
+        // O lote pulado segue com o dono atual: a execução só é concluída quando todos os lotes terminarem
+        verify(execucaoMensalRepository, never()).concluirExecucao(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve falhar a execução em violação de integridade que não seja de chave única")
+    void testAplicarTarifaMensal_OutraViolacaoIntegridade() {
+        mockFaixa(TipoConta.CORRENTE, 2L, 2L, Arrays.asList(contaCorrente));
+        when(contaRepository.ajustarSaldosEmLote(anyMap(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("fk_transacoes_conta_origem"));
+
+        assertThrows(RepositoryException.class, () -> contaSchedulerService.aplicarTarifaMensal(COMPETENCIA));
+    }
+
+    @Test
+    @DisplayName("Cada worker deve reivindicar os lotes com um dono próprio")
+    void testAplicarTarifaMensal_DonoPorWorker() {
+        mockFaixa(TipoConta.CORRENTE, 1L, 40L, Arrays.asList(contaCorrente));
+
+        contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        assertEquals(4, lotes.size());
+        assertTrue(lotes.stream().allMatch(lote -> List.of("no-1-0", "no-1-1").contains(lote.getDono())));
+    }
+
+    @Test
+    @DisplayName("Deve processar a execução planejada por outro nó quando o planejamento conflitar")
+    void testAplicarTarifaMensal_PlanejadaPorOutroNo() {
+        ExecucaoMensal planejada = new ExecucaoMensal(TipoTransacao.TARIFA, COMPETENCIA, ModoProcessamento.LOTES);
+        planejada.setId(1L);
+        LoteExecucaoMensal lote = new LoteExecucaoMensal(planejada, 1L, 11L);
+        lote.setId(1L);
+        lotes.add(lote);
+        doThrow(new DataIntegrityViolationException("uk_execucoes_mensais_operacao_competencia"))
+                .when(execucaoMensalRepository).saveAndFlush(any(ExecucaoMensal.class));
+        when(execucaoMensalRepository.findByOperacaoAndCompetencia(TipoTransacao.TARIFA, COMPETENCIA))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(planejada));
+        mockFaixa(TipoConta.CORRENTE, 1L, 1L, Arrays.asList(contaCorrente));
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        assertEquals(1, resultado.getContasProcessadas());
+        verify(loteExecucaoMensalRepository, never()).saveAll(anyList());
+        verify(loteExecucaoMensalRepository, times(1)).concluirLote(eq(1L), startsWith("no-1-"), eq(1L));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar juros com comandos únicos no banco no modo SQL")
+    void testAplicarJurosMensal_ModoSql() {
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.SQL);
+        when(contaRepository.aplicarJurosPoupancas(COMPETENCIA)).thenReturn(5);
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal(COMPETENCIA);
+
+        InOrder ordem = inOrder(transacaoRepository, contaRepository);
+        ordem.verify(transacaoRepository).registrarJurosPoupancas(BigDecimal.valueOf(0.005), COMPETENCIA);
+        ordem.verify(contaRepository).aplicarJurosPoupancas(COMPETENCIA);
+        verify(contaRepository, never()).findSaldosPendentesByTipoAndIdRange(any(), anyLong(), anyLong(), any(), any());
+        verify(lockDistribuidoService, times(1)).liberar("operacao-mensal-JUROS");
+        assertEquals(5, resultado.getContasProcessadas());
+    }
+
+    @Test
+    @DisplayName("Não deve executar o modo SQL quando outro nó detém o lock da operação")
+    void testAplicarJurosMensal_ModoSqlSemLock() {
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.SQL);
+        when(lockDistribuidoService.adquirir(eq("operacao-mensal-JUROS"), any())).thenReturn(false);
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarJurosMensal(COMPETENCIA);
+
+        assertEquals(0, resultado.getContasProcessadas());
+        verify(transacaoRepository, never()).registrarJurosPoupancas(any(), any());
+        verify(contaRepository, never()).aplicarJurosPoupancas(any());
+        verify(lockDistribuidoService, never()).liberar(any());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar tarifa com comandos únicos no banco no modo SQL")
+    void testAplicarTarifaMensal_ModoSql() {
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.SQL);
+        when(contaRepository.aplicarTarifaCorrentes(COMPETENCIA)).thenReturn(3);
+
+        ResultadoProcessamentoDTO resultado = contaSchedulerService.aplicarTarifaMensal(COMPETENCIA);
+
+        InOrder ordem = inOrder(transacaoRepository, contaRepository);
+        ordem.verify(transacaoRepository).registrarTarifaCorrentes(BigDecimal.valueOf(20), COMPETENCIA);
+        ordem.verify(contaRepository).aplicarTarifaCorrentes(COMPETENCIA);
+        // A execução é registrada antes das atualizações e concluída na transação delas
+        InOrder registro = inOrder(execucaoMensalRepository, transacaoRepository);
+        registro.verify(execucaoMensalRepository).saveAndFlush(argThat(execucao ->
+                execucao.getModo() == ModoProcessamento.SQL && execucao.getStatus() == StatusExecucao.EM_ANDAMENTO));
+        registro.verify(transacaoRepository).registrarTarifaCorrentes(BigDecimal.valueOf(20), COMPETENCIA);
+        registro.verify(execucaoMensalRepository).concluirExecucao(eq(1L), eq(3L), any());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3, resultado.getContasProcessadas());
+    }
+
+    @Test
+    @DisplayName("Falha no modo SQL deve manter a execução registrada como em andamento")
+    void testAplicarTarifaMensal_ModoSqlFalha() {
+        ReflectionTestUtils.setField(contaSchedulerService, "modo", ModoProcessamento.SQL);
+        when(contaRepository.aplicarTarifaCorrentes(COMPETENCIA)).thenThrow(new RuntimeException("falha"));
+
+        assertThrows(RepositoryException.class, () -> contaSchedulerService.aplicarTarifaMensal(COMPETENCIA));
+
+        verify(execucaoMensalRepository, times(1)).saveAndFlush(any(ExecucaoMensal.class));
+        verify(execucaoMensalRepository, never()).concluirExecucao(anyLong(), anyLong(), any());
+        verify(lockDistribuidoService, times(1)).liberar("operacao-mensal-TARIFA");
+    }
+
+    @Test
+    @DisplayName("Deve retomar no modo SQL uma execução SQL interrompida, sem planejar lotes")
+    void testRetomarExecucoesPendentes_ModoSql() {
+        ExecucaoMensal interrompida = new ExecucaoMensal(TipoTransacao.JUROS, COMPETENCIA, ModoProcessamento.SQL);
+        interrompida.setId(7L);
+        when(execucaoMensalRepository.findAllByStatusOrderByIdAsc(StatusExecucao.EM_ANDAMENTO))
+                .thenReturn(List.of(interrompida));
+        when(execucaoMensalRepository.findByOperacaoAndCompetencia(TipoTransacao.JUROS, COMPETENCIA))
+                .thenReturn(Optional.of(interrompida));
+        when(contaRepository.aplicarJurosPoupancas(COMPETENCIA)).thenReturn(4);
+
+        List<ResultadoProcessamentoDTO> resultados = contaSchedulerService.retomarExecucoesPendentes();
+
+        assertEquals(4, resultados.get(0).getContasProcessadas());
+        verify(execucaoMensalRepository, never()).saveAndFlush(any(ExecucaoMensal.class));
+        verify(loteExecucaoMensalRepository, never()).saveAll(anyList());
+        verify(execucaoMensalRepository, times(1)).concluirExecucao(eq(7L), eq(4L), any());
+    }
+
+    private LoteExecucaoMensal lote(Long id) {
+        return lotes.stream().filter(lote -> lote.getId().equals(id)).findFirst().orElseThrow();
+    }
 
-        verify(contaRepository, times(1)).save(contaCorrente);
-        assertEquals(saldoEsperado, contaCorrente.getSaldo());
+    private void mockFaixa(TipoConta tipo, Long menorId, Long maiorId, List<SaldoContaDTO> contas) {
+        when(contaRepository.findMinIdByTipo(tipo)).thenReturn(Optional.of(menorId));
+        when(contaRepository.findMaxIdByTipo(tipo)).thenReturn(Optional.of(maiorId));
+        when(contaRepository.findSaldosPendentesByTipoAndIdRange(eq(tipo), anyLong(), anyLong(), any(), eq(COMPETENCIA)))
+                .thenReturn(contas);
     }
 }
@@ -2,33 +2,53 @@ package br.acc.bank.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.acc.bank.dto.conta.ContaRequestDTO;
+import br.acc.bank.dto.conta.ContaResumoDTO;
+import br.acc.bank.dto.conta.TransacaoExportacaoDTO;
 import br.acc.bank.exception.ConflictException;
 import br.acc.bank.exception.NotFoundException;
+import br.acc.bank.exception.ValidationException;
 import br.acc.bank.model.Agencia;
 import br.acc.bank.model.Cliente;
 import br.acc.bank.model.Conta;
 import br.acc.bank.model.ContaCorrente;
 import br.acc.bank.model.Transacao;
+import br.acc.bank.model.enums.FormatoExportacao;
 import br.acc.bank.model.enums.TipoConta;
+import br.acc.bank.model.enums.TipoTransacao;
 import br.acc.bank.repository.AgenciaRepository;
 import br.acc.bank.repository.ClienteRepository;
 import br.acc.bank.repository.ContaRepository;
 import br.acc.bank.repository.TransacaoRepository;
+import br.acc.bank.util.ExtratoCursor;
 
 class ContaServiceTest {
 
@@ -44,6 +64,12 @@ class ContaServiceTest {
     @Mock
     private TransacaoRepository transacaoRepository;
 
+    @Mock
+    private NumeroContaGerador numeroContaGerador;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ContaService contaService;
 
@@ -77,25 +103,54 @@ class ContaServiceTest {
     @Test
     @DisplayName("Deve listar todas as contas quando o tipo não for fornecido")
     void testGetAllWithoutTipo() {
-        List<Conta> contas = Arrays.asList(conta);
-        when(contaRepository.findAll()).thenReturn(contas);
+        List<ContaResumoDTO> contas = Arrays.asList(resumo(conta));
+        when(contaRepository.findResumos(any())).thenReturn(new SliceImpl<>(contas));
 
-        List<Conta> result = contaService.getAll(null);
+        Slice<ContaResumoDTO> result = contaService.getAll(null, PageRequest.of(0, 20), false);
 
-        assertEquals(contas, result);
-        verify(contaRepository, times(1)).findAll();
+        assertEquals(contas, result.getContent());
+        verify(contaRepository, times(1)).findResumos(PageRequest.of(0, 20, Sort.by("id")));
+        verify(contaRepository, never()).findAll();
+        // Sem total solicitado não há COUNT(*)
+        verify(contaRepository, never()).count();
     }
 
     @Test
     @DisplayName("Deve listar contas por tipo")
     void testGetAllByTipo() {
-        List<Conta> contas = Arrays.asList(conta);
-        when(contaRepository.findAllByTipo(TipoConta.POUPANCA)).thenReturn(contas);
+        List<ContaResumoDTO> contas = Arrays.asList(resumo(conta));
+        Pageable pagina = PageRequest.of(0, 20, Sort.by("id"));
+        when(contaRepository.findResumosByTipo(TipoConta.POUPANCA, pagina))
+                .thenReturn(new SliceImpl<>(contas, pagina, false));
+
+        Slice<ContaResumoDTO> result = contaService.getAll(TipoConta.POUPANCA, PageRequest.of(0, 20), false);
+
+        assertEquals(contas, result.getContent());
+        verify(contaRepository, times(1)).findResumosByTipo(TipoConta.POUPANCA, pagina);
+    }
+
+    @Test
+    @DisplayName("Deve contar o total de contas do tipo apenas quando solicitado")
+    void testGetAllByTipo_ComTotal() {
+        Pageable pagina = PageRequest.of(0, 1, Sort.by("id"));
+        when(contaRepository.findResumosByTipo(TipoConta.CORRENTE, pagina))
+                .thenReturn(new SliceImpl<>(List.of(resumo(conta)), pagina, true));
+        when(contaRepository.countByTipo(TipoConta.CORRENTE)).thenReturn(3L);
+
+        Slice<ContaResumoDTO> result = contaService.getAll(TipoConta.CORRENTE, PageRequest.of(0, 1), true);
+
+        Page<?> page = assertInstanceOf(Page.class, result);
+        assertEquals(3L, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
 
-        List<Conta> result = contaService.getAll(TipoConta.POUPANCA);
+    @Test
+    @DisplayName("Deve rejeitar a ordenação por campo não permitido sem consultar o banco")
+    void testGetAll_OrdenacaoInvalida() {
+        assertThrows(ValidationException.class,
+                () -> contaService.getAll(null, PageRequest.of(0, 20, Sort.by("cliente.password")), false));
 
-        assertEquals(contas, result);
-        verify(contaRepository, times(1)).findAllByTipo(TipoConta.POUPANCA);
+        verify(contaRepository, never()).findResumos(any());
     }
 
     @Test
@@ -133,6 +188,7 @@ class ContaServiceTest {
         when(agenciaRepository.findByNumero(1234L)).thenReturn(Optional.of(agencia));
         when(clienteRepository.findByLogin("clienteLogin")).thenReturn(Optional.of(cliente));
         when(contaRepository.existsByClienteId(cliente.getId())).thenReturn(false);
+        when(numeroContaGerador.proximo()).thenReturn(482913L);
 
         Conta novaConta = new ContaCorrente();
         when(contaRepository.save(any(Conta.class))).thenReturn(novaConta);
@@ -143,7 +199,13 @@ class ContaServiceTest {
         verify(agenciaRepository, times(1)).findByNumero(1234L);
         verify(clienteRepository, times(1)).findByLogin("clienteLogin");
         verify(contaRepository, times(1)).existsByClienteId(cliente.getId());
-        verify(contaRepository, times(1)).save(any(Conta.class));
+        verify(contaRepository, times(1)).save(argThat(c -> c.getNumero() == 482913L));
+        // Número obtido antes de a transação abrir e segurar uma conexão
+        InOrder ordem = inOrder(numeroContaGerador, transactionManager);
+        ordem.verify(numeroContaGerador).proximo();
+        ordem.verify(transactionManager).getTransaction(any());
+        // O número vem do gerador, sem consulta de existência no banco
+        verify(contaRepository, never()).existsByNumero(any());
     }
 
     @Test
@@ -242,81 +304,213 @@ class ContaServiceTest {
     @Transactional
     void testGetExtrato() {
         List<Transacao> transacoes = Arrays.asList(transacao);
-        when(clienteRepository.findByLogin("clienteLogin")).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(conta));
-        when(transacaoRepository.findByContaId(conta.getId())).thenReturn(transacoes);
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(conta.getId()));
+        when(transacaoRepository.findPaginaComoOrigem(eq(conta.getId()), any(), any(), any(), any(), any()))
+                .thenReturn(transacoes);
+        when(transacaoRepository.findPaginaComoDestino(eq(conta.getId()), any(), any(), any(), any(), any()))
+                .thenReturn(new ArrayList<>());
+
+        Slice<Transacao> result = contaService.getExtrato("clienteLogin", null, null, null, null);
+
+        assertEquals(transacoes, result.getContent());
+        assertFalse(result.hasNext());
+        verify(clienteRepository, times(1)).findIdByLogin("clienteLogin");
+        verify(contaRepository, times(1)).findIdByClienteId(cliente.getId());
+        verify(transacaoRepository, times(1)).findPaginaComoOrigem(eq(conta.getId()), any(), any(), any(), any(),
+                eq(Limit.of(21)));
+    }
+
+    @Test
+    @DisplayName("Deve intercalar origem e destino em ordem decrescente e indicar a próxima página")
+    void testGetExtrato_MergeAndHasNext() {
+        LocalDateTime agora = LocalDateTime.of(2024, 8, 1, 12, 0);
+        Transacao origemRecente = createTransacao(3L, agora);
+        Transacao destino = createTransacao(2L, agora.minusMinutes(1));
+        Transacao origemAntiga = createTransacao(1L, agora.minusMinutes(2));
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(conta.getId()));
+        when(transacaoRepository.findPaginaComoOrigem(eq(conta.getId()), any(), any(), any(), any(), any()))
+                .thenReturn(Arrays.asList(origemRecente, origemAntiga));
+        when(transacaoRepository.findPaginaComoDestino(eq(conta.getId()), any(), any(), any(), any(), any()))
+                .thenReturn(Arrays.asList(destino));
+
+        Slice<Transacao> result = contaService.getExtrato("clienteLogin", null, null, null, 2);
+
+        assertEquals(Arrays.asList(origemRecente, destino), result.getContent());
+        assertTrue(result.hasNext());
+    }
 
-        List<Transacao> result = contaService.getExtrato("clienteLogin");
+    @Test
+    @DisplayName("Deve continuar o extrato a partir do cursor informado")
+    void testGetExtrato_WithCursor() {
+        LocalDateTime data = LocalDateTime.of(2024, 8, 1, 12, 0);
+        String cursor = new ExtratoCursor(data, 10L).encode();
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(conta.getId()));
+        when(transacaoRepository.findPaginaComoOrigem(any(), any(), any(), any(), any(), any())).thenReturn(new ArrayList<>());
+        when(transacaoRepository.findPaginaComoDestino(any(), any(), any(), any(), any(), any())).thenReturn(new ArrayList<>());
+
+        contaService.getExtrato("clienteLogin", LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 31), cursor, 500);
+
+        verify(transacaoRepository, times(1)).findPaginaComoOrigem(conta.getId(), LocalDateTime.of(2024, 7, 1, 0, 0),
+                LocalDateTime.of(2024, 8, 1, 0, 0), data, 10L, Limit.of(101));
+    }
 
-        assertEquals(transacoes, result);
-        verify(clienteRepository, times(1)).findByLogin("clienteLogin");
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
-        verify(transacaoRepository, times(1)).findByContaId(conta.getId());
+    @Test
+    @DisplayName("Deve lançar ValidationException ao gerar extrato com cursor inválido")
+    void testGetExtrato_InvalidCursor() {
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(conta.getId()));
+
+        assertThrows(ValidationException.class, () -> {
+            contaService.getExtrato("clienteLogin", null, null, "cursor-invalido", null);
+        });
+
+        verify(transacaoRepository, never()).findPaginaComoOrigem(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ValidationException ao gerar extrato com data inicial após a final")
+    void testGetExtrato_InvalidPeriod() {
+        assertThrows(ValidationException.class, () -> {
+            contaService.getExtrato("clienteLogin", LocalDate.of(2024, 8, 2), LocalDate.of(2024, 8, 1), null, null);
+        });
+
+        verify(clienteRepository, never()).findIdByLogin(any());
     }
 
     @Test
     @DisplayName("Deve lançar NotFoundException ao gerar extrato se cliente não for encontrado")
     void testGetExtrato_ClienteNotFound() {
-        when(clienteRepository.findByLogin("clienteLogin")).thenReturn(Optional.empty());
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
-            contaService.getExtrato("clienteLogin");
+            contaService.getExtrato("clienteLogin", null, null, null, null);
         });
 
-        verify(clienteRepository, times(1)).findByLogin("clienteLogin");
+        verify(clienteRepository, times(1)).findIdByLogin("clienteLogin");
     }
 
     @Test
     @DisplayName("Deve lançar NotFoundException ao gerar extrato se conta não for encontrada")
     void testGetExtrato_ContaNotFound() {
-        when(clienteRepository.findByLogin("clienteLogin")).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.empty());
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
-            contaService.getExtrato("clienteLogin");
+            contaService.getExtrato("clienteLogin", null, null, null, null);
         });
 
-        verify(clienteRepository, times(1)).findByLogin("clienteLogin");
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
+        verify(clienteRepository, times(1)).findIdByLogin("clienteLogin");
+        verify(contaRepository, times(1)).findIdByClienteId(cliente.getId());
+    }
+
+    @Test
+    @DisplayName("Deve exportar o extrato em NDJSON com uma transação por linha")
+    void testExportarExtrato_Ndjson() {
+        LocalDateTime data = LocalDateTime.of(2024, 8, 1, 12, 0);
+        when(transacaoRepository.streamExportacaoByContaId(conta.getId())).thenReturn(Stream.of(
+                new TransacaoExportacaoDTO(1L, data, TipoTransacao.DEPOSITO, new BigDecimal("100.00"), 123L, null),
+                new TransacaoExportacaoDTO(2L, data, TipoTransacao.TRANSFERENCIA, new BigDecimal("50.00"), 123L, 456L)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long linhas = contaService.exportarExtrato(conta.getId(), FormatoExportacao.NDJSON, saida);
+
+        assertEquals(2, linhas);
+        assertEquals("{\"id\":1,\"dataTransacao\":\"2024-08-01T12:00\",\"tipo\":\"DEPOSITO\",\"valor\":100.00,\"contaOrigem\":123,\"contaDestino\":null}\n"
+                + "{\"id\":2,\"dataTransacao\":\"2024-08-01T12:00\",\"tipo\":\"TRANSFERENCIA\",\"valor\":50.00,\"contaOrigem\":123,\"contaDestino\":456}\n",
+                saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve exportar o extrato em CSV com cabeçalho")
+    void testExportarExtrato_Csv() {
+        LocalDateTime data = LocalDateTime.of(2024, 8, 1, 12, 0);
+        when(transacaoRepository.streamExportacaoByContaId(conta.getId())).thenReturn(Stream.of(
+                new TransacaoExportacaoDTO(1L, data, TipoTransacao.SAQUE, new BigDecimal("10.50"), 123L, null)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long linhas = contaService.exportarExtrato(conta.getId(), FormatoExportacao.CSV, saida);
+
+        assertEquals(1, linhas);
+        assertEquals("id,dataTransacao,tipo,valor,contaOrigem,contaDestino\n1,2024-08-01T12:00,SAQUE,10.50,123,\n",
+                saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve retornar o id da conta a exportar pelo login do cliente")
+    void testBuscarContaIdExtrato() {
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(conta.getId()));
+
+        assertEquals(conta.getId(), contaService.buscarContaIdExtrato("clienteLogin"));
+        verify(transacaoRepository, never()).streamExportacaoByContaId(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar NotFoundException ao buscar a conta a exportar se conta não for encontrada")
+    void testBuscarContaIdExtrato_ContaNotFound() {
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> {
+            contaService.buscarContaIdExtrato("clienteLogin");
+        });
+
+        verify(transacaoRepository, never()).streamExportacaoByContaId(any());
     }
 
     @Test
     @DisplayName("Deve retornar detalhes da conta com sucesso")
     void testDetailsConta() {
-        when(clienteRepository.findByLogin("clienteLogin")).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
         when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(conta));
 
         Optional<Conta> result = contaService.detailsConta("clienteLogin");
 
         assertTrue(result.isPresent());
         assertEquals(conta, result.get());
-        verify(clienteRepository, times(1)).findByLogin("clienteLogin");
+        verify(clienteRepository, times(1)).findIdByLogin("clienteLogin");
         verify(contaRepository, times(1)).findByClienteId(cliente.getId());
     }
 
     @Test
     @DisplayName("Deve lançar NotFoundException ao visualizar detalhes da conta se cliente não for encontrado")
     void testDetailsConta_ClienteNotFound() {
-        when(clienteRepository.findByLogin("clienteLogin")).thenReturn(Optional.empty());
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
             contaService.detailsConta("clienteLogin");
         });
 
-        verify(clienteRepository, times(1)).findByLogin("clienteLogin");
+        verify(clienteRepository, times(1)).findIdByLogin("clienteLogin");
     }
 
     @Test
     @DisplayName("Deve lançar NotFoundException ao visualizar detalhes da conta se conta não for encontrada")
     void testDetailsConta_ContaNotFound() {
-        when(clienteRepository.findByLogin("clienteLogin")).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findIdByLogin("clienteLogin")).thenReturn(Optional.of(cliente.getId()));
         when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
             contaService.detailsConta("clienteLogin");
         });
 
-        verify(clienteRepository, times(1)).findByLogin("clienteLogin");
+        verify(clienteRepository, times(1)).findIdByLogin("clienteLogin");
         verify(contaRepository, times(1)).findByClienteId(cliente.getId());
     }
+
+    private Transacao createTransacao(Long id, LocalDateTime dataTransacao) {
+        Transacao nova = new Transacao();
+        nova.setId(id);
+        nova.setDataTransacao(dataTransacao);
+        nova.setContaOrigem(conta);
+        return nova;
+    }
+
+    private ContaResumoDTO resumo(Conta conta) {
+        return new ContaResumoDTO(conta.getId(), conta.getNumero(), conta.getSaldo(), conta.getTipo(),
+                "Agência Central", 1234L, "Cliente", "12345678900");
+    }
 }
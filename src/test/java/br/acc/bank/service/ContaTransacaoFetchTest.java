@@ -0,0 +1,213 @@
+package br.acc.bank.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.dto.conta.ContaResponseDTO;
+import br.acc.bank.dto.conta.TransacoesContaResponseDTO;
+import br.acc.bank.dto.transacao.TransacaoRequestDTO;
+import br.acc.bank.dto.transacao.TransacaoResponseDTO;
+import br.acc.bank.dto.transacao.TransferenciaRequestDTO;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.TransacaoRepository;
+import br.acc.bank.sql.ContadorSql;
+import br.acc.bank.util.ResponseMapper;
+import jakarta.persistence.EntityManagerFactory;
+
+// Quantidade de comandos SQL de cada endpoint, do serviço até o DTO de resposta, com as associações
+// lazy e os entity graphs de cada caso de uso. A resposta é montada dentro da mesma sessão, como
+// acontece na requisição (open-in-view), para que um acesso lazy esquecido apareça na contagem.
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({ ContaService.class, NumeroContaGerador.class, TransacaoService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ContaTransacaoFetchTest {
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ContadorSql contadorSql;
+
+    private Conta contaOrigem;
+
+    private Conta contaDestino;
+
+    @BeforeEach
+    void setUp() {
+        contadorSql = new ContadorSql(entityManagerFactory, transactionManager);
+
+        Agencia agencia = agenciaRepository.save(createAgencia());
+        contaOrigem = createConta(agencia, 1);
+        contaDestino = createConta(agencia, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+        agenciaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Extrato deve executar a mesma quantidade de comandos independente do número de transações")
+    void testExtrato_FixedStatementCount() {
+        realizarTransferencias(3);
+        long comandosPoucasTransacoes = contarExtrato(3);
+
+        realizarTransferencias(30);
+        long comandosMuitasTransacoes = contarExtrato(33);
+
+        // login -> cliente, cliente -> conta, página como origem, página como destino
+        assertEquals(4, comandosPoucasTransacoes);
+        assertEquals(4, comandosMuitasTransacoes);
+    }
+
+    @Test
+    @DisplayName("Transferência deve carregar as contas e os clientes sem consultas extras")
+    void testTransfer_FixedStatementCount() {
+        TransacaoResponseDTO resposta = contadorSql.medir(() -> ResponseMapper.toTransacaoResponse(transacaoService.transfer(
+                new TransferenciaRequestDTO(BigDecimal.TEN, contaDestino.getNumero()), contaOrigem.getCliente().getLogin())));
+
+        assertEquals("Cliente 2", resposta.getContaDestino().get().getCliente().getNome());
+        // login -> cliente, ids das duas contas, duas contas bloqueadas com o cliente,
+        // os dois UPDATEs de saldo em um único lote JDBC e o INSERT da transação
+        assertEquals(7, contadorSql.comandos());
+    }
+
+    @Test
+    @DisplayName("Depósito deve carregar a conta com o cliente em um único SELECT")
+    void testDeposit_FixedStatementCount() {
+        TransacaoResponseDTO resposta = contadorSql.medir(() -> ResponseMapper.toTransacaoResponse(transacaoService.deposit(
+                new TransacaoRequestDTO(BigDecimal.TEN), contaOrigem.getCliente().getLogin())));
+
+        assertEquals("Cliente 1", resposta.getContaOrigem().getCliente().getNome());
+        // login -> cliente, cliente -> conta, UPDATE do saldo, conta com o cliente e o INSERT da transação
+        assertEquals(5, contadorSql.comandos());
+    }
+
+    @Test
+    @DisplayName("Detalhe da conta pelo admin deve executar um único SELECT")
+    void testGetById_SingleStatement() {
+        ContaResponseDTO resposta = contadorSql.medir(() -> ResponseMapper.toContaResponse(contaService.getById(contaOrigem.getId()).get()));
+
+        assertEquals("Agência Central", resposta.getAgencia().getNome());
+        assertEquals("Cliente 1", resposta.getCliente().getNome());
+        assertEquals(1, contadorSql.comandos());
+    }
+
+    @Test
+    @DisplayName("Minha conta deve buscar o cliente e a conta com agência e cliente")
+    void testDetailsConta_FixedStatementCount() {
+        ContaResponseDTO resposta = contadorSql.medir(() -> ResponseMapper.toContaResponse(
+                contaService.detailsConta(contaOrigem.getCliente().getLogin()).get()));
+
+        assertEquals("Agência Central", resposta.getAgencia().getNome());
+        assertEquals("Cliente 1", resposta.getCliente().getNome());
+        assertEquals(2, contadorSql.comandos());
+    }
+
+    private long contarExtrato(int transacoesEsperadas) {
+        List<TransacoesContaResponseDTO> extrato = contadorSql.medir(() -> contaService
+                .getExtrato(contaOrigem.getCliente().getLogin(), null, null, null, 100)
+                .map(ResponseMapper::toTransacoesContaResponse)
+                .getContent());
+
+        assertEquals(transacoesEsperadas, extrato.size());
+        assertTrue(extrato.stream().allMatch(t -> t.getContaDestino().get().getCliente() != null));
+        return contadorSql.comandos();
+    }
+
+    private void realizarTransferencias(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            transacaoService.transfer(new TransferenciaRequestDTO(BigDecimal.ONE, contaDestino.getNumero()),
+                    contaOrigem.getCliente().getLogin());
+        }
+    }
+
+    private Conta createConta(Agencia agencia, int indice) {
+        Cliente cliente = clienteRepository.save(createCliente(indice));
+        Conta conta = new ContaCorrente(null, 100_000L + indice, agencia, cliente);
+        conta.setSaldo(BigDecimal.valueOf(1_000));
+        return contaRepository.save(conta);
+    }
+
+    private Cliente createCliente(int indice) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + indice);
+        cliente.setCpf(String.format("%011d", indice));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setEmail("cliente" + indice + "@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("cliente" + indice);
+        cliente.setPassword("senha123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
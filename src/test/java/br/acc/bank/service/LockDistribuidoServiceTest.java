@@ -0,0 +1,96 @@
+package br.acc.bank.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.acc.bank.model.LockDistribuido;
+import br.acc.bank.repository.LockDistribuidoRepository;
+
+class LockDistribuidoServiceTest {
+
+    private static final String LOCK = "operacao-mensal-JUROS";
+    private static final Duration PRAZO = Duration.ofMinutes(5);
+
+    @Mock
+    private LockDistribuidoRepository lockDistribuidoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LockDistribuidoService lockDistribuidoService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(lockDistribuidoService, "noId", "no-1");
+    }
+
+    @Test
+    @DisplayName("Deve renovar o lock já detido ou vencido")
+    void testAdquirir_Renovado() {
+        when(lockDistribuidoRepository.renovar(eq(LOCK), eq("no-1"), any(), any())).thenReturn(1);
+
+        assertTrue(lockDistribuidoService.adquirir(LOCK, PRAZO));
+
+        verify(lockDistribuidoRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Deve criar o lock quando ainda não existir")
+    void testAdquirir_Novo() {
+        when(lockDistribuidoRepository.renovar(eq(LOCK), eq("no-1"), any(), any())).thenReturn(0);
+        when(lockDistribuidoRepository.existsById(LOCK)).thenReturn(false);
+
+        assertTrue(lockDistribuidoService.adquirir(LOCK, PRAZO));
+
+        verify(lockDistribuidoRepository, times(1)).saveAndFlush(argThat((LockDistribuido lock) ->
+                lock.getNome().equals(LOCK) && lock.getDono().equals("no-1")));
+    }
+
+    @Test
+    @DisplayName("Não deve obter o lock detido por outro nó dentro do prazo")
+    void testAdquirir_DetidoPorOutroNo() {
+        when(lockDistribuidoRepository.renovar(eq(LOCK), eq("no-1"), any(), any())).thenReturn(0);
+        when(lockDistribuidoRepository.existsById(LOCK)).thenReturn(true);
+
+        assertFalse(lockDistribuidoService.adquirir(LOCK, PRAZO));
+
+        verify(lockDistribuidoRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Não deve obter o lock quando outro nó o criar ao mesmo tempo")
+    void testAdquirir_CriadoPorOutroNo() {
+        when(lockDistribuidoRepository.renovar(eq(LOCK), eq("no-1"), any(), any())).thenReturn(0);
+        when(lockDistribuidoRepository.existsById(LOCK)).thenReturn(false);
+        when(lockDistribuidoRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("PRIMARY"));
+
+        assertFalse(lockDistribuidoService.adquirir(LOCK, PRAZO));
+    }
+
+    @Test
+    @DisplayName("Deve gerar um identificador de nó quando não configurado")
+    void testGetNoId_Gerado() {
+        ReflectionTestUtils.setField(lockDistribuidoService, "noId", "");
+
+        String noId = lockDistribuidoService.getNoId();
+
+        assertFalse(noId.isBlank());
+        assertEquals(noId, lockDistribuidoService.getNoId());
+    }
+}
@@ -0,0 +1,174 @@
+package br.acc.bank.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.Sequencias;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+// Blocos pequenos para exercitar as reservas; as reservas confirmam em transação própria
+@DataJpaTest(showSql = false, properties = {
+        "api.conta.numero.bloco=10",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(NumeroContaGerador.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class NumeroContaGeradorTest {
+
+    @Autowired
+    private NumeroContaGerador numeroContaGerador;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+        agenciaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve gerar números de 6 dígitos sem repetição entre blocos e threads")
+    void testProximo_SemRepeticao() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<Long>>> tarefas = new ArrayList<>();
+        try {
+            for (int t = 0; t < 4; t++) {
+                tarefas.add(executor.submit(() -> {
+                    List<Long> numeros = new ArrayList<>();
+                    for (int i = 0; i < 25; i++)
+                        numeros.add(numeroContaGerador.proximo());
+                    return numeros;
+                }));
+            }
+
+            Set<Long> numeros = new HashSet<>();
+            for (Future<List<Long>> tarefa : tarefas)
+                numeros.addAll(tarefa.get());
+
+            assertEquals(100, numeros.size());
+            assertTrue(numeros.stream().allMatch(n -> n >= 100_000L && n <= 999_999L));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Dentro de um bloco reservado, o número não deve consultar o banco")
+    void testProximo_SemConsultaPorConta() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Começa um bloco novo: a reserva e a consulta de números em uso acontecem aqui
+        descartarBloco();
+        numeroContaGerador.proximo();
+
+        statistics.clear();
+        for (int i = 0; i < 9; i++)
+            numeroContaGerador.proximo();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve pular números já usados por contas existentes")
+    void testProximo_PulaNumeroEmUso() {
+        descartarBloco();
+        long posicao = proximaPosicao();
+        Long emUso = numeroContaGerador.numero(posicao);
+        contaRepository.save(new ContaCorrente(null, emUso, agenciaRepository.save(createAgencia()),
+                clienteRepository.save(createCliente())));
+
+        Set<Long> gerados = new HashSet<>();
+        for (int i = 0; i < 9; i++)
+            gerados.add(numeroContaGerador.proximo());
+
+        assertFalse(gerados.contains(emUso));
+        assertTrue(gerados.contains(numeroContaGerador.numero(posicao + 1)));
+    }
+
+    @Test
+    @DisplayName("Esgotados os números de 6 dígitos, deve seguir para os de 7 sem repetir")
+    void testNumero_FormatoMaior() {
+        long seisDigitos = 9 * 100_000L;
+
+        assertEquals(6, String.valueOf(numeroContaGerador.numero(seisDigitos - 1)).length());
+        Set<Long> seteDigitos = new HashSet<>();
+        for (long posicao = seisDigitos; posicao < seisDigitos + 1_000; posicao++) {
+            long numero = numeroContaGerador.numero(posicao);
+            assertTrue(numero >= 1_000_000L && numero <= 9_999_999L);
+            seteDigitos.add(numero);
+        }
+        assertEquals(1_000, seteDigitos.size());
+    }
+
+    // Descarta o restante do bloco atual para que o próximo número venha de uma nova reserva
+    private void descartarBloco() {
+        ((ArrayDeque<?>) ReflectionTestUtils.getField(numeroContaGerador, "disponiveis")).clear();
+    }
+
+    // Posição do contador que o próximo bloco reservado vai receber
+    private long proximaPosicao() {
+        List<Long> valor = jdbcTemplate.queryForList("SELECT " + Sequencias.COLUNA_VALOR + " FROM " + Sequencias.TABELA
+                + " WHERE " + Sequencias.COLUNA_NOME + " = ?", Long.class, NumeroContaGerador.SEQUENCIA);
+        return valor.isEmpty() ? 0 : valor.get(0);
+    }
+
+    private Cliente createCliente() {
+        return new Cliente("João Silva", "12345678900", LocalDate.of(1990, 1, 1), "11987654321",
+                "joao.silva@example.com", "joao", "joao123", createEndereco());
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        return new Endereco(null, "12345678", "Rua das Flores", "123", "Centro", "São Paulo", "SP", "Brasil");
+    }
+}
@@ -0,0 +1,193 @@
+package br.acc.bank.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.dto.transacao.TransacaoRequestDTO;
+import br.acc.bank.dto.transacao.TransferenciaRequestDTO;
+import br.acc.bank.exception.InsufficientBalanceException;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.TransacaoRepository;
+
+// Sem transação no teste: cada chamada ao serviço abre e confirma a sua própria transação,
+// como acontece em requisições concorrentes reais
+@DataJpaTest(showSql = false)
+@Import(TransacaoService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransacaoServiceConcurrencyTest {
+
+    private static final int QUANTIDADE_CONTAS = 20;
+    private static final int QUANTIDADE_TRANSFERENCIAS = 2_000;
+    private static final int QUANTIDADE_THREADS = 8;
+    private static final BigDecimal SALDO_INICIAL = BigDecimal.valueOf(1_000);
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    private final List<Conta> contas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Agencia agencia = agenciaRepository.save(createAgencia());
+
+        for (int i = 0; i < QUANTIDADE_CONTAS; i++) {
+            Cliente cliente = clienteRepository.save(createCliente(i));
+            Conta conta = new ContaCorrente(null, 100_000L + i, agencia, cliente);
+            conta.setSaldo(SALDO_INICIAL);
+            contas.add(contaRepository.save(conta));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+        agenciaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve conservar o saldo total com milhares de transferências simultâneas")
+    void testTransfer_ConcurrentTransfersConserveTotalBalance() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_THREADS);
+        AtomicInteger transferenciasRealizadas = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < QUANTIDADE_TRANSFERENCIAS; i++) {
+            int origem = random.nextInt(QUANTIDADE_CONTAS);
+            int destino = (origem + 1 + random.nextInt(QUANTIDADE_CONTAS - 1)) % QUANTIDADE_CONTAS;
+            BigDecimal valor = BigDecimal.valueOf(1 + random.nextInt(50));
+
+            futures.add(executor.submit(() -> {
+                TransferenciaRequestDTO transferencia = new TransferenciaRequestDTO(valor,
+                        contas.get(destino).getNumero());
+                try {
+                    transacaoService.transfer(transferencia, contas.get(origem).getCliente().getLogin());
+                    transferenciasRealizadas.incrementAndGet();
+                } catch (InsufficientBalanceException e) {
+                    // Saldo insuficiente é um resultado válido sob concorrência
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        BigDecimal saldoTotal = contaRepository.findAll().stream()
+                .map(Conta::getSaldo)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(0, SALDO_INICIAL.multiply(BigDecimal.valueOf(QUANTIDADE_CONTAS)).compareTo(saldoTotal));
+        assertEquals(transferenciasRealizadas.get(), transacaoRepository.count());
+        assertTrue(contaRepository.findAll().stream()
+                .allMatch(conta -> conta.getSaldo().compareTo(BigDecimal.ZERO) >= 0));
+    }
+
+    @Test
+    @DisplayName("Não deve perder atualizações com depósitos simultâneos na mesma conta")
+    void testDeposit_ConcurrentDepositsDoNotLoseUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_THREADS);
+        AtomicInteger depositosRealizados = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        Conta conta = contas.get(0);
+
+        for (int i = 0; i < 400; i++) {
+            futures.add(executor.submit(() -> {
+                // UPDATE atômico: nenhum depósito é recusado por conflito
+                transacaoService.deposit(new TransacaoRequestDTO(BigDecimal.ONE), conta.getCliente().getLogin());
+                depositosRealizados.incrementAndGet();
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        BigDecimal saldoFinal = contaRepository.findById(conta.getId()).get().getSaldo();
+
+        assertEquals(400, depositosRealizados.get());
+        assertEquals(0, SALDO_INICIAL.add(BigDecimal.valueOf(depositosRealizados.get())).compareTo(saldoFinal));
+        assertEquals(depositosRealizados.get(), transacaoRepository.count());
+    }
+
+    private Cliente createCliente(int indice) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + indice);
+        cliente.setCpf(String.format("%011d", indice));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setEmail("cliente" + indice + "@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("cliente" + indice);
+        cliente.setPassword("senha123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
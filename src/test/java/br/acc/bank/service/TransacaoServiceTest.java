@@ -2,11 +2,11 @@ package br.acc.bank.service;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.transaction.annotation.Transactional;
 
 import br.acc.bank.dto.transacao.TransacaoRequestDTO;
 import br.acc.bank.dto.transacao.TransferenciaRequestDTO;
@@ -59,12 +59,13 @@ public class TransacaoServiceTest {
         transacaoDTO.setValor(BigDecimal.valueOf(100));
         String userLoginByToken = "clienteLogin";
 
-        Cliente cliente = new Cliente();
         Conta conta = new ContaCorrente();
-        conta.setSaldo(BigDecimal.valueOf(200));
+        conta.setId(10L);
 
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(conta));
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(1L));
+        when(contaRepository.findIdByClienteId(1L)).thenReturn(Optional.of(10L));
+        when(contaRepository.creditarSaldo(10L, BigDecimal.valueOf(100))).thenReturn(1);
+        when(contaRepository.findComClienteById(10L)).thenReturn(Optional.of(conta));
         when(transacaoRepository.save(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
 
         Transacao result = transacaoService.deposit(transacaoDTO, userLoginByToken);
@@ -72,10 +73,11 @@ public class TransacaoServiceTest {
         assertNotNull(result);
         assertEquals(TipoTransacao.DEPOSITO, result.getTipo());
         assertEquals(BigDecimal.valueOf(100), result.getValor());
-        assertEquals(BigDecimal.valueOf(300), conta.getSaldo());
-        verify(clienteRepository, times(1)).findByLogin(userLoginByToken);
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
-        verify(contaRepository, times(1)).save(conta);
+        assertEquals(conta, result.getContaOrigem());
+        verify(clienteRepository, times(1)).findIdByLogin(userLoginByToken);
+        verify(contaRepository, times(1)).findIdByClienteId(1L);
+        verify(contaRepository, times(1)).creditarSaldo(10L, BigDecimal.valueOf(100));
+        verify(contaRepository, never()).save(any());
         verify(transacaoRepository, times(1)).save(result);
     }
 
@@ -91,8 +93,9 @@ public class TransacaoServiceTest {
         });
 
         assertEquals(Strings.TRANSACAO.INVALID_TRANSACTION_VALUE, thrown.getMessage());
-        verify(clienteRepository, never()).findByLogin(userLoginByToken);
-        verify(contaRepository, never()).findByClienteId(anyLong());
+        verify(clienteRepository, never()).findIdByLogin(userLoginByToken);
+        verify(contaRepository, never()).findIdByClienteId(anyLong());
+        verify(contaRepository, never()).creditarSaldo(anyLong(), any());
         verify(transacaoRepository, never()).save(any());
     }
 
@@ -103,32 +106,33 @@ public class TransacaoServiceTest {
         transacaoDTO.setValor(BigDecimal.valueOf(100));
         String userLoginByToken = "clienteLogin";
 
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.empty());
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.empty());
 
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
             transacaoService.deposit(transacaoDTO, userLoginByToken);
         });
 
         assertEquals(Strings.CLIENTE.NOT_FOUND, thrown.getMessage());
-        verify(clienteRepository, times(1)).findByLogin(userLoginByToken);
-        verify(contaRepository, never()).findByClienteId(anyLong());
+        verify(clienteRepository, times(1)).findIdByLogin(userLoginByToken);
+        verify(contaRepository, never()).findIdByClienteId(anyLong());
+        verify(contaRepository, never()).creditarSaldo(anyLong(), any());
         verify(transacaoRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("Deve realizar um saque com sucesso")
-    @Transactional
     void testWithdraw_Success() {
         TransacaoRequestDTO transacaoDTO = new TransacaoRequestDTO();
         transacaoDTO.setValor(BigDecimal.valueOf(50));
         String userLoginByToken = "clienteLogin";
 
-        Cliente cliente = new Cliente();
         Conta conta = new ContaCorrente();
-        conta.setSaldo(BigDecimal.valueOf(200));
+        conta.setId(10L);
 
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(conta));
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(1L));
+        when(contaRepository.findIdByClienteId(1L)).thenReturn(Optional.of(10L));
+        when(contaRepository.debitarSaldo(10L, BigDecimal.valueOf(50))).thenReturn(1);
+        when(contaRepository.findComClienteById(10L)).thenReturn(Optional.of(conta));
         when(transacaoRepository.save(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
 
         Transacao result = transacaoService.withdraw(transacaoDTO, userLoginByToken);
@@ -136,10 +140,11 @@ public class TransacaoServiceTest {
         assertNotNull(result);
         assertEquals(TipoTransacao.SAQUE, result.getTipo());
         assertEquals(BigDecimal.valueOf(50), result.getValor());
-        assertEquals(BigDecimal.valueOf(150), conta.getSaldo());
-        verify(clienteRepository, times(1)).findByLogin(userLoginByToken);
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
-        verify(contaRepository, times(1)).save(conta);
+        assertEquals(conta, result.getContaOrigem());
+        verify(clienteRepository, times(1)).findIdByLogin(userLoginByToken);
+        verify(contaRepository, times(1)).findIdByClienteId(1L);
+        verify(contaRepository, times(1)).debitarSaldo(10L, BigDecimal.valueOf(50));
+        verify(contaRepository, never()).save(any());
         verify(transacaoRepository, times(1)).save(result);
     }
 
@@ -150,21 +155,18 @@ public class TransacaoServiceTest {
         transacaoDTO.setValor(BigDecimal.valueOf(500));
         String userLoginByToken = "clienteLogin";
 
-        Cliente cliente = new Cliente();
-        Conta conta = new ContaCorrente();
-        conta.setSaldo(BigDecimal.valueOf(200));
-
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(conta));
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(1L));
+        when(contaRepository.findIdByClienteId(1L)).thenReturn(Optional.of(10L));
+        when(contaRepository.debitarSaldo(10L, BigDecimal.valueOf(500))).thenReturn(0);
 
         InsufficientBalanceException thrown = assertThrows(InsufficientBalanceException.class, () -> {
             transacaoService.withdraw(transacaoDTO, userLoginByToken);
         });
 
         assertEquals(Strings.TRANSACAO.INSUFFICIENT_BALANCE, thrown.getMessage());
-        verify(clienteRepository, times(1)).findByLogin(userLoginByToken);
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
-        verify(contaRepository, never()).save(any());
+        verify(clienteRepository, times(1)).findIdByLogin(userLoginByToken);
+        verify(contaRepository, times(1)).findIdByClienteId(1L);
+        verify(contaRepository, times(1)).debitarSaldo(10L, BigDecimal.valueOf(500));
         verify(transacaoRepository, never()).save(any());
     }
 
@@ -187,9 +189,11 @@ public class TransacaoServiceTest {
         contaDestino.setNumero(2L);
         contaDestino.setSaldo(BigDecimal.valueOf(100));
 
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(contaOrigem));
-        when(contaRepository.findByNumero(2L)).thenReturn(Optional.of(contaDestino));
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(1L));
+        when(contaRepository.findIdByNumero(2L)).thenReturn(Optional.of(2L));
+        when(contaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(contaOrigem));
+        when(contaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(contaDestino));
         when(transacaoRepository.save(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
 
         Transacao result = transacaoService.transfer(transacaoDTO, userLoginByToken);
@@ -199,13 +203,50 @@ public class TransacaoServiceTest {
         assertEquals(BigDecimal.valueOf(100), result.getValor());
         assertEquals(BigDecimal.valueOf(100), contaOrigem.getSaldo());
         assertEquals(BigDecimal.valueOf(200), contaDestino.getSaldo());
-        verify(clienteRepository, times(1)).findByLogin(userLoginByToken);
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
-        verify(contaRepository, times(1)).findByNumero(2L);
+        verify(clienteRepository, times(1)).findIdByLogin(userLoginByToken);
+        verify(contaRepository, times(1)).findIdByClienteId(cliente.getId());
+        verify(contaRepository, times(1)).findIdByNumero(2L);
+        verify(contaRepository, times(1)).findByIdForUpdate(1L);
+        verify(contaRepository, times(1)).findByIdForUpdate(2L);
         verify(contaRepository, times(2)).save(any());
         verify(transacaoRepository, times(1)).save(result);
     }
 
+    @Test
+    @DisplayName("Deve bloquear as contas em ordem crescente de id na transferência")
+    void testTransfer_LockOrder() {
+        TransferenciaRequestDTO transacaoDTO = new TransferenciaRequestDTO();
+        transacaoDTO.setValor(BigDecimal.valueOf(100));
+        transacaoDTO.setNumeroContaDestino(1L);
+        String userLoginByToken = "clienteLogin";
+
+        Cliente cliente = new Cliente();
+        cliente.setId(2L);
+        Conta contaOrigem = new ContaCorrente();
+        contaOrigem.setId(2L);
+        contaOrigem.setNumero(2L);
+        contaOrigem.setSaldo(BigDecimal.valueOf(200));
+        Conta contaDestino = new ContaCorrente();
+        contaDestino.setId(1L);
+        contaDestino.setNumero(1L);
+        contaDestino.setSaldo(BigDecimal.valueOf(100));
+
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(2L));
+        when(contaRepository.findIdByNumero(1L)).thenReturn(Optional.of(1L));
+        when(contaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(contaDestino));
+        when(contaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(contaOrigem));
+        when(transacaoRepository.save(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        transacaoService.transfer(transacaoDTO, userLoginByToken);
+
+        InOrder inOrder = inOrder(contaRepository);
+        inOrder.verify(contaRepository).findByIdForUpdate(1L);
+        inOrder.verify(contaRepository).findByIdForUpdate(2L);
+        assertEquals(BigDecimal.valueOf(100), contaOrigem.getSaldo());
+        assertEquals(BigDecimal.valueOf(200), contaDestino.getSaldo());
+    }
+
     @Test
     @DisplayName("Deve lançar ConflictException ao tentar transferir para a mesma conta")
     void testTransfer_SameAccount() {
@@ -215,21 +256,21 @@ public class TransacaoServiceTest {
         String userLoginByToken = "clienteLogin";
 
         Cliente cliente = new Cliente();
-        Conta contaOrigem = new ContaCorrente();
-        contaOrigem.setNumero(1L);
+        cliente.setId(1L);
 
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(contaOrigem));
-        when(contaRepository.findByNumero(1L)).thenReturn(Optional.of(contaOrigem));
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(1L));
+        when(contaRepository.findIdByNumero(1L)).thenReturn(Optional.of(1L));
 
         ConflictException thrown = assertThrows(ConflictException.class, () -> {
             transacaoService.transfer(transacaoDTO, userLoginByToken);
         });
 
         assertEquals(Strings.TRANSACAO.CONFLICT, thrown.getMessage());
-        verify(clienteRepository, times(1)).findByLogin(userLoginByToken);
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
-        verify(contaRepository, times(1)).findByNumero(1L);
+        verify(clienteRepository, times(1)).findIdByLogin(userLoginByToken);
+        verify(contaRepository, times(1)).findIdByClienteId(cliente.getId());
+        verify(contaRepository, times(1)).findIdByNumero(1L);
+        verify(contaRepository, never()).findByIdForUpdate(anyLong());
         verify(contaRepository, never()).save(any());
         verify(transacaoRepository, never()).save(any());
     }
@@ -253,13 +294,16 @@ public class TransacaoServiceTest {
         contaDestino.setNumero(2L);
         contaDestino.setSaldo(BigDecimal.valueOf(100));
 
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(contaOrigem));
-        when(contaRepository.findByNumero(2L)).thenReturn(Optional.of(contaDestino));
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(1L));
+        when(contaRepository.findIdByNumero(2L)).thenReturn(Optional.of(2L));
+        when(contaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(contaOrigem));
+        when(contaRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(contaDestino));
 
         assertThrows(InsufficientBalanceException.class, () -> {
             transacaoService.transfer(transacaoDTO, userLoginByToken);
         });
+        verify(contaRepository, never()).save(any());
     }
 
     @Test
@@ -271,21 +315,20 @@ public class TransacaoServiceTest {
         String userLoginByToken = "clienteLogin";
 
         Cliente cliente = new Cliente();
-        Conta contaOrigem = new Conta();
-        contaOrigem.setSaldo(BigDecimal.valueOf(200));
+        cliente.setId(1L);
 
-        when(clienteRepository.findByLogin(userLoginByToken)).thenReturn(Optional.of(cliente));
-        when(contaRepository.findByClienteId(cliente.getId())).thenReturn(Optional.of(contaOrigem));
-        when(contaRepository.findByNumero(2L)).thenReturn(Optional.empty());
+        when(clienteRepository.findIdByLogin(userLoginByToken)).thenReturn(Optional.of(cliente.getId()));
+        when(contaRepository.findIdByClienteId(cliente.getId())).thenReturn(Optional.of(1L));
+        when(contaRepository.findIdByNumero(2L)).thenReturn(Optional.empty());
 
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
             transacaoService.transfer(transacaoDTO, userLoginByToken);
         });
 
         assertEquals(Strings.TRANSACAO.NOT_FOUND_DESTINATION, thrown.getMessage());
-        verify(clienteRepository, times(1)).findByLogin(userLoginByToken);
-        verify(contaRepository, times(1)).findByClienteId(cliente.getId());
-        verify(contaRepository, times(1)).findByNumero(2L);
+        verify(clienteRepository, times(1)).findIdByLogin(userLoginByToken);
+        verify(contaRepository, times(1)).findIdByClienteId(cliente.getId());
+        verify(contaRepository, times(1)).findIdByNumero(2L);
         verify(contaRepository, never()).save(any());
         verify(transacaoRepository, never()).save(any());
     }
@@ -0,0 +1,58 @@
+package br.acc.bank.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Mede os comandos SQL e as entidades carregadas por uma operação, a partir das estatísticas do
+// Hibernate (habilitadas no perfil "test"). A operação roda em uma única sessão, como em uma
+// requisição com open-in-view, para que acessos lazy feitos ao montar a resposta entrem na conta.
+// As estatísticas são globais: os testes que usam o contador não devem rodar em paralelo.
+public class ContadorSql {
+
+    private final Statistics statistics;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ContadorSql(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        assertTrue(statistics.isStatisticsEnabled(),
+                "Estatísticas do Hibernate desabilitadas: use @ActiveProfiles(\"test\")");
+    }
+
+    // Executa a operação zerando as estatísticas antes, para contar apenas os seus comandos
+    public <T> T medir(Supplier<T> operacao) {
+        statistics.clear();
+        return transactionTemplate.execute(status -> operacao.get());
+    }
+
+    public void medir(Runnable operacao) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> operacao.run());
+    }
+
+    // Comandos preparados (SELECT, INSERT, UPDATE, DELETE) da última medição
+    public long comandos() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Entidades carregadas do banco na última medição (as projeções em DTO não contam)
+    public long entidadesCarregadas() {
+        return statistics.getEntityLoadCount();
+    }
+
+    // Falha com a quantidade medida quando a operação sair do orçamento
+    public void assertOrcamento(long comandosEsperados, long entidadesEsperadas) {
+        assertAll(
+                () -> assertEquals(comandosEsperados, comandos(), "comandos SQL"),
+                () -> assertEquals(entidadesEsperadas, entidadesCarregadas(), "entidades carregadas"));
+    }
+}
@@ -0,0 +1,248 @@
+package br.acc.bank.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.acc.bank.dto.conta.ContaResumoDTO;
+import br.acc.bank.dto.conta.TransacoesContaResponseDTO;
+import br.acc.bank.dto.transacao.TransacaoResponseDTO;
+import br.acc.bank.dto.transacao.TransferenciaRequestDTO;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.enums.UsuarioRole;
+import br.acc.bank.repository.AgenciaRepository;
+import br.acc.bank.repository.ClienteRepository;
+import br.acc.bank.repository.ContaRepository;
+import br.acc.bank.repository.TransacaoRepository;
+import br.acc.bank.security.PrincipalCache;
+import br.acc.bank.security.SecurityFilter;
+import br.acc.bank.security.TokenService;
+import br.acc.bank.service.ContaService;
+import br.acc.bank.service.NumeroContaGerador;
+import br.acc.bank.service.TransacaoService;
+import br.acc.bank.util.ResponseMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Orçamento de comandos SQL e entidades carregadas dos caminhos mais usados. Uma mudança que
+// aumente esses números (N+1, associação eager, consulta a mais) quebra o teste; uma melhoria
+// deve atualizar o orçamento junto com o código.
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({ ContaService.class, NumeroContaGerador.class, TransacaoService.class,
+        SecurityFilter.class, TokenService.class, PrincipalCache.class, SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OrcamentoSqlTest {
+
+    private static final int QUANTIDADE_CONTAS = 30;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private SecurityFilter securityFilter;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AgenciaRepository agenciaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ContadorSql contadorSql;
+
+    private Conta contaOrigem;
+
+    private Conta contaDestino;
+
+    @BeforeEach
+    void setUp() {
+        contadorSql = new ContadorSql(entityManagerFactory, transactionManager);
+
+        Agencia agencia = agenciaRepository.save(createAgencia());
+        for (int i = 0; i < QUANTIDADE_CONTAS; i++) {
+            Cliente cliente = clienteRepository.save(createCliente(i));
+            Conta conta = new ContaCorrente(null, 100_000L + i, agencia, cliente);
+            conta.setSaldo(BigDecimal.valueOf(1_000));
+            conta = contaRepository.save(conta);
+            if (i == 0)
+                contaOrigem = conta;
+            else if (i == 1)
+                contaDestino = conta;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+        agenciaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("TransacaoService.transfer deve respeitar o orçamento de comandos SQL")
+    void testTransfer_Orcamento() {
+        TransacaoResponseDTO resposta = contadorSql.medir(() -> ResponseMapper.toTransacaoResponse(
+                transacaoService.transfer(new TransferenciaRequestDTO(BigDecimal.TEN, contaDestino.getNumero()),
+                        contaOrigem.getCliente().getLogin())));
+
+        assertNotNull(resposta.getContaDestino().get().getCliente());
+        // login, ids das contas de origem e destino, duas contas bloqueadas com o cliente,
+        // os dois UPDATEs de saldo em um único lote JDBC e o INSERT da transação; carrega as duas
+        // contas e os dois clientes
+        contadorSql.assertOrcamento(7, 4);
+    }
+
+    @Test
+    @DisplayName("ContaService.getExtrato deve respeitar o orçamento independente do número de transações")
+    void testGetExtrato_Orcamento() {
+        for (int i = 0; i < 20; i++) {
+            transacaoService.transfer(new TransferenciaRequestDTO(BigDecimal.ONE, contaDestino.getNumero()),
+                    contaOrigem.getCliente().getLogin());
+        }
+
+        List<TransacoesContaResponseDTO> extrato = contadorSql.medir(() -> contaService
+                .getExtrato(contaOrigem.getCliente().getLogin(), null, null, null, 50)
+                .map(ResponseMapper::toTransacoesContaResponse)
+                .getContent());
+
+        assertEquals(20, extrato.size());
+        // login, conta do cliente, página como origem e página como destino; as 20 transações
+        // compartilham a mesma conta de destino e o mesmo cliente
+        contadorSql.assertOrcamento(4, 22);
+    }
+
+    @Test
+    @DisplayName("ContaService.getAll deve listar a página em um único SELECT, sem carregar entidades")
+    void testGetAll_Orcamento() {
+        Slice<ContaResumoDTO> pagina = contadorSql.medir(
+                () -> contaService.getAll(null, PageRequest.of(0, 20, Sort.by("id")), false));
+
+        assertEquals(20, pagina.getNumberOfElements());
+        assertTrue(pagina.hasNext());
+        contadorSql.assertOrcamento(1, 0);
+    }
+
+    @Test
+    @DisplayName("ContaService.getAll com total deve acrescentar somente o COUNT")
+    void testGetAllComTotal_Orcamento() {
+        contadorSql.medir(() -> contaService.getAll(null, PageRequest.of(0, 20, Sort.by("id")), true));
+
+        contadorSql.assertOrcamento(2, 0);
+    }
+
+    @Test
+    @DisplayName("SecurityFilter deve consultar o banco só na primeira requisição do usuário")
+    void testSecurityFilter_Orcamento() {
+        String token = tokenService.generateToken(contaOrigem.getCliente());
+
+        contadorSql.medir(() -> filtrar(token));
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        // usuário pelo login e o endereço do cliente (eager, em um segundo SELECT)
+        contadorSql.assertOrcamento(2, 2);
+
+        SecurityContextHolder.clearContext();
+        contadorSql.medir(() -> filtrar(token));
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        // token e usuário em cache
+        contadorSql.assertOrcamento(0, 0);
+    }
+
+    @Test
+    @DisplayName("SecurityFilter não deve consultar o banco com token inválido")
+    void testSecurityFilterTokenInvalido_Orcamento() {
+        contadorSql.medir(() -> filtrar("token-invalido"));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        contadorSql.assertOrcamento(0, 0);
+    }
+
+    private void filtrar(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/conta/minha-conta");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Cliente createCliente(int indice) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + indice);
+        cliente.setCpf(String.format("%011d", indice));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setEmail("cliente" + indice + "@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin("cliente" + indice);
+        cliente.setPassword("senha123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Agencia createAgencia() {
+        Agencia agencia = new Agencia();
+        agencia.setNome("Agência Central");
+        agencia.setNumero(12345L);
+        agencia.setTelefone("11987654321");
+        agencia.setEndereco(createEndereco());
+        return agencia;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}
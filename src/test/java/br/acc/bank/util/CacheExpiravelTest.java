@@ -0,0 +1,89 @@
+package br.acc.bank.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CacheExpiravelTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    private CacheExpiravel<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CacheExpiravel<>(2, Duration.ofSeconds(60), relogio::get);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o valor apenas na primeira consulta")
+    void testGet_CarregaUmaVez() {
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        cache.get("joao", login -> "usuario-" + carregamentos.incrementAndGet());
+        String valor = cache.get("joao", login -> "usuario-" + carregamentos.incrementAndGet());
+
+        assertEquals("usuario-1", valor);
+        assertEquals(1, carregamentos.get());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o valor após o TTL")
+    void testGet_Expirado() {
+        cache.put("joao", "antigo");
+        relogio.addAndGet(Duration.ofSeconds(60).toNanos());
+
+        assertNull(cache.get("joao"));
+        assertEquals("novo", cache.get("joao", login -> "novo"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a entrada mais antiga ao atingir o tamanho máximo")
+    void testPut_TamanhoMaximo() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    @DisplayName("Deve manter a entrada lida recentemente e descartar a usada há mais tempo")
+    void testPut_TamanhoMaximoMantemEntradaLida() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.get("a"));
+
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    @DisplayName("Não deve guardar valores nulos")
+    void testGet_ValorNulo() {
+        assertNull(cache.get("inexistente", login -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Deve remover a entrada invalidada")
+    void testInvalidate() {
+        cache.put("joao", "usuario");
+
+        cache.invalidate("joao");
+
+        assertNull(cache.get("joao"));
+    }
+}
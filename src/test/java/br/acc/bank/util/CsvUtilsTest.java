@@ -0,0 +1,30 @@
+package br.acc.bank.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsvUtilsTest {
+
+    @Test
+    @DisplayName("Deve dividir a linha pelas vírgulas mantendo campos vazios")
+    void testSplitLine_CamposSimples() {
+        assertEquals(List.of("João", "", "123", ""), CsvUtils.splitLine("João,,123,"));
+    }
+
+    @Test
+    @DisplayName("Deve manter vírgulas e aspas duplicadas dentro de campos entre aspas")
+    void testSplitLine_CamposEntreAspas() {
+        assertEquals(List.of("Rua A, 10", "o \"centro\"", "SP"),
+                CsvUtils.splitLine("\"Rua A, 10\",\"o \"\"centro\"\"\",SP"));
+    }
+
+    @Test
+    @DisplayName("Linha vazia deve resultar em um único campo vazio")
+    void testSplitLine_LinhaVazia() {
+        assertEquals(List.of(""), CsvUtils.splitLine(""));
+    }
+}
@@ -0,0 +1,63 @@
+package br.acc.bank.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import br.acc.bank.exception.ValidationException;
+
+class PaginacaoTest {
+
+    private static final List<String> CAMPOS = List.of("id", "nome");
+
+    @Test
+    @DisplayName("Deve limitar o tamanho da página e desempatar a ordenação pelo id")
+    void testNormalizar_LimitaTamanhoEOrdenaPorId() {
+        Pageable pagina = Paginacao.normalizar(PageRequest.of(2, 5_000, Sort.by(Sort.Direction.DESC, "nome")), CAMPOS);
+
+        assertEquals(2, pagina.getPageNumber());
+        assertEquals(Paginacao.TAMANHO_MAXIMO, pagina.getPageSize());
+        assertEquals(Sort.by(Sort.Direction.DESC, "nome").and(Sort.by("id")), pagina.getSort());
+    }
+
+    @Test
+    @DisplayName("Deve usar o tamanho padrão quando a requisição não for paginada")
+    void testNormalizar_NaoPaginado() {
+        Pageable pagina = Paginacao.normalizar(Pageable.unpaged(), CAMPOS);
+
+        assertEquals(0, pagina.getPageNumber());
+        assertEquals(Paginacao.TAMANHO_PADRAO, pagina.getPageSize());
+        assertEquals(Sort.by("id"), pagina.getSort());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação por campo não permitido")
+    void testNormalizar_CampoInvalido() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> Paginacao.normalizar(PageRequest.of(0, 10, Sort.by("password")), CAMPOS));
+
+        assertEquals(Strings.ERROR.INVALID_SORT + CAMPOS, exception.getErrors().get("sort"));
+    }
+
+    @Test
+    @DisplayName("Deve contar o total apenas quando solicitado")
+    void testComTotal() {
+        Slice<String> fatia = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        assertSame(fatia, Paginacao.comTotal(fatia, false, () -> {
+            throw new AssertionError("Não deve contar");
+        }));
+        Page<?> page = assertInstanceOf(Page.class, Paginacao.comTotal(fatia, true, () -> 5L));
+        assertEquals(5L, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+}
@@ -0,0 +1,63 @@
+package br.acc.bank.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PermutacaoFeistelTest {
+
+    @Test
+    @DisplayName("Deve levar todo o intervalo de 6 dígitos a si mesmo sem repetir valores")
+    void testAplicar_Bijecao() {
+        PermutacaoFeistel permutacao = new PermutacaoFeistel(900_000, 42);
+        BitSet vistos = new BitSet(900_000);
+
+        for (int i = 0; i < 900_000; i++) {
+            long valor = permutacao.aplicar(i);
+            assertTrue(valor >= 0 && valor < 900_000);
+            assertFalse(vistos.get((int) valor));
+            vistos.set((int) valor);
+        }
+    }
+
+    @Test
+    @DisplayName("Valores consecutivos não devem resultar em valores consecutivos")
+    void testAplicar_SemOrdemAparente() {
+        PermutacaoFeistel permutacao = new PermutacaoFeistel(900_000, 42);
+
+        int consecutivos = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (Math.abs(permutacao.aplicar(i + 1) - permutacao.aplicar(i)) <= 1)
+                consecutivos++;
+        }
+        assertTrue(consecutivos < 5);
+    }
+
+    @Test
+    @DisplayName("Chaves diferentes devem gerar permutações diferentes e a mesma chave a mesma permutação")
+    void testAplicar_Chave() {
+        PermutacaoFeistel primeira = new PermutacaoFeistel(1_000, 1);
+        PermutacaoFeistel mesmaChave = new PermutacaoFeistel(1_000, 1);
+        PermutacaoFeistel outraChave = new PermutacaoFeistel(1_000, 2);
+
+        int iguais = 0;
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(primeira.aplicar(i), mesmaChave.aplicar(i));
+            if (primeira.aplicar(i) == outraChave.aplicar(i))
+                iguais++;
+        }
+        assertTrue(iguais < 20);
+    }
+
+    @Test
+    @DisplayName("Deve recusar valores fora do intervalo")
+    void testAplicar_ForaDoIntervalo() {
+        PermutacaoFeistel permutacao = new PermutacaoFeistel(10, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> permutacao.aplicar(10));
+        assertThrows(IllegalArgumentException.class, () -> permutacao.aplicar(-1));
+    }
+}
@@ -0,0 +1,143 @@
+package br.acc.bank.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.acc.bank.dto.cliente.ClienteResponseDTO;
+import br.acc.bank.dto.conta.ContaResponseDTO;
+import br.acc.bank.dto.conta.TransacoesContaResponseDTO;
+import br.acc.bank.dto.transacao.TransacaoResponseDTO;
+import br.acc.bank.model.Agencia;
+import br.acc.bank.model.Cliente;
+import br.acc.bank.model.Conta;
+import br.acc.bank.model.ContaCorrente;
+import br.acc.bank.model.ContaPoupanca;
+import br.acc.bank.model.Endereco;
+import br.acc.bank.model.Transacao;
+import br.acc.bank.model.enums.TipoTransacao;
+import br.acc.bank.model.enums.UsuarioRole;
+
+// Paridade com o MapperConverter: as duas conversões devem gerar exatamente o mesmo JSON
+class ResponseMapperTest {
+
+    // Mesma configuração base do ObjectMapper usado pelo Spring MVC (inclui suporte a Optional)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Conta contaOrigem;
+
+    private Conta contaDestino;
+
+    @BeforeEach
+    void setUp() {
+        Agencia agencia = new Agencia(1L, "Agência Central", 12345L, "11987654321", createEndereco());
+        contaOrigem = new ContaCorrente(1L, 123456L, agencia, createCliente(1L, "joao", "12345678900"));
+        contaOrigem.setSaldo(new BigDecimal("150.75"));
+        contaDestino = new ContaPoupanca(2L, 654321L, agencia, createCliente(2L, "maria", "98765432100"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar o mesmo JSON de ContaResponseDTO que o MapperConverter")
+    void testToContaResponse_Paridade() throws JsonProcessingException {
+        assertMesmoJson(MapperConverter.convertToDto(contaOrigem, ContaResponseDTO.class),
+                ResponseMapper.toContaResponse(contaOrigem));
+        assertMesmoJson(MapperConverter.convertToDto(contaDestino, ContaResponseDTO.class),
+                ResponseMapper.toContaResponse(contaDestino));
+    }
+
+    @Test
+    @DisplayName("Deve gerar o mesmo JSON de TransacaoResponseDTO que o MapperConverter")
+    void testToTransacaoResponse_Paridade() throws JsonProcessingException {
+        Transacao transferencia = createTransacao(TipoTransacao.TRANSFERENCIA, contaDestino);
+        Transacao deposito = createTransacao(TipoTransacao.DEPOSITO, null);
+
+        assertMesmoJson(MapperConverter.convertToDto(transferencia, TransacaoResponseDTO.class),
+                ResponseMapper.toTransacaoResponse(transferencia));
+        assertMesmoJson(MapperConverter.convertToDto(deposito, TransacaoResponseDTO.class),
+                ResponseMapper.toTransacaoResponse(deposito));
+    }
+
+    @Test
+    @DisplayName("Deve gerar o mesmo JSON de TransacoesContaResponseDTO que o MapperConverter")
+    void testToTransacoesContaResponse_Paridade() throws JsonProcessingException {
+        Transacao transferencia = createTransacao(TipoTransacao.TRANSFERENCIA, contaDestino);
+        Transacao saque = createTransacao(TipoTransacao.SAQUE, null);
+
+        assertMesmoJson(MapperConverter.convertToDto(transferencia, TransacoesContaResponseDTO.class),
+                ResponseMapper.toTransacoesContaResponse(transferencia));
+        assertMesmoJson(MapperConverter.convertToDto(saque, TransacoesContaResponseDTO.class),
+                ResponseMapper.toTransacoesContaResponse(saque));
+    }
+
+    @Test
+    @DisplayName("Deve gerar o mesmo JSON de ClienteResponseDTO que o MapperConverter")
+    void testToClienteResponse_Paridade() throws JsonProcessingException {
+        Cliente cliente = contaOrigem.getCliente();
+
+        assertMesmoJson(MapperConverter.convertToDto(cliente, ClienteResponseDTO.class),
+                ResponseMapper.toClienteResponse(cliente));
+    }
+
+    @Test
+    @DisplayName("Deve manter nulos os campos cujas referências são nulas, como o MapperConverter")
+    void testConversoes_ReferenciasNulas() throws JsonProcessingException {
+        Cliente cliente = createCliente(3L, "ana", "11122233344");
+        cliente.setEndereco(null);
+        Conta conta = new ContaCorrente(3L, 111111L, null, cliente);
+
+        assertMesmoJson(MapperConverter.convertToDto(cliente, ClienteResponseDTO.class),
+                ResponseMapper.toClienteResponse(cliente));
+        assertMesmoJson(MapperConverter.convertToDto(conta, ContaResponseDTO.class),
+                ResponseMapper.toContaResponse(conta));
+        assertNull(ResponseMapper.toContaResponse(conta).getAgencia());
+    }
+
+    private void assertMesmoJson(Object esperado, Object atual) throws JsonProcessingException {
+        assertEquals(objectMapper.writeValueAsString(esperado), objectMapper.writeValueAsString(atual));
+    }
+
+    private Transacao createTransacao(TipoTransacao tipo, Conta destino) {
+        Transacao transacao = new Transacao(new BigDecimal("25.50"), tipo, contaOrigem, destino);
+        transacao.setId(10L);
+        transacao.setDataTransacao(LocalDateTime.of(2024, 8, 15, 14, 30, 5));
+        return transacao;
+    }
+
+    private Cliente createCliente(Long id, String login, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNome("Cliente " + login);
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setDataCadastro(LocalDate.of(2024, 1, 10));
+        cliente.setEmail(login + "@example.com");
+        cliente.setTelefone("11987654321");
+        cliente.setLogin(login);
+        cliente.setPassword("senha123");
+        cliente.setRole(UsuarioRole.USUARIO);
+        cliente.setEndereco(createEndereco());
+        return cliente;
+    }
+
+    private Endereco createEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("123");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345678");
+        endereco.setPais("Brasil");
+        return endereco;
+    }
+}